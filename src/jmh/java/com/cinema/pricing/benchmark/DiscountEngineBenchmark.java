@@ -0,0 +1,62 @@
+package com.cinema.pricing.benchmark;
+
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiscountEngineBenchmark {
+
+    /**
+     * ADULT applies no discount, SENIOR the senior discount and CHILDREN (x3) the bulk discount.
+     */
+    @Param({"ADULT", "SENIOR", "CHILDREN"})
+    public TicketType ticketType;
+
+    private PricingFixtures fixtures;
+    private DiscountContext context;
+
+    @Setup
+    public void setUp() {
+        fixtures = new PricingFixtures();
+        int quantity = ticketType == TicketType.CHILDREN ? 3 : 1;
+        long basePrice = 2500;
+        int[] ticketCounts = new int[TicketType.values().length];
+        ticketCounts[ticketType.ordinal()] = quantity;
+        context = DiscountContext.builder()
+                .snapshot(fixtures.snapshotHolder.current())
+                .ticketType(ticketType)
+                .quantity(quantity)
+                .basePriceCents(basePrice)
+                .baseTotalCostCents(basePrice * quantity)
+                .ticketCounts(ticketCounts)
+                .transactionTime(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public DiscountSummary applyDiscounts() {
+        return fixtures.discountEngine.applyDiscounts(context);
+    }
+
+    /**
+     * The allocation-free variant used by the pricing path.
+     */
+    @Benchmark
+    public long totalDiscountCents() {
+        return fixtures.discountEngine.totalDiscountCents(context);
+    }
+}
@@ -0,0 +1,136 @@
+package com.cinema.pricing.benchmark;
+
+import com.cinema.pricing.audit.PricingAuditJournal;
+import com.cinema.pricing.cache.QuoteCache;
+import com.cinema.pricing.cache.TransactionResultCache;
+import com.cinema.pricing.config.JacksonConfig;
+import com.cinema.pricing.config.PricingAuditProperties;
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingDecisionProperties;
+import com.cinema.pricing.config.PricingReloadProperties;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.config.PromoCodeProperties;
+import com.cinema.pricing.config.ShowingOccupancyProperties;
+import com.cinema.pricing.config.VenuePricingProperties;
+import com.cinema.pricing.decision.PricingDecisionRecorder;
+import com.cinema.pricing.mapper.TransactionMapper;
+import com.cinema.pricing.mapper.TransactionResponseWriter;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.occupancy.ShowingOccupancyTracker;
+import com.cinema.pricing.promo.PromoCodeCatalogue;
+import com.cinema.pricing.service.discount.DiscountEngine;
+import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.PromoCodeDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.SeniorDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.TimeOfDayDiscountStrategy;
+import com.cinema.pricing.service.impl.ConfigBasedTicketPriceProvider;
+import com.cinema.pricing.service.impl.ConfigBasedTicketTypeResolver;
+import com.cinema.pricing.service.impl.StandardPricingStrategy;
+import com.cinema.pricing.service.impl.TicketPricingServiceImpl;
+import com.cinema.pricing.venue.VenuePricingRegistry;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wires the pricing components the same way the application context does, without Spring,
+ * using the default configuration from application.yaml.
+ */
+final class PricingFixtures {
+
+    private static final int[] AGES = {36, 5, 70, 15, 8, 42, 9, 67, 12, 29};
+
+    final PricingConfiguration config = new PricingConfiguration();
+    final PricingSnapshotHolder snapshotHolder;
+    final ConfigBasedTicketTypeResolver ticketTypeResolver;
+    final DiscountEngine discountEngine;
+    final StandardPricingStrategy pricingStrategy;
+    final QuoteCache quoteCache;
+    final TicketPricingServiceImpl pricingService;
+    // prices every transaction with the strategy and discount engine, without precomputed quotes
+    final TicketPricingServiceImpl uncachedPricingService;
+    final TransactionMapper transactionMapper = new TransactionMapper();
+    final ObjectMapper objectMapper;
+    final TransactionResponseWriter responseWriter;
+
+    PricingFixtures() {
+        config.setAdultBasePrice(25.00);
+        config.setSeniorBasePrice(25.00);
+        config.setTeenBasePrice(12.00);
+        config.setChildrenBasePrice(5.00);
+        config.setSeniorDiscountRate(0.30);
+
+        snapshotHolder = new PricingSnapshotHolder(config, event -> {
+        });
+        ticketTypeResolver = new ConfigBasedTicketTypeResolver();
+
+        ConfigBasedTicketPriceProvider priceProvider = new ConfigBasedTicketPriceProvider();
+        BulkDiscountStrategy bulkDiscountStrategy = new BulkDiscountStrategy();
+        SeniorDiscountStrategy seniorDiscountStrategy = new SeniorDiscountStrategy();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PricingMetrics pricingMetrics = new PricingMetrics(meterRegistry);
+        discountEngine = new DiscountEngine(List.of(bulkDiscountStrategy, seniorDiscountStrategy,
+                new TimeOfDayDiscountStrategy(), new PromoCodeDiscountStrategy()), pricingMetrics);
+        discountEngine.init();
+
+        pricingStrategy = new StandardPricingStrategy(priceProvider, discountEngine);
+
+        // benchmarks reuse transaction ids, so only quotes are cached
+        PricingCacheProperties cacheProperties = new PricingCacheProperties();
+        cacheProperties.getTransactions().setEnabled(false);
+        quoteCache = new QuoteCache(pricingStrategy, pricingMetrics, snapshotHolder, Clock.systemDefaultZone(),
+                cacheProperties);
+        quoteCache.warmUp();
+        pricingService = pricingService(pricingMetrics, quoteCache, cacheProperties, meterRegistry);
+
+        PricingCacheProperties uncachedProperties = new PricingCacheProperties();
+        uncachedProperties.getTransactions().setEnabled(false);
+        uncachedProperties.getQuotes().setEnabled(false);
+        QuoteCache uncachedQuotes = new QuoteCache(pricingStrategy, pricingMetrics, snapshotHolder,
+                Clock.systemDefaultZone(), uncachedProperties);
+        uncachedQuotes.warmUp();
+        uncachedPricingService = pricingService(pricingMetrics, uncachedQuotes, uncachedProperties, meterRegistry);
+
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL));
+        responseWriter = new TransactionResponseWriter(objectMapper);
+    }
+
+    private TicketPricingServiceImpl pricingService(PricingMetrics pricingMetrics, QuoteCache quotes,
+                                                    PricingCacheProperties cacheProperties,
+                                                    SimpleMeterRegistry meterRegistry) {
+        return new TicketPricingServiceImpl(ticketTypeResolver, pricingMetrics, snapshotHolder,
+                new TransactionResultCache(cacheProperties, meterRegistry), quotes,
+                new PricingDecisionRecorder(new PricingDecisionProperties(), meterRegistry),
+                new PromoCodeCatalogue(new PromoCodeProperties(), meterRegistry),
+                new ShowingOccupancyTracker(new ShowingOccupancyProperties(), meterRegistry),
+                new VenuePricingRegistry(new VenuePricingProperties(),
+                        new PricingConfigurationLoader(new StandardEnvironment(), new PricingReloadProperties()),
+                        meterRegistry),
+                new PricingAuditJournal(new PricingAuditProperties(), Clock.systemDefaultZone(), meterRegistry));
+    }
+
+    /**
+     * A group of customers cycling through a fixed mix of adults, children, teens and seniors.
+     */
+    static List<Customer> customers(int groupSize) {
+        List<Customer> customers = new ArrayList<>(groupSize);
+        for (int i = 0; i < groupSize; i++) {
+            customers.add(Customer.builder()
+                    .name("Customer " + i)
+                    .age(AGES[i % AGES.length])
+                    .build());
+        }
+        return customers;
+    }
+}
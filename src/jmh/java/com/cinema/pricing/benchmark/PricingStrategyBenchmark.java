@@ -0,0 +1,43 @@
+package com.cinema.pricing.benchmark;
+
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.service.discount.DiscountContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PricingStrategyBenchmark {
+
+    @Param({"ADULT", "SENIOR", "TEEN", "CHILDREN"})
+    public TicketType ticketType;
+
+    @Param({"1", "3"})
+    public int quantity;
+
+    private PricingFixtures fixtures;
+    private DiscountContext context;
+
+    @Setup
+    public void setUp() {
+        fixtures = new PricingFixtures();
+        int[] ticketCounts = new int[TicketType.values().length];
+        ticketCounts[ticketType.ordinal()] = quantity;
+        context = DiscountContext.forTransaction(fixtures.snapshotHolder.current(), ticketCounts, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public long calculateCost() {
+        return fixtures.pricingStrategy.calculateCost(context, ticketType, quantity);
+    }
+}
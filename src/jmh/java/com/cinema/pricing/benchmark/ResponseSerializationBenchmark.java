@@ -0,0 +1,62 @@
+package com.cinema.pricing.benchmark;
+
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.mapper.TransactionMapper;
+import com.cinema.pricing.mapper.TransactionResponseWriter;
+import com.cinema.pricing.model.TransactionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a {@link TransactionResponse} through the {@link com.cinema.pricing.config.JacksonConfig} ObjectMapper,
+ * with and without mapping it first, against the {@link TransactionResponseWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int groupSize;
+
+    private ObjectWriter writer;
+    private TransactionMapper transactionMapper;
+    private TransactionResponseWriter responseWriter;
+    private TransactionCalculation calculation;
+    private TransactionResponse response;
+
+    @Setup
+    public void setUp() {
+        PricingFixtures fixtures = new PricingFixtures();
+        writer = fixtures.objectMapper.writerFor(TransactionResponse.class);
+        transactionMapper = fixtures.transactionMapper;
+        responseWriter = fixtures.responseWriter;
+        calculation = fixtures.pricingService.calculatePrice(1L, PricingFixtures.customers(groupSize));
+        response = transactionMapper.toResponse(calculation);
+    }
+
+    @Benchmark
+    public byte[] writeTransactionResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteTransactionResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transactionMapper.toResponse(calculation));
+    }
+
+    @Benchmark
+    public byte[] writeTransactionCalculation() {
+        return responseWriter.toBytes(calculation);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cinema.pricing.benchmark;
+
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketPricingServiceBenchmark {
+
+    @Param({"1", "2", "5", "10", "25", "50"})
+    public int groupSize;
+
+    private PricingFixtures fixtures;
+    private List<Customer> customers;
+
+    @Setup
+    public void setUp() {
+        fixtures = new PricingFixtures();
+        customers = PricingFixtures.customers(groupSize);
+    }
+
+    /**
+     * Served from the precomputed quote tables after the first call.
+     */
+    @Benchmark
+    public TransactionCalculation calculatePrice() {
+        return fixtures.pricingService.calculatePrice(1L, customers);
+    }
+
+    /**
+     * Priced by the strategy and discount engine on every call, with the quote and transaction caches disabled.
+     */
+    @Benchmark
+    public TransactionCalculation calculatePriceUncached() {
+        return fixtures.uncachedPricingService.calculatePrice(1L, customers);
+    }
+}
@@ -0,0 +1,32 @@
+package com.cinema.pricing.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketTypeResolverBenchmark {
+
+    private PricingFixtures fixtures;
+
+    @Setup
+    public void setUp() {
+        fixtures = new PricingFixtures();
+    }
+
+    @Benchmark
+    public void resolveTicketType(Blackhole blackhole) {
+        for (int age = 0; age <= 100; age++) {
+            blackhole.consume(fixtures.ticketTypeResolver.resolveTicketType(fixtures.snapshotHolder.current(), age));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.cinema.pricing.loadtest;
+
+import com.cinema.pricing.CinemaPricingApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts the application once with Tomcat on its platform thread pool and once on virtual threads,
+ * and drives each with the same number of concurrent clients, reporting latency percentiles.
+ * <p>
+ * With {@code loadTest.slowClientMillis} set, clients post to the NDJSON endpoint and pause
+ * between the two transactions of their body, holding a request thread while the CPU is idle,
+ * which is where the platform pool's thread cap shows up in the tail latency.
+ * <p>
+ * Settings are system properties: {@code loadTest.concurrency} (default 1000),
+ * {@code loadTest.requests} (default 50000), {@code loadTest.warmupRequests} (default 10000),
+ * {@code loadTest.slowClientMillis} (default 0) and {@code loadTest.resultsFile}.
+ */
+public final class PricingLoadTest {
+
+    private static final String PRICING_PATH = "/api/v1/tickets/calculate-pricing";
+    private static final String STREAM_PATH = "/api/v1/tickets/calculate-pricing/stream";
+
+    private final int concurrency = Integer.getInteger("loadTest.concurrency", 1000);
+    private final int requests = Integer.getInteger("loadTest.requests", 50_000);
+    private final int warmupRequests = Integer.getInteger("loadTest.warmupRequests", 10_000);
+    private final long slowClientMillis = Long.getLong("loadTest.slowClientMillis", 0);
+    private final AtomicLong transactionIds = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        PricingLoadTest loadTest = new PricingLoadTest();
+        List<Map<String, Object>> results = new ArrayList<>();
+        results.add(loadTest.run(false));
+        results.add(loadTest.run(true));
+
+        String resultsFile = System.getProperty("loadTest.resultsFile");
+        if (resultsFile != null) {
+            Path path = Path.of(resultsFile);
+            Files.createDirectories(path.getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), results);
+            System.out.println("Results written to " + path);
+        }
+    }
+
+    private Map<String, Object> run(boolean virtualThreads) throws InterruptedException {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CinemaPricingApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            try (HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                drive(client, port, warmupRequests);
+                long start = System.nanoTime();
+                long[] latencies = drive(client, port, requests);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                Map<String, Object> result = summarise(mode, latencies, seconds);
+                System.out.println(result);
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Sends the requests from at most {@code concurrency} clients at a time and returns the latency
+     * of every request in nanoseconds; failed requests are reported and counted as {@code -1}.
+     */
+    private long[] drive(HttpClient client, int port, int count) throws InterruptedException {
+        long[] latencies = new long[count];
+        Semaphore inFlight = new Semaphore(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                inFlight.acquire();
+                int index = i;
+                clients.execute(() -> {
+                    try {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request(port), HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = response.statusCode() == 200 ? System.nanoTime() - start : -1;
+                    } catch (IOException | InterruptedException ex) {
+                        latencies[index] = -1;
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long failures = Arrays.stream(latencies).filter(latency -> latency < 0).count();
+        if (failures > 0) {
+            System.out.println(failures + " of " + count + " requests failed");
+        }
+        return latencies;
+    }
+
+    private HttpRequest request(int port) {
+        if (slowClientMillis <= 0) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + PRICING_PATH))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(transaction()))
+                    .build();
+        }
+        byte[] first = (transaction() + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] second = (transaction() + "\n").getBytes(StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + STREAM_PATH))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SlowBody(first, second, slowClientMillis)))
+                .build();
+    }
+
+    private String transaction() {
+        return "{\"transactionId\":" + transactionIds.incrementAndGet() + ",\"customers\":["
+                + "{\"name\":\"John Smith\",\"age\":70},"
+                + "{\"name\":\"Jane Doe\",\"age\":5},"
+                + "{\"name\":\"Bob Doe\",\"age\":6},"
+                + "{\"name\":\"Ann Doe\",\"age\":36}]}";
+    }
+
+    private Map<String, Object> summarise(String mode, long[] latencies, double seconds) {
+        long[] succeeded = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", mode);
+        result.put("concurrency", concurrency);
+        result.put("requests", latencies.length);
+        result.put("failures", latencies.length - succeeded.length);
+        result.put("slowClientMillis", slowClientMillis);
+        result.put("throughputPerSecond", Math.round(succeeded.length / seconds));
+        result.put("p50Millis", percentileMillis(succeeded, 0.50));
+        result.put("p95Millis", percentileMillis(succeeded, 0.95));
+        result.put("p99Millis", percentileMillis(succeeded, 0.99));
+        result.put("maxMillis", percentileMillis(succeeded, 1.0));
+        return result;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = Math.max((int) Math.ceil(percentile * sorted.length) - 1, 0);
+        return sorted[index] / 1_000_000.0;
+    }
+
+    /**
+     * A request body that sends its first line, waits like a slow client, and then sends the rest.
+     */
+    private static final class SlowBody extends InputStream {
+
+        private final byte[] first;
+        private final byte[] second;
+        private final long pauseMillis;
+        private int position;
+
+        private SlowBody(byte[] first, byte[] second, long pauseMillis) {
+            this.first = first;
+            this.second = second;
+            this.pauseMillis = pauseMillis;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            byte[] chunk;
+            int chunkPosition;
+            if (position < first.length) {
+                chunk = first;
+                chunkPosition = position;
+            } else if (position < first.length + second.length) {
+                if (position == first.length) {
+                    pause();
+                }
+                chunk = second;
+                chunkPosition = position - first.length;
+            } else {
+                return -1;
+            }
+            int read = Math.min(length, chunk.length - chunkPosition);
+            System.arraycopy(chunk, chunkPosition, buffer, offset, read);
+            position += read;
+            return read;
+        }
+
+        private void pause() {
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.cinema.pricing.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the extracted boot jar in a new JVM per run and measures the time from launching it to
+ * its first successful {@code calculatePricing} response, which is when an autoscaled pod starts
+ * serving traffic. Each startup option adds to the previous one: the default configuration, the
+ * production profile's lazy initialization, the AOT-generated bean definitions and the Class Data
+ * Sharing archive of {@code ./gradlew cdsArchive}.
+ * <p>
+ * Settings are system properties: {@code startup.applicationJar} (the extracted boot jar, next to
+ * {@code application.jsa}), {@code startup.runs} (default 5), {@code startup.timeoutSeconds}
+ * (default 60) and {@code startup.resultsFile}. The output of each launch is appended to
+ * {@code <option>.log} next to the results file.
+ */
+public final class StartupBenchmark {
+
+    private static final String PRICING_PATH = "/api/v1/tickets/calculate-pricing";
+    private static final String TRANSACTION = "{\"transactionId\":1,\"customers\":["
+            + "{\"name\":\"John Smith\",\"age\":70},"
+            + "{\"name\":\"Ann Doe\",\"age\":36}]}";
+    private static final long POLL_MILLIS = 5;
+
+    private final Path applicationJar = Path.of(System.getProperty("startup.applicationJar"));
+    private final int runs = Integer.getInteger("startup.runs", 5);
+    private final long timeoutNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("startup.timeoutSeconds", 60));
+    private final Path logDirectory;
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(100))
+            .build();
+
+    private StartupBenchmark(Path logDirectory) {
+        this.logDirectory = logDirectory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String resultsFile = System.getProperty("startup.resultsFile");
+        Path resultsPath = resultsFile != null ? Path.of(resultsFile) : null;
+        Path logDirectory = resultsPath != null ? resultsPath.getParent() : Path.of(".");
+        Files.createDirectories(logDirectory);
+
+        StartupBenchmark benchmark = new StartupBenchmark(logDirectory);
+        List<Map<String, Object>> results = new ArrayList<>();
+        results.add(benchmark.run("default", List.of()));
+        results.add(benchmark.run("production", List.of("-Dspring.profiles.active=production")));
+        results.add(benchmark.run("production-aot", List.of("-Dspring.profiles.active=production",
+                "-Dspring.aot.enabled=true")));
+        results.add(benchmark.run("production-aot-cds", List.of("-Dspring.profiles.active=production",
+                "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa")));
+
+        if (resultsPath != null) {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(resultsPath.toFile(), results);
+            System.out.println("Results written to " + resultsPath);
+        }
+    }
+
+    private Map<String, Object> run(String option, List<String> jvmArgs) throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstResponseMillis(option, jvmArgs);
+        }
+        Arrays.sort(millis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("option", option);
+        result.put("runs", runs);
+        result.put("minMillis", millis[0]);
+        result.put("medianMillis", millis[runs / 2]);
+        result.put("maxMillis", millis[runs - 1]);
+        System.out.println(result);
+        return result;
+    }
+
+    private long timeToFirstResponseMillis(String option, List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", applicationJar.getFileName().toString(), "--server.port=" + port));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PRICING_PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(TRANSACTION))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(applicationJar.toAbsolutePath().getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(logDirectory.resolve(option + ".log").toFile()))
+                .start();
+        try {
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(option + " exited with " + process.exitValue()
+                            + " before pricing a transaction, see " + option + ".log");
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException ex) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            throw new IllegalStateException(option + " did not price a transaction within the timeout");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.cinema.pricing.api;
+
+/**
+ * The request header with which clients ask for every pricing decision of their request to be
+ * recorded in the decision log, whatever the sample rate.
+ */
+public final class PricingTrace {
+
+    public static final String HEADER = "X-Pricing-Trace";
+
+    private PricingTrace() {
+    }
+
+    public static boolean isRequested(String headerValue) {
+        return "true".equalsIgnoreCase(headerValue) || "1".equals(headerValue);
+    }
+}
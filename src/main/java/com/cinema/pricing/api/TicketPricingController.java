@@ -1,17 +1,36 @@
 package com.cinema.pricing.api;
 
+import com.cinema.pricing.cache.QuoteResponseCache;
+import com.cinema.pricing.mapper.EncodedTransactionResponse;
+import com.cinema.pricing.mapper.EncodedTransactionResponseConverter;
 import com.cinema.pricing.mapper.TransactionMapper;
+import com.cinema.pricing.mapper.TransactionResponseWriter;
+import com.cinema.pricing.model.BatchTransactionRequest;
+import com.cinema.pricing.model.BatchTransactionResult;
 import com.cinema.pricing.model.TransactionRequest;
 import com.cinema.pricing.model.TransactionResponse;
 import com.cinema.pricing.service.TicketPricingService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST controller for movie ticket pricing operations.
  * Implements the generated OpenAPI interface.
+ * The {@link PricingTrace#HEADER} is read from the current request, outside the generated signatures.
+ * Single quotes are written by the {@link TransactionResponseWriter} rather than through the generated models.
+ * <p>
+ * Untraced quotes carry an ETag fingerprinting the request and the pricing it depends on, see
+ * {@link QuoteResponseCache}. A quote is a safe, repeatable calculation, so a POST whose
+ * {@code If-None-Match} lists its ETag is answered with 304 like a conditional GET, as long as
+ * the response of an equal request is cached; otherwise the request is priced, and rejected if invalid.
  */
 @RestController
 @RequiredArgsConstructor
@@ -19,10 +38,48 @@ public class TicketPricingController implements TicketPricingApi {
 
     private final TicketPricingService ticketPricingService;
     private final TransactionMapper transactionMapper;
+    private final HttpServletRequest request;
+    private final QuoteResponseCache responseCache;
+    private final TransactionResponseWriter responseWriter;
 
     public ResponseEntity<TransactionResponse> calculatePricing(@Valid TransactionRequest transactionRequest) {
-        var transactionCalculation = ticketPricingService.calculatePrice(transactionRequest.getTransactionId(), transactionRequest.getCustomers());
+        boolean traced = traced();
+        QuoteResponseCache.Key key = traced ? null : responseCache.key(transactionRequest);
+        if (key == null) {
+            var transactionCalculation = ticketPricingService.calculatePrice(transactionRequest, traced);
+
+            return encoded(ResponseEntity.ok(), responseWriter.toBytes(transactionCalculation));
+        }
+
+        String etag = key.etag();
+        byte[] body = responseCache.get(key);
+        if (body != null && QuoteResponseCache.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (body == null) {
+            var transactionCalculation = ticketPricingService.calculatePrice(transactionRequest, false);
+            body = responseWriter.toBytes(transactionCalculation);
+            responseCache.put(key, transactionCalculation, body);
+        }
+        return encoded(ResponseEntity.ok().eTag(etag), body);
+    }
+
+    public ResponseEntity<List<BatchTransactionResult>> calculatePricingBatch(@Valid BatchTransactionRequest batchTransactionRequest) {
+        var outcomes = ticketPricingService.calculatePrices(batchTransactionRequest.getTransactions(), traced());
+
+        return ResponseEntity.ok(transactionMapper.toBatchResults(outcomes));
+    }
+
+    /**
+     * Answers with already serialized JSON, written as it is by the {@link EncodedTransactionResponseConverter}.
+     */
+    private static ResponseEntity<TransactionResponse> encoded(ResponseEntity.BodyBuilder response, byte[] body) {
+        return response
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new EncodedTransactionResponse(body));
+    }
 
-        return ResponseEntity.ok(transactionMapper.toResponse(transactionCalculation));
+    private boolean traced() {
+        return PricingTrace.isRequested(request.getHeader(PricingTrace.HEADER));
     }
 }
@@ -0,0 +1,113 @@
+package com.cinema.pricing.api;
+
+import com.cinema.pricing.domain.TransactionOutcome;
+import com.cinema.pricing.mapper.TransactionMapper;
+import com.cinema.pricing.model.BatchTransactionResult;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.service.TicketPricingService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming variant of the pricing API for bulk re-pricing jobs.
+ * Reads newline-delimited {@link TransactionRequest}s incrementally and writes one
+ * {@link BatchTransactionResult} line per transaction as it goes, so memory stays constant
+ * whatever the input size. Blocking writes to the servlet output stream provide backpressure.
+ */
+@Slf4j
+@RestController
+public class TicketPricingStreamController {
+
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final TicketPricingService ticketPricingService;
+    private final TransactionMapper transactionMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+
+    public TicketPricingStreamController(TicketPricingService ticketPricingService,
+                                         TransactionMapper transactionMapper,
+                                         Validator validator,
+                                         ObjectMapper objectMapper) {
+        this.ticketPricingService = ticketPricingService;
+        this.transactionMapper = transactionMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(TransactionRequest.class);
+        this.resultWriter = objectMapper.writerFor(BatchTransactionResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @PostMapping(path = "/api/v1/tickets/calculate-pricing/stream",
+            consumes = APPLICATION_NDJSON,
+            produces = APPLICATION_NDJSON)
+    public void calculatePricingStream(InputStream requestBody, HttpServletResponse response,
+                                       @RequestHeader(name = PricingTrace.HEADER, required = false) String trace)
+            throws IOException {
+        boolean traced = PricingTrace.isRequested(trace);
+        response.setContentType(APPLICATION_NDJSON);
+
+        long count = 0;
+        try (MappingIterator<TransactionRequest> transactions = requestReader.readValues(requestBody);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // lines are terminated explicitly instead of Jackson's default space separator
+            generator.setRootValueSeparator(null);
+            try {
+                while (transactions.hasNextValue()) {
+                    writeLine(generator, price(transactions.nextValue(), traced));
+                    count++;
+                }
+            } catch (JsonProcessingException ex) {
+                log.error("Malformed NDJSON after {} transactions: {}", count, ex.getOriginalMessage());
+                String message = ex.getLocation() != null
+                        ? "Invalid JSON at line " + ex.getLocation().getLineNr()
+                        : "Invalid JSON after transaction " + count;
+                writeLine(generator, transactionMapper.toBatchResult(TransactionOutcome.failure(null, message)));
+            }
+        }
+        log.debug("Streamed pricing for {} transactions", count);
+    }
+
+    private BatchTransactionResult price(TransactionRequest transaction, boolean traced) {
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(transaction);
+        if (!violations.isEmpty()) {
+            return transactionMapper.toBatchResult(TransactionOutcome.failure(transaction.getTransactionId(),
+                    violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", "))));
+        }
+
+        try {
+            return transactionMapper.toBatchResult(TransactionOutcome.success(
+                    ticketPricingService.calculatePrice(transaction, traced)));
+        } catch (IllegalArgumentException ex) {
+            return transactionMapper.toBatchResult(
+                    TransactionOutcome.failure(transaction.getTransactionId(), ex.getMessage()));
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, BatchTransactionResult result) throws IOException {
+        resultWriter.writeValue(generator, result);
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,235 @@
+package com.cinema.pricing.audit;
+
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.Money;
+import com.cinema.pricing.domain.TicketType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Command-line reader of {@link PricingAuditJournal} segments, writing one CSV row or JSON line per
+ * record to standard output, in segment order:
+ * <pre>
+ * ./gradlew readAuditJournal --args="[--format csv|json] &lt;segment file or directory&gt;..."
+ * </pre>
+ * Segments are memory-mapped read-only, so segments of a running instance can be read; slots whose
+ * record is not marked complete, such as the unused end of the current segment, are skipped.
+ * Each segment is read with the layout of its header, so segments written before a ticket or
+ * discount type was added read as having none of it.
+ */
+public final class AuditJournalReader {
+
+    enum Format {CSV, JSON}
+
+    private static final TicketType[] TICKET_TYPES = TicketType.values();
+    private static final DiscountType[] DISCOUNT_TYPES = DiscountType.values();
+
+    private final Format format;
+    private final Writer out;
+    private final char[] amountBuffer = new char[Money.MAX_DECIMAL_CHARS];
+
+    AuditJournalReader(Format format, Writer out) {
+        this.format = format;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Format format = Format.CSV;
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--format".equals(args[i]) && i + 1 < args.length) {
+                format = Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+            } else {
+                paths.add(Path.of(args[i]));
+            }
+        }
+        if (paths.isEmpty()) {
+            System.err.println("Usage: AuditJournalReader [--format csv|json] <segment file or directory>...");
+            System.exit(2);
+        }
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 64 * 1024);
+        long records = new AuditJournalReader(format, out).read(segments(paths));
+        out.flush();
+        System.err.println(records + " records");
+    }
+
+    /**
+     * Segment files of the paths, directories expanded to their segments, in sequence order.
+     */
+    static List<Path> segments(List<Path> paths) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    files.filter(file -> AuditRecord.segmentSequence(file.getFileName().toString()) >= 0)
+                            .forEach(segments::add);
+                }
+            } else {
+                segments.add(path);
+            }
+        }
+        segments.sort(Comparator.comparingLong(file -> AuditRecord.segmentSequence(file.getFileName().toString())));
+        return segments;
+    }
+
+    /**
+     * Writes every complete record of the segments and returns their number.
+     */
+    long read(List<Path> segments) throws IOException {
+        if (format == Format.CSV) {
+            writeHeader();
+        }
+        long records = 0;
+        for (Path segment : segments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(AuditRecord.BYTE_ORDER);
+                AuditRecord.Layout layout = layout(segment, buffer);
+                for (int offset = AuditRecord.HEADER_SIZE; offset + layout.size() <= buffer.limit();
+                     offset += layout.size()) {
+                    if (buffer.getInt(offset + AuditRecord.MARKER_OFFSET) == AuditRecord.MARKER) {
+                        write(buffer, offset, layout);
+                        records++;
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * The layout of the segment's records, from its header.
+     */
+    private static AuditRecord.Layout layout(Path segment, MappedByteBuffer buffer) {
+        if (buffer.limit() < AuditRecord.HEADER_SIZE
+                || buffer.getInt(AuditRecord.SEGMENT_MARKER_OFFSET) != AuditRecord.SEGMENT_MARKER) {
+            throw new IllegalStateException(segment + " is not an audit segment");
+        }
+        short version = buffer.getShort(AuditRecord.SEGMENT_VERSION_OFFSET);
+        if (version != AuditRecord.VERSION) {
+            throw new IllegalStateException("Unsupported audit layout version " + version + " of " + segment);
+        }
+        int ticketTypes = buffer.get(AuditRecord.SEGMENT_TICKET_TYPES_OFFSET);
+        int discountTypes = buffer.get(AuditRecord.SEGMENT_DISCOUNT_TYPES_OFFSET);
+        if (ticketTypes > TICKET_TYPES.length || discountTypes > DISCOUNT_TYPES.length) {
+            throw new IllegalStateException(segment + " has " + ticketTypes + " ticket and " + discountTypes
+                    + " discount types, this reader knows " + TICKET_TYPES.length + " and " + DISCOUNT_TYPES.length);
+        }
+        AuditRecord.Layout layout = AuditRecord.Layout.of(ticketTypes, discountTypes);
+        int recordSize = buffer.getInt(AuditRecord.SEGMENT_RECORD_SIZE_OFFSET);
+        if (recordSize != layout.size()) {
+            throw new IllegalStateException("Records of " + segment + " are " + recordSize
+                    + " bytes, its layout has " + layout.size());
+        }
+        return layout;
+    }
+
+    private void writeHeader() throws IOException {
+        out.write("timestamp,transactionId,snapshotVersion,totalCost,promoCodeIndex");
+        for (DiscountType discountType : DISCOUNT_TYPES) {
+            out.write(',' + columnName(discountType) + "Discount");
+        }
+        for (TicketType ticketType : TICKET_TYPES) {
+            String name = ticketType.getDisplayName().toLowerCase(Locale.ROOT);
+            out.write(',' + name + "Quantity," + name + "Cost");
+        }
+        out.write('\n');
+    }
+
+    private void write(MappedByteBuffer buffer, int offset, AuditRecord.Layout layout) throws IOException {
+        int promoCodeIndex = buffer.getInt(offset + AuditRecord.PROMO_CODE_OFFSET);
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong(offset + AuditRecord.TIMESTAMP_OFFSET));
+        long transactionId = buffer.getLong(offset + AuditRecord.TRANSACTION_ID_OFFSET);
+        long snapshotVersion = buffer.getLong(offset + AuditRecord.SNAPSHOT_VERSION_OFFSET);
+        long totalCostCents = buffer.getLong(offset + AuditRecord.TOTAL_COST_OFFSET);
+
+        boolean json = format == Format.JSON;
+        out.write(json ? "{\"timestamp\":\"" + timestamp + "\",\"transactionId\":" : timestamp + ",");
+        out.write(transactionId != AuditRecord.NO_TRANSACTION_ID ? Long.toString(transactionId) : json ? "null" : "");
+        out.write(json ? ",\"snapshotVersion\":" : ",");
+        out.write(Long.toString(snapshotVersion));
+        out.write(json ? ",\"totalCost\":" : ",");
+        writeAmount(totalCostCents);
+        out.write(json ? ",\"promoCodeIndex\":" : ",");
+        out.write(promoCodeIndex != AuditRecord.NO_PROMO_CODE ? Integer.toString(promoCodeIndex) : json ? "null" : "");
+        if (json) {
+            out.write(",\"discounts\":[");
+        }
+        boolean first = true;
+        for (int i = 0; i < DISCOUNT_TYPES.length; i++) {
+            // discount types added after the record was written were not applied
+            long discountCents = i < layout.discountTypes()
+                    ? buffer.getLong(offset + AuditRecord.DISCOUNTS_OFFSET + i * Long.BYTES) : 0;
+            if (!json) {
+                out.write(',');
+                writeAmount(discountCents);
+            } else if (discountCents != 0) {
+                out.write(first ? "{\"discountType\":\"" : ",{\"discountType\":\"");
+                out.write(DISCOUNT_TYPES[i].name());
+                out.write("\",\"amount\":");
+                writeAmount(discountCents);
+                out.write('}');
+                first = false;
+            }
+        }
+        if (json) {
+            out.write("],\"tickets\":[");
+        }
+        first = true;
+        for (int i = 0; i < TICKET_TYPES.length; i++) {
+            // ticket types added after the record was written had no tickets
+            int quantity = i < layout.ticketTypes()
+                    ? buffer.getShort(offset + layout.quantitiesOffset() + i * Short.BYTES) : 0;
+            long costCents = i < layout.ticketTypes()
+                    ? buffer.getLong(offset + layout.costsOffset() + i * Long.BYTES) : 0;
+            if (!json) {
+                out.write("," + quantity + ",");
+                writeAmount(costCents);
+            } else if (quantity > 0) {
+                out.write(first ? "{\"ticketType\":\"" : ",{\"ticketType\":\"");
+                out.write(TICKET_TYPES[i].getDisplayName());
+                out.write("\",\"quantity\":" + quantity + ",\"totalCost\":");
+                writeAmount(costCents);
+                out.write('}');
+                first = false;
+            }
+        }
+        out.write(json ? "]}\n" : "\n");
+    }
+
+    // TIME_OF_DAY -> timeOfDay
+    private static String columnName(DiscountType discountType) {
+        StringBuilder name = new StringBuilder();
+        boolean upper = false;
+        for (char c : discountType.name().toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                name.append(upper ? c : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return name.toString();
+    }
+
+    private void writeAmount(long cents) throws IOException {
+        int start = Money.formatDecimal(cents, amountBuffer);
+        out.write(amountBuffer, start, amountBuffer.length - start);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cinema.pricing.audit;
+
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.TicketType;
+
+import java.nio.ByteOrder;
+
+/**
+ * Fixed layout of a journal segment and its records, little-endian. A segment starts with a header:
+ * <pre>
+ *  0  int    segment marker
+ *  4  short  layout version
+ *  6  byte   number of ticket types
+ *  7  byte   number of discount types
+ *  8  int    record size
+ * 12  int    unused
+ * </pre>
+ * followed by records of that size:
+ * <pre>
+ *  0  int    marker, written last, so a record without it was never completed
+ *  4  int    position of the redeemed promo code in its catalogue, {@link #NO_PROMO_CODE} when none
+ *  8  long   quote time, epoch milliseconds
+ * 16  long   transaction id, {@link #NO_TRANSACTION_ID} when the request had none
+ * 24  long   version of the pricing snapshot the quote was priced with
+ * 32  long   total cost in cents
+ * 40  long   discount in cents per discount type, by {@link DiscountType} ordinal, 0 when it did not apply
+ *  …  long   total cost in cents per ticket type, by {@link TicketType} ordinal
+ *  …  short  quantity per ticket type, by ordinal
+ * </pre>
+ * Where the per-type fields start and how long a record is follow from the type counts in the
+ * header, see {@link Layout}, so segments written before a ticket or discount type was appended
+ * are still read, with nothing of the new type. Any other change to the layout bumps {@link #VERSION}.
+ */
+final class AuditRecord {
+
+    static final int SEGMENT_MARKER = 0x53445541; // "AUDS"
+    static final int MARKER = 0x32445541; // "AUD2"
+    static final short VERSION = 2;
+    static final int NO_PROMO_CODE = -1;
+    static final long NO_TRANSACTION_ID = Long.MIN_VALUE;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int SEGMENT_MARKER_OFFSET = 0;
+    static final int SEGMENT_VERSION_OFFSET = 4;
+    static final int SEGMENT_TICKET_TYPES_OFFSET = 6;
+    static final int SEGMENT_DISCOUNT_TYPES_OFFSET = 7;
+    static final int SEGMENT_RECORD_SIZE_OFFSET = 8;
+    static final int HEADER_SIZE = 16;
+
+    static final int MARKER_OFFSET = 0;
+    static final int PROMO_CODE_OFFSET = 4;
+    static final int TIMESTAMP_OFFSET = 8;
+    static final int TRANSACTION_ID_OFFSET = 16;
+    static final int SNAPSHOT_VERSION_OFFSET = 24;
+    static final int TOTAL_COST_OFFSET = 32;
+    static final int DISCOUNTS_OFFSET = 40;
+
+    // the layout this build writes
+    static final Layout CURRENT = Layout.of(TicketType.values().length, DiscountType.values().length);
+    static final int SIZE = CURRENT.size();
+
+    static final String SEGMENT_PREFIX = "pricing-audit-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private AuditRecord() {
+    }
+
+    static String segmentName(long sequence) {
+        return SEGMENT_PREFIX + String.format("%012d", sequence) + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * Returns the sequence of a segment file name, or -1 when it is not a segment.
+     */
+    static long segmentSequence(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                    fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Offsets of the per-type fields and size of the records of a segment with the given type counts.
+     */
+    record Layout(int ticketTypes, int discountTypes, int costsOffset, int quantitiesOffset, int size) {
+
+        static Layout of(int ticketTypes, int discountTypes) {
+            int costsOffset = DISCOUNTS_OFFSET + Long.BYTES * discountTypes;
+            int quantitiesOffset = costsOffset + Long.BYTES * ticketTypes;
+            // a multiple of 8, so that every record's longs and marker stay aligned
+            int size = (quantitiesOffset + Short.BYTES * ticketTypes + 7) & ~7;
+            return new Layout(ticketTypes, discountTypes, costsOffset, quantitiesOffset, size);
+        }
+    }
+}
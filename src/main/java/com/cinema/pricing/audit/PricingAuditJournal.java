@@ -0,0 +1,319 @@
+package com.cinema.pricing.audit;
+
+import com.cinema.pricing.config.PricingAuditProperties;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TransactionCalculation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit journal of every quote: transaction id, ticket counts and costs, the amount of
+ * each type of discount applied, the redeemed promo code and the snapshot version, in the fixed
+ * layout of {@link AuditRecord}.
+ * <p>
+ * Records go to memory-mapped segment files in {@code pricing.audit.directory}. A request thread
+ * claims its record's slot with a single atomic add on the segment's write offset and writes it
+ * straight into the mapping, so appending takes neither a lock nor a system call. A background
+ * thread forces the mapped pages to disk every {@code pricing.audit.flush-interval}, and maps the
+ * next segment once the current one is half claimed, so the thread whose claim first passes the
+ * end of a segment only swaps in the spare; others park briefly until it has. Only when no spare
+ * is ready, because segments fill faster than the flush interval, does that thread map one itself.
+ * Segments are never reopened for writing; a restarted instance continues with a new segment.
+ * {@link AuditJournalReader} decodes segments to CSV or JSON lines.
+ */
+@Slf4j
+@Component
+public class PricingAuditJournal {
+
+    // release store of the marker, so that a record's fields are written before it is marked complete
+    private static final VarHandle MARKER = MethodHandles.byteBufferViewVarHandle(int[].class, AuditRecord.BYTE_ORDER);
+    // a roll is a pointer swap, waiters park rather than spin on carrier or event loop threads
+    private static final long ROLL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final long flushIntervalNanos;
+    private final Clock clock;
+    private final Counter recordedCounter;
+    private final Counter droppedCounter;
+    private final AtomicLong nextSequence = new AtomicLong();
+    // full segments, forced and released by the flusher once their last record is written
+    private final Queue<Segment> retired = new ConcurrentLinkedQueue<>();
+    // mapped ahead by the flusher, taken by the thread that rolls the current segment
+    private final AtomicReference<Segment> spare = new AtomicReference<>();
+
+    // null while no segment could be opened, records are then dropped
+    private volatile Segment current;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public PricingAuditJournal(PricingAuditProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.directory = properties.getDirectory() != null ? Path.of(properties.getDirectory()) : null;
+        long segmentSize = properties.getSegmentSize().toBytes();
+        if (segmentSize < AuditRecord.HEADER_SIZE + AuditRecord.SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Audit segment size must be between "
+                    + (AuditRecord.HEADER_SIZE + AuditRecord.SIZE) + " bytes and 2GB: " + properties.getSegmentSize());
+        }
+        this.segmentCapacity = (int) (segmentSize - (segmentSize - AuditRecord.HEADER_SIZE) % AuditRecord.SIZE);
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.clock = clock;
+        this.recordedCounter = Counter.builder("pricing.audit.recorded")
+                .description("Quotes appended to the audit journal")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("pricing.audit.dropped")
+                .description("Quotes not journaled because no audit segment could be opened")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        nextSequence.set(lastSequence(directory) + 1);
+        current = openSegment();
+        running = true;
+        flusher = new Thread(this::flushSegments, "pricing-audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Journaling quotes to {} in segments of {} records", directory, recordsPerSegment());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher != null) {
+            running = false;
+            LockSupport.unpark(flusher);
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+            flush(true);
+            Segment unused = spare.getAndSet(null);
+            if (unused != null) {
+                try {
+                    Files.deleteIfExists(unused.file);
+                } catch (IOException ex) {
+                    log.warn("Could not delete unused audit segment {}: {}", unused, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the quote of a transaction priced with the snapshot. Does nothing while the journal is disabled.
+     */
+    public void append(PricingSnapshot snapshot, TransactionCalculation calculation) {
+        if (!running) {
+            return;
+        }
+        while (true) {
+            Segment segment = current;
+            if (segment == null) {
+                droppedCounter.increment();
+                return;
+            }
+            int offset = segment.claim();
+            if (offset >= 0) {
+                write(segment, offset, snapshot, calculation);
+                recordedCounter.increment();
+                return;
+            }
+            if (offset == Segment.ROLL) {
+                roll(segment);
+            } else {
+                while (current == segment) {
+                    LockSupport.parkNanos(ROLL_WAIT_NANOS);
+                }
+            }
+        }
+    }
+
+    private void write(Segment segment, int offset, PricingSnapshot snapshot, TransactionCalculation calculation) {
+        MappedByteBuffer buffer = segment.buffer;
+        // slots are fresh, zeroed pages, so types without tickets or discounts are left as they are
+        List<TicketCalculation> tickets = calculation.getTicketCalculations();
+        for (int i = 0; i < tickets.size(); i++) {
+            TicketCalculation ticket = tickets.get(i);
+            int ordinal = ticket.getTicketType().ordinal();
+            buffer.putShort(offset + AuditRecord.CURRENT.quantitiesOffset() + ordinal * Short.BYTES,
+                    (short) Math.min(ticket.getQuantity(), Short.MAX_VALUE));
+            buffer.putLong(offset + AuditRecord.CURRENT.costsOffset() + ordinal * Long.BYTES,
+                    ticket.getTotalCostCents());
+        }
+        long[] discountsCents = calculation.getDiscountsCents();
+        if (discountsCents != null) {
+            for (int ordinal = 0; ordinal < discountsCents.length; ordinal++) {
+                if (discountsCents[ordinal] != 0) {
+                    buffer.putLong(offset + AuditRecord.DISCOUNTS_OFFSET + ordinal * Long.BYTES, discountsCents[ordinal]);
+                }
+            }
+        }
+        Long transactionId = calculation.getTransactionId();
+        buffer.putInt(offset + AuditRecord.PROMO_CODE_OFFSET, calculation.getPromoCodeIndex());
+        buffer.putLong(offset + AuditRecord.TIMESTAMP_OFFSET, clock.millis());
+        buffer.putLong(offset + AuditRecord.TRANSACTION_ID_OFFSET,
+                transactionId != null ? transactionId : AuditRecord.NO_TRANSACTION_ID);
+        buffer.putLong(offset + AuditRecord.SNAPSHOT_VERSION_OFFSET, snapshot.getVersion());
+        buffer.putLong(offset + AuditRecord.TOTAL_COST_OFFSET, calculation.getTotalCostCents());
+        MARKER.setRelease(buffer, offset + AuditRecord.MARKER_OFFSET, AuditRecord.MARKER);
+        segment.written.incrementAndGet();
+    }
+
+    /**
+     * Replaces the full segment, called by the one thread whose claim first passed its end.
+     */
+    private void roll(Segment full) {
+        retired.add(full);
+        Segment next = spare.getAndSet(null);
+        if (next != null) {
+            current = next;
+            return;
+        }
+        try {
+            next = openSegment();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Could not open audit segment in {}, dropping quotes until it can: {}", directory, ex.getMessage());
+            next = null;
+        }
+        current = next;
+    }
+
+    private Segment openSegment() throws IOException {
+        Path file = directory.resolve(AuditRecord.segmentName(nextSequence.getAndIncrement()));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping outlives the channel and sizes the file
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentCapacity);
+            buffer.order(AuditRecord.BYTE_ORDER);
+            // written before the segment is published to request threads
+            buffer.putInt(AuditRecord.SEGMENT_MARKER_OFFSET, AuditRecord.SEGMENT_MARKER);
+            buffer.putShort(AuditRecord.SEGMENT_VERSION_OFFSET, AuditRecord.VERSION);
+            buffer.put(AuditRecord.SEGMENT_TICKET_TYPES_OFFSET, (byte) AuditRecord.CURRENT.ticketTypes());
+            buffer.put(AuditRecord.SEGMENT_DISCOUNT_TYPES_OFFSET, (byte) AuditRecord.CURRENT.discountTypes());
+            buffer.putInt(AuditRecord.SEGMENT_RECORD_SIZE_OFFSET, AuditRecord.SIZE);
+            log.debug("Opened audit segment {}", file);
+            return new Segment(file, buffer, recordsPerSegment());
+        }
+    }
+
+    private void flushSegments() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flush(false);
+            } catch (RuntimeException ex) {
+                log.error("Failed to flush the audit journal: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forces the current segment and every retired segment whose records are all written, or
+     * every retired segment on {@code shutdown}; then retries opening a segment if there is none,
+     * or maps the spare once the current segment is half claimed.
+     */
+    void flush(boolean shutdown) {
+        for (Segment segment : retired) {
+            if (shutdown || segment.isComplete()) {
+                segment.buffer.force();
+                retired.remove(segment);
+            }
+        }
+        Segment segment = current;
+        if (segment != null) {
+            segment.buffer.force();
+            if (!shutdown && spare.get() == null && segment.isHalfClaimed()) {
+                try {
+                    spare.set(openSegment());
+                } catch (IOException | RuntimeException ex) {
+                    log.debug("Spare audit segment cannot be opened yet: {}", ex.getMessage());
+                }
+            }
+        } else if (!shutdown) {
+            try {
+                current = openSegment();
+                log.info("Audit journal resumed in {}", directory);
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Audit segment still cannot be opened: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private int recordsPerSegment() {
+        return (segmentCapacity - AuditRecord.HEADER_SIZE) / AuditRecord.SIZE;
+    }
+
+    private static long lastSequence(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> AuditRecord.segmentSequence(file.getFileName().toString()))
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private static final class Segment {
+
+        // returned to the claim that first passes the end, whose thread rolls the segment
+        static final int ROLL = -1;
+        static final int FULL = -2;
+
+        final Path file;
+        final MappedByteBuffer buffer;
+        final int records;
+        final AtomicInteger claimed = new AtomicInteger();
+        final AtomicInteger written = new AtomicInteger();
+
+        Segment(Path file, MappedByteBuffer buffer, int records) {
+            this.file = file;
+            this.buffer = buffer;
+            this.records = records;
+        }
+
+        /**
+         * Returns the offset of a free record, or {@link #ROLL} or {@link #FULL} once there is none.
+         */
+        int claim() {
+            int record = claimed.getAndIncrement();
+            if (record < records) {
+                return AuditRecord.HEADER_SIZE + record * AuditRecord.SIZE;
+            }
+            return record == records ? ROLL : FULL;
+        }
+
+        boolean isHalfClaimed() {
+            return claimed.get() >= records / 2;
+        }
+
+        boolean isComplete() {
+            return written.get() == records;
+        }
+
+        @Override
+        public String toString() {
+            return file.toString();
+        }
+    }
+}
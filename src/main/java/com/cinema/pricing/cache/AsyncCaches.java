@@ -0,0 +1,68 @@
+package com.cinema.pricing.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Computes a value once per key without holding a lock while computing it.
+ * <p>
+ * {@code Cache.get(key, mappingFunction)} runs the mapping function inside the cache's
+ * {@code ConcurrentHashMap.compute}, under the lock of the key's hash bin: a slow calculation
+ * blocks every other key of the bin, and pins the carrier of a virtual thread for its duration.
+ * Here the first caller installs an incomplete future with {@code putIfAbsent}, which only locks the
+ * bin for the insert, computes the value on its own thread, and completes the future. Concurrent
+ * callers for the same key wait on that future instead of computing the value again.
+ */
+public final class AsyncCaches {
+
+    private AsyncCaches() {
+    }
+
+    /**
+     * Returns the cached value for the key, or computes and caches it. A computation that throws is
+     * not remembered: its exception is thrown to the caller and to the callers waiting for it, and
+     * the next call computes again.
+     */
+    public static <K, V> V getOrCompute(AsyncCache<K, V> cache, K key, Supplier<V> computation) {
+        // getIfPresent records the hit or miss in the cache statistics, asMap() does not
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached == null) {
+            CompletableFuture<V> pending = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(key, pending);
+            if (cached == null) {
+                return compute(cache, key, pending, computation);
+            }
+        }
+        return await(cached);
+    }
+
+    private static <K, V> V compute(AsyncCache<K, V> cache, K key, CompletableFuture<V> pending,
+                                    Supplier<V> computation) {
+        try {
+            V value = computation.get();
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            cache.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.cinema.pricing.cache;
+
+import com.cinema.pricing.config.OccupancyBands;
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfigurationChangedEvent;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.config.TimeOfDayDiscounts;
+import com.cinema.pricing.decision.DecisionTrace;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.metrics.PricingMetrics.AppliedDiscounts;
+import com.cinema.pricing.promo.PromoCode;
+import com.cinema.pricing.service.PricingStrategy;
+import com.cinema.pricing.service.discount.DiscountContext;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Memoises quotes by ticket-type count vector, indexed by {@link TicketType#ordinal()}. A price only depends on how many tickets of each
+ * type a transaction has, on the time-of-day discount in effect and on the demand price factor of
+ * its showing, so common shapes such as two adults and two children are priced once per snapshot,
+ * time-of-day discount and price factor, and shared.
+ * <p>
+ * Counts are packed into a {@code long} with 16 bits per ticket type. The shapes of up to
+ * {@code pricing.cache.quotes.warm-up-max-tickets} tickets are precomputed into an immutable
+ * open-addressing table for every combination of the snapshot's time-of-day discounts and
+ * occupancy band factors, when the application starts and again for every new snapshot.
+ * The clock is only read for the table lookup when the snapshot has a calendar. Precomputing
+ * records no discount metrics; a precomputed quote records its applied discounts when served.
+ * Larger shapes, transactions still priced against an older snapshot and transactions with a
+ * promo code or seat surcharges are calculated directly. Tables are only built for the published
+ * snapshot, so transactions priced with a venue's snapshot are always calculated directly as well.
+ */
+@Slf4j
+@Component
+public class QuoteCache {
+
+    static final long NO_KEY = -1L;
+
+    private static final int BITS_PER_TYPE = 16;
+    private static final int MAX_COUNT = (1 << BITS_PER_TYPE) - 1;
+    private static final TicketType[] TICKET_TYPES = TicketType.values();
+
+    static {
+        if (TICKET_TYPES.length * BITS_PER_TYPE > Long.SIZE) {
+            throw new ExceptionInInitializerError("Ticket type counts do not fit in a long key");
+        }
+    }
+
+    // quotes list their ticket groups by display name, so groups are priced in that order
+    private static final TicketType[] TICKET_TYPES_BY_NAME = Arrays.stream(TICKET_TYPES)
+            .sorted(Comparator.comparing(TicketType::getDisplayName))
+            .toArray(TicketType[]::new);
+
+    private final PricingStrategy pricingStrategy;
+    private final PricingMetrics pricingMetrics;
+    private final PricingSnapshotHolder snapshotHolder;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int warmUpMaxTickets;
+
+    private volatile QuoteTables tables = QuoteTables.EMPTY;
+
+    public QuoteCache(PricingStrategy pricingStrategy, PricingMetrics pricingMetrics,
+                      PricingSnapshotHolder snapshotHolder, Clock clock, PricingCacheProperties properties) {
+        this.pricingStrategy = pricingStrategy;
+        this.pricingMetrics = pricingMetrics;
+        this.snapshotHolder = snapshotHolder;
+        this.clock = clock;
+        this.enabled = properties.getQuotes().isEnabled();
+        this.warmUpMaxTickets = properties.getQuotes().getWarmUpMaxTickets();
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        rebuild(snapshotHolder.current());
+    }
+
+    @EventListener
+    public void onPricingConfigurationChanged(PricingConfigurationChangedEvent event) {
+        rebuild(event.getSnapshot());
+    }
+
+    /**
+     * Returns the quote of the given ticket counts, from the table when the shape was precomputed
+     * for this snapshot, otherwise by pricing each ticket group.
+     */
+    public QuoteTemplate quote(PricingSnapshot snapshot, int[] ticketCounts) {
+        return quote(snapshot, ticketCounts, null, OccupancyBands.BASE_PRICE, null, null);
+    }
+
+    /**
+     * As {@link #quote(PricingSnapshot, int[])} for a transaction with seat surcharges per ticket
+     * type, a demand price factor, a redeemed promo code or a trace. Transactions with surcharges,
+     * a promo code or a trace are always priced in full: neither surcharges nor the promo discount
+     * are part of the shared quotes, and each discount decision of a traced transaction is recorded.
+     */
+    public QuoteTemplate quote(PricingSnapshot snapshot, int[] ticketCounts, long[] seatSurchargesCents,
+                               int priceFactorBasisPoints, PromoCode promoCode, DecisionTrace trace) {
+        if (seatSurchargesCents != null || promoCode != null || trace != null) {
+            return calculate(snapshot, ticketCounts, seatSurchargesCents, LocalDateTime.now(clock),
+                    priceFactorBasisPoints, true, promoCode, trace);
+        }
+        QuoteTables current = tables;
+        LocalDateTime transactionTime = null;
+        if (current.snapshotVersion == snapshot.getVersion()) {
+            int timeOfDayBasisPoints = TimeOfDayDiscounts.NO_DISCOUNT;
+            if (!snapshot.getTimeOfDayDiscounts().isEmpty()) {
+                transactionTime = LocalDateTime.now(clock);
+                timeOfDayBasisPoints = snapshot.getTimeOfDayDiscounts().basisPointsAt(transactionTime);
+            }
+            QuoteTemplate quote = current.get(timeOfDayBasisPoints, priceFactorBasisPoints, key(ticketCounts));
+            if (quote != null) {
+                quote.appliedDiscounts().record();
+                return quote;
+            }
+        }
+        return calculate(snapshot, ticketCounts, null,
+                transactionTime != null ? transactionTime : LocalDateTime.now(clock), priceFactorBasisPoints, true,
+                null, null);
+    }
+
+    /**
+     * Packs the ticket counts into a key with 16 bits per ticket type, by ordinal.
+     * Returns {@link #NO_KEY} when a count does not fit.
+     */
+    static long key(int[] ticketCounts) {
+        long key = 0;
+        for (int ordinal = 0; ordinal < ticketCounts.length; ordinal++) {
+            int count = ticketCounts[ordinal];
+            if (count < 0 || count > MAX_COUNT) {
+                return NO_KEY;
+            }
+            key |= (long) count << (ordinal * BITS_PER_TYPE);
+        }
+        return key;
+    }
+
+    int size() {
+        int size = 0;
+        for (QuoteTable table : tables.tables) {
+            size += table.size;
+        }
+        return size;
+    }
+
+    private void rebuild(PricingSnapshot snapshot) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<int[]> shapes = new ArrayList<>();
+        collectShapes(new int[TICKET_TYPES.length], 0, 0, shapes);
+
+        int[] timeOfDayBasisPoints = snapshot.getTimeOfDayDiscounts().distinctBasisPoints();
+        int[] priceFactors = snapshot.getOccupancyBands().distinctPriceFactors();
+        int[] rates = new int[timeOfDayBasisPoints.length * priceFactors.length];
+        QuoteTable[] rebuilt = new QuoteTable[rates.length];
+        for (int i = 0; i < rebuilt.length; i++) {
+            int discount = timeOfDayBasisPoints[i / priceFactors.length];
+            int priceFactor = priceFactors[i % priceFactors.length];
+            rates[i] = QuoteTables.rate(discount, priceFactor);
+            rebuilt[i] = new QuoteTable(shapes.size());
+            for (int[] shape : shapes) {
+                DiscountContext context = DiscountContext.forSharedQuote(snapshot, shape, discount, priceFactor);
+                rebuilt[i].put(key(shape), calculate(context, shape, false));
+            }
+        }
+        tables = new QuoteTables(snapshot.getVersion(), rates, rebuilt);
+        log.info("Precomputed {} quotes of up to {} tickets for {} time-of-day discounts and {} price factors "
+                        + "of pricing snapshot {} in {} ms", size(), warmUpMaxTickets, timeOfDayBasisPoints.length,
+                priceFactors.length, snapshot.getVersion(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void collectShapes(int[] counts, int ordinal, int tickets, List<int[]> shapes) {
+        if (ordinal == counts.length) {
+            if (tickets > 0) {
+                shapes.add(counts.clone());
+            }
+            return;
+        }
+        for (int count = 0; tickets + count <= warmUpMaxTickets; count++) {
+            counts[ordinal] = count;
+            collectShapes(counts, ordinal + 1, tickets + count, shapes);
+        }
+        counts[ordinal] = 0;
+    }
+
+    private QuoteTemplate calculate(PricingSnapshot snapshot, int[] ticketCounts, long[] seatSurchargesCents,
+                                    LocalDateTime transactionTime, int priceFactorBasisPoints, boolean record,
+                                    PromoCode promoCode, DecisionTrace trace) {
+        // the clock is read once per transaction, all ticket groups share the context
+        return calculate(DiscountContext.forTransaction(snapshot, ticketCounts, seatSurchargesCents, transactionTime,
+                priceFactorBasisPoints, promoCode, trace), ticketCounts, record);
+    }
+
+    private QuoteTemplate calculate(DiscountContext context, int[] ticketCounts, boolean record) {
+        List<TicketCalculation> ticketCalculations = new ArrayList<>(TICKET_TYPES.length);
+        for (TicketType ticketType : TICKET_TYPES_BY_NAME) {
+            int quantity = ticketCounts[ticketType.ordinal()];
+            if (quantity == 0) {
+                continue;
+            }
+            long start = System.nanoTime();
+            long cost = pricingStrategy.calculateCost(context, ticketType, quantity);
+            if (record) {
+                pricingMetrics.recordCostCalculation(ticketType, System.nanoTime() - start);
+            }
+            ticketCalculations.add(TicketCalculation.builder()
+                    .ticketType(ticketType)
+                    .quantity(quantity)
+                    .totalCostCents(cost)
+                    .build());
+        }
+        AppliedDiscounts appliedDiscounts = context.getAppliedDiscounts();
+        // the context is discarded with this transaction, so its discount totals are handed to the quote
+        return QuoteTemplate.of(ticketCalculations, context.getDiscountsCents(),
+                context.getPromoCode() != null ? context.getPromoCode().index() : TransactionCalculation.NO_PROMO_CODE,
+                appliedDiscounts != null ? appliedDiscounts : AppliedDiscounts.NONE);
+    }
+
+    /**
+     * The quote tables of one snapshot, one per combination of time-of-day discount and price factor.
+     */
+    private static final class QuoteTables {
+
+        static final QuoteTables EMPTY = new QuoteTables(-1, new int[0], new QuoteTable[0]);
+
+        final long snapshotVersion;
+        final int[] rates;
+        final QuoteTable[] tables;
+
+        QuoteTables(long snapshotVersion, int[] rates, QuoteTable[] tables) {
+            this.snapshotVersion = snapshotVersion;
+            this.rates = rates;
+            this.tables = tables;
+        }
+
+        /**
+         * Packs a time-of-day discount, at most 10 000 basis points, and a price factor, below 2^16.
+         */
+        static int rate(int timeOfDayBasisPoints, int priceFactorBasisPoints) {
+            return timeOfDayBasisPoints << 16 | priceFactorBasisPoints;
+        }
+
+        QuoteTemplate get(int timeOfDayBasisPoints, int priceFactorBasisPoints, long key) {
+            int rate = rate(timeOfDayBasisPoints, priceFactorBasisPoints);
+            // calendars and bands have a handful of distinct rates
+            for (int i = 0; i < rates.length; i++) {
+                if (rates[i] == rate) {
+                    return tables[i].get(key);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Open-addressing map from packed keys to quotes, filled once and then only read.
+     * Key 0, the empty transaction, marks a free slot.
+     */
+    private static final class QuoteTable {
+
+        final long[] keys;
+        final QuoteTemplate[] quotes;
+        final int mask;
+        int size;
+
+        QuoteTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.quotes = new QuoteTemplate[capacity];
+            this.mask = capacity - 1;
+        }
+
+        QuoteTemplate get(long key) {
+            if (key == 0 || key == NO_KEY) {
+                return null;
+            }
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+                long candidate = keys[slot];
+                if (candidate == key) {
+                    return quotes[slot];
+                }
+                if (candidate == 0) {
+                    return null;
+                }
+            }
+        }
+
+        void put(long key, QuoteTemplate quote) {
+            int slot = slot(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                size++;
+            }
+            keys[slot] = key;
+            quotes[slot] = quote;
+        }
+
+        private int slot(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.cinema.pricing.cache;
+
+import com.cinema.pricing.audit.PricingAuditJournal;
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfigurationChangedEvent;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.venue.VenuePricingRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Serialized responses of recently priced quotes, for clients such as kiosks that poll the same
+ * quote while a customer decides.
+ * <p>
+ * Responses are keyed by the canonicalised request, that is the transaction id, the customers'
+ * ages and seats in any order, the auditorium and the venue, and by everything else the price
+ * depends on: the version of the snapshot it is priced with and the time-of-day discount in effect.
+ * A hit always comes from an equal request. A 64-bit hash of the key is sent as the response's
+ * ETag, so a repeated request with {@code If-None-Match} is answered without pricing or serializing
+ * it while its response is cached, and repeats without it skip both too. Requests with a promo code
+ * or a showing redeem the code or sell seats when priced, so they are never cached.
+ * The calculation is kept with the bytes, so that every answer from the cache, 304s included, is
+ * journaled by the {@link PricingAuditJournal} like a quote that was priced.
+ * Hit, miss and eviction statistics are exported as {@code cache.*} metrics.
+ */
+@Component
+public class QuoteResponseCache {
+
+    private static final String CACHE_NAME = "pricing.responses";
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String ANY_ETAG = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private final PricingSnapshotHolder snapshotHolder;
+    private final VenuePricingRegistry venuePricingRegistry;
+    private final Clock clock;
+    private final boolean enabled;
+    private final PricingAuditJournal auditJournal;
+    private final Cache<Key, CachedQuote> responses;
+
+    public QuoteResponseCache(PricingSnapshotHolder snapshotHolder, VenuePricingRegistry venuePricingRegistry,
+                              Clock clock, PricingAuditJournal auditJournal, PricingCacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        PricingCacheProperties.CacheSettings settings = properties.getResponses();
+        this.snapshotHolder = snapshotHolder;
+        this.venuePricingRegistry = venuePricingRegistry;
+        this.clock = clock;
+        this.auditJournal = auditJournal;
+        this.enabled = settings.isEnabled();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    }
+
+    /**
+     * Returns the key of the request's response, or {@code null} when the response must not be cached.
+     *
+     * @throws IllegalArgumentException when the request's venue cannot be priced
+     */
+    public Key key(TransactionRequest transaction) {
+        if (!enabled || transaction.getTransactionId() == null
+                || transaction.getPromoCode() != null || transaction.getShowingId() != null) {
+            return null;
+        }
+        PricingSnapshot snapshot = transaction.getVenueId() != null
+                ? venuePricingRegistry.snapshot(transaction.getVenueId())
+                : snapshotHolder.current();
+        return new Key(snapshot, snapshot.getTimeOfDayDiscounts().basisPointsAt(LocalDateTime.now(clock)),
+                transaction.getTransactionId(), TransactionResultCache.sortedCustomers(transaction.getCustomers()),
+                transaction.getAuditoriumId(), transaction.getVenueId());
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value lists the entity tag, compared weakly.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(etag) || tag.equals(ANY_ETAG)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the serialized response of an equal request, journaling it as quoted again, or null.
+     */
+    public byte[] get(Key key) {
+        CachedQuote quote = responses.getIfPresent(key);
+        if (quote == null) {
+            return null;
+        }
+        auditJournal.append(key.snapshot, quote.calculation());
+        return quote.json();
+    }
+
+    /**
+     * Keeps the serialized response of a quote priced, and journaled, for the key.
+     */
+    public void put(Key key, TransactionCalculation calculation, byte[] response) {
+        responses.put(key, new CachedQuote(calculation, response));
+    }
+
+    @EventListener
+    public void onPricingConfigurationChanged(PricingConfigurationChangedEvent event) {
+        // keys of the old snapshot are never built again
+        responses.invalidateAll();
+    }
+
+    private static long hash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long combine(long hash, long value) {
+        return mix(hash ^ value) * FNV_PRIME;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb53fe1a85ec3L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private record CachedQuote(TransactionCalculation calculation, byte[] json) {
+    }
+
+    /**
+     * The canonicalised request and pricing a response depends on. Customers are packed and sorted
+     * as by {@link TransactionResultCache}, so their order and names do not matter.
+     */
+    public static final class Key {
+
+        // journaled with the quotes served for the key, compared by version
+        private final PricingSnapshot snapshot;
+        private final long snapshotVersion;
+        private final int timeOfDayBasisPoints;
+        private final long transactionId;
+        private final long[] customers;
+        private final String auditoriumId;
+        private final String venueId;
+        private final long fingerprint;
+
+        private Key(PricingSnapshot snapshot, int timeOfDayBasisPoints, long transactionId, long[] customers,
+                    String auditoriumId, String venueId) {
+            this.snapshot = snapshot;
+            this.snapshotVersion = snapshot.getVersion();
+            this.timeOfDayBasisPoints = timeOfDayBasisPoints;
+            this.transactionId = transactionId;
+            this.customers = customers;
+            this.auditoriumId = auditoriumId;
+            this.venueId = venueId;
+
+            long hash = combine(FNV_OFFSET_BASIS, snapshotVersion);
+            hash = combine(hash, timeOfDayBasisPoints);
+            hash = combine(hash, transactionId);
+            hash = combine(hash, customers.length);
+            for (long customer : customers) {
+                hash = combine(hash, customer);
+            }
+            hash = combine(hash, hash(auditoriumId));
+            this.fingerprint = combine(hash, hash(venueId));
+        }
+
+        /**
+         * The entity tag of the response, a hash of the key. Equal tags do not make equal keys,
+         * so a tag is only answered with 304 when the response of an equal key is cached.
+         */
+        public String etag() {
+            return '"' + Long.toHexString(fingerprint) + '"';
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && fingerprint == key.fingerprint
+                    && snapshotVersion == key.snapshotVersion
+                    && timeOfDayBasisPoints == key.timeOfDayBasisPoints
+                    && transactionId == key.transactionId
+                    && Arrays.equals(customers, key.customers)
+                    && Objects.equals(auditoriumId, key.auditoriumId)
+                    && Objects.equals(venueId, key.venueId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cinema.pricing.cache;
+
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.metrics.PricingMetrics.AppliedDiscounts;
+
+import java.util.List;
+
+/**
+ * The priced ticket groups of one ticket-type count vector, shared by every transaction
+ * with the same counts. Only the transaction id differs between those transactions.
+ * Precomputed quotes keep their applied discounts, to record them each time they are served.
+ * The discounts per {@link DiscountType} and the promo code index are kept for the audit journal.
+ */
+public record QuoteTemplate(List<TicketCalculation> ticketCalculations, long totalCostCents,
+                            long[] discountsCents, int promoCodeIndex, AppliedDiscounts appliedDiscounts) {
+
+    private static final long[] NO_DISCOUNTS = new long[DiscountType.values().length];
+
+    public static QuoteTemplate of(List<TicketCalculation> ticketCalculations) {
+        return of(ticketCalculations, NO_DISCOUNTS, TransactionCalculation.NO_PROMO_CODE, AppliedDiscounts.NONE);
+    }
+
+    /**
+     * The discounts are taken over, not copied: they must not be changed once the quote is built.
+     */
+    public static QuoteTemplate of(List<TicketCalculation> ticketCalculations, long[] discountsCents,
+                                   int promoCodeIndex, AppliedDiscounts appliedDiscounts) {
+        long totalCostCents = 0;
+        for (TicketCalculation ticketCalculation : ticketCalculations) {
+            totalCostCents += ticketCalculation.getTotalCostCents();
+        }
+        return new QuoteTemplate(List.copyOf(ticketCalculations), totalCostCents, discountsCents, promoCodeIndex,
+                appliedDiscounts);
+    }
+
+    public TransactionCalculation forTransaction(Long transactionId) {
+        return TransactionCalculation.builder()
+                .transactionId(transactionId)
+                .ticketCalculations(ticketCalculations)
+                .totalCostCents(totalCostCents)
+                .discountsCents(discountsCents)
+                .promoCodeIndex(promoCodeIndex)
+                .build();
+    }
+}
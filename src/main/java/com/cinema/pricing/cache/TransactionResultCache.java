@@ -0,0 +1,136 @@
+package com.cinema.pricing.cache;
+
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfigurationChangedEvent;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.SeatMaps;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.TransactionRequest;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of priced transactions, so that clients retrying a transaction with
+ * the same customers, seats, showing and promo code get the earlier result instead of pricing it
+ * again. Retries that miss it, such as traced ones or those after a reload, are priced again, but
+ * the promo code catalogue and the occupancy tracker remember each transaction's redemption and sale.
+ * Keys include the snapshot version and the cache is cleared when a new snapshot is published.
+ * Hit, miss and eviction statistics are exported as {@code cache.*} metrics.
+ */
+@Slf4j
+@Component
+public class TransactionResultCache {
+
+    private static final String CACHE_NAME = "pricing.transactions";
+
+    private final boolean enabled;
+    private final AsyncCache<Key, TransactionCalculation> cache;
+
+    public TransactionResultCache(PricingCacheProperties properties, MeterRegistry meterRegistry) {
+        PricingCacheProperties.CacheSettings settings = properties.getTransactions();
+        this.enabled = settings.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTimeToLive())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached result for the transaction, or computes and caches it.
+     * Concurrent retries of the same transaction wait for a single calculation, which runs outside
+     * the cache's locks, see {@link AsyncCaches}.
+     */
+    public TransactionCalculation get(PricingSnapshot snapshot, TransactionRequest transaction,
+                                      Supplier<TransactionCalculation> calculation) {
+        if (!enabled || transaction.getTransactionId() == null) {
+            return calculation.get();
+        }
+        return AsyncCaches.getOrCompute(cache, new Key(snapshot.getVersion(), transaction.getTransactionId(),
+                        sortedCustomers(transaction.getCustomers()), transaction.getAuditoriumId(),
+                        transaction.getShowingId(), transaction.getPromoCode()),
+                calculation);
+    }
+
+    @EventListener
+    public void onPricingConfigurationChanged(PricingConfigurationChangedEvent event) {
+        log.info("Pricing snapshot {} published, clearing {} cached transactions",
+                event.getSnapshot().getVersion(), cache.synchronous().estimatedSize());
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Packs each customer's age into the upper half of a long and their seat into the lower half:
+     * 0 without a seat, the packed seat position + 1, or -1 for a seat that is not a valid label.
+     */
+    static long[] sortedCustomers(List<Customer> customers) {
+        long[] packed = new long[customers.size()];
+        for (int i = 0; i < packed.length; i++) {
+            Customer customer = customers.get(i);
+            int seat = 0;
+            if (customer.getSeat() != null) {
+                int position = SeatMaps.seatPosition(customer.getSeat());
+                seat = position != SeatMaps.INVALID_SEAT ? position + 1 : -1;
+            }
+            packed[i] = (long) customer.getAge() << 32 | (seat & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    /**
+     * The price only depends on the ages and seats, not on the customers' order, so customers are
+     * kept sorted.
+     */
+    private static final class Key {
+
+        private final long snapshotVersion;
+        private final long transactionId;
+        private final long[] customers;
+        private final String auditoriumId;
+        private final String showingId;
+        private final String promoCode;
+        private final int hash;
+
+        private Key(long snapshotVersion, long transactionId, long[] customers, String auditoriumId,
+                    String showingId, String promoCode) {
+            this.snapshotVersion = snapshotVersion;
+            this.transactionId = transactionId;
+            this.customers = customers;
+            this.auditoriumId = auditoriumId;
+            this.showingId = showingId;
+            this.promoCode = promoCode;
+            this.hash = 31 * (31 * (31 * (31 * (31 * Long.hashCode(snapshotVersion) + Long.hashCode(transactionId))
+                    + Arrays.hashCode(customers)) + Objects.hashCode(auditoriumId)) + Objects.hashCode(showingId))
+                    + Objects.hashCode(promoCode);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && snapshotVersion == key.snapshotVersion
+                    && transactionId == key.transactionId
+                    && Arrays.equals(customers, key.customers)
+                    && Objects.equals(auditoriumId, key.auditoriumId)
+                    && Objects.equals(showingId, key.showingId)
+                    && Objects.equals(promoCode, key.promoCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
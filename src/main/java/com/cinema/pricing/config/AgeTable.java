@@ -0,0 +1,115 @@
+package com.cinema.pricing.config;
+
+import com.cinema.pricing.domain.TicketType;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable age to {@link TicketType} lookup compiled from the configured {@link AgeRange}s.
+ * Ages are stored in a dense array indexed by age, so a lookup is a single array read.
+ * A range reaching beyond {@link #MAX_TABLE_AGE} is treated as open-ended.
+ * Tables are equal when they map every age to the same ticket type.
+ */
+public final class AgeTable {
+
+    static final int MAX_TABLE_AGE = 150;
+
+    private final TicketType[] typesByAge;
+    private final TicketType openEndedType;
+    private final int openEndedMax;
+
+    private AgeTable(TicketType[] typesByAge, TicketType openEndedType, int openEndedMax) {
+        this.typesByAge = typesByAge;
+        this.openEndedType = openEndedType;
+        this.openEndedMax = openEndedMax;
+    }
+
+    /**
+     * Compiles the configured ranges, failing fast on unknown ticket types, invalid bounds,
+     * overlapping ranges or ages that no range covers.
+     */
+    public static AgeTable compile(Map<String, AgeRange> ageRanges) {
+        if (ageRanges == null || ageRanges.isEmpty()) {
+            throw new IllegalStateException("No age ranges configured");
+        }
+
+        int tableMax = 0;
+        for (Map.Entry<String, AgeRange> entry : ageRanges.entrySet()) {
+            AgeRange range = entry.getValue();
+            if (range == null || range.getMin() < 0 || range.getMin() > range.getMax()) {
+                throw new IllegalStateException("Invalid age range for " + entry.getKey() + ": " + range);
+            }
+            if (range.getMin() > MAX_TABLE_AGE) {
+                throw new IllegalStateException("Age range for " + entry.getKey()
+                        + " must start at or below " + MAX_TABLE_AGE + ": " + range);
+            }
+            tableMax = Math.max(tableMax, Math.min(range.getMax(), MAX_TABLE_AGE));
+        }
+
+        TicketType[] typesByAge = new TicketType[tableMax + 1];
+        TicketType openEndedType = null;
+        int openEndedMax = tableMax;
+        for (Map.Entry<String, AgeRange> entry : ageRanges.entrySet()) {
+            TicketType ticketType = toTicketType(entry.getKey());
+            AgeRange range = entry.getValue();
+            for (int age = range.getMin(); age <= Math.min(range.getMax(), tableMax); age++) {
+                if (typesByAge[age] != null) {
+                    throw new IllegalStateException("Age range for " + entry.getKey() + " (" + range
+                            + ") overlaps " + typesByAge[age].name().toLowerCase(Locale.ROOT) + " at age " + age);
+                }
+                typesByAge[age] = ticketType;
+            }
+            if (range.getMax() > tableMax) {
+                openEndedType = ticketType;
+                openEndedMax = range.getMax();
+            }
+        }
+
+        for (int age = 0; age <= tableMax; age++) {
+            if (typesByAge[age] == null) {
+                throw new IllegalStateException("No age range configured for age " + age);
+            }
+        }
+        return new AgeTable(typesByAge, openEndedType, openEndedMax);
+    }
+
+    /**
+     * Returns the ticket type for a non-negative age, or {@code null} when no range covers it.
+     */
+    public TicketType lookup(int age) {
+        if (age < typesByAge.length) {
+            return typesByAge[age];
+        }
+        return age <= openEndedMax ? openEndedType : null;
+    }
+
+    private static TicketType toTicketType(String key) {
+        try {
+            return TicketType.valueOf(key.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Unknown ticket type in age ranges: " + key, ex);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AgeTable table
+                && openEndedMax == table.openEndedMax
+                && openEndedType == table.openEndedType
+                && Arrays.equals(typesByAge, table.typesByAge);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(typesByAge) + Objects.hashCode(openEndedType)) + openEndedMax;
+    }
+
+    @Override
+    public String toString() {
+        return "AgeTable[0-" + (typesByAge.length - 1)
+                + (openEndedType != null ? ", " + openEndedType + " up to " + openEndedMax : "") + "]";
+    }
+}
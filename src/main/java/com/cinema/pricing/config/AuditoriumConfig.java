@@ -0,0 +1,14 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class AuditoriumConfig {
+    // rows from A, one seat category code per seat from number 1 and '.' where there is no seat, e.g., "SSPP.PPSS"
+    private List<String> rows = new ArrayList<>();
+}
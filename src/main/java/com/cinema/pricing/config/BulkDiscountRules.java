@@ -0,0 +1,138 @@
+package com.cinema.pricing.config;
+
+import com.cinema.pricing.domain.TicketType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable per-{@link TicketType} bulk discount tiers compiled from {@link BulkDiscountConfig} entries.
+ * Tiers are pre-sorted by priority and then by descending quantity threshold, so finding the
+ * applicable rate is a scan over a few array slots with no string comparisons.
+ * Rules are equal when they have the same tiers in the same order.
+ */
+public final class BulkDiscountRules {
+
+    public static final double NO_RATE = -1.0;
+
+    private static final int[] NO_THRESHOLDS = new int[0];
+
+    private final EnumMap<TicketType, int[]> thresholds;
+    private final EnumMap<TicketType, double[]> rates;
+
+    private BulkDiscountRules(EnumMap<TicketType, int[]> thresholds, EnumMap<TicketType, double[]> rates) {
+        this.thresholds = thresholds;
+        this.rates = rates;
+    }
+
+    public static BulkDiscountRules compile(List<BulkDiscountConfig> bulkDiscounts) {
+        EnumMap<TicketType, List<BulkDiscountConfig>> rulesByType = new EnumMap<>(TicketType.class);
+        for (BulkDiscountConfig rule : bulkDiscounts) {
+            validate(rule);
+            rulesByType.computeIfAbsent(toTicketType(rule.getTicketType()), type -> new ArrayList<>()).add(rule);
+        }
+
+        EnumMap<TicketType, int[]> thresholds = new EnumMap<>(TicketType.class);
+        EnumMap<TicketType, double[]> rates = new EnumMap<>(TicketType.class);
+        for (Map.Entry<TicketType, List<BulkDiscountConfig>> entry : rulesByType.entrySet()) {
+            List<BulkDiscountConfig> tiers = entry.getValue();
+            tiers.sort(Comparator.comparingInt(BulkDiscountConfig::getPriority)
+                    .thenComparingInt(BulkDiscountConfig::getQuantity)
+                    .reversed());
+
+            int[] tierThresholds = new int[tiers.size()];
+            double[] tierRates = new double[tiers.size()];
+            for (int i = 0; i < tiers.size(); i++) {
+                tierThresholds[i] = tiers.get(i).getQuantity();
+                tierRates[i] = tiers.get(i).getDiscountRate();
+            }
+            thresholds.put(entry.getKey(), tierThresholds);
+            rates.put(entry.getKey(), tierRates);
+        }
+        return new BulkDiscountRules(thresholds, rates);
+    }
+
+    public boolean hasRules(TicketType ticketType) {
+        return thresholds.containsKey(ticketType);
+    }
+
+    /**
+     * Returns the discount rate of the first tier whose threshold the quantity reaches,
+     * or {@link #NO_RATE} when none does.
+     */
+    public double rateFor(TicketType ticketType, int quantity) {
+        int[] tierThresholds = thresholds.getOrDefault(ticketType, NO_THRESHOLDS);
+        for (int i = 0; i < tierThresholds.length; i++) {
+            if (quantity >= tierThresholds[i]) {
+                return rates.get(ticketType)[i];
+            }
+        }
+        return NO_RATE;
+    }
+
+    private static void validate(BulkDiscountConfig rule) {
+        if (rule.getTicketType() == null) {
+            throw new IllegalStateException("Bulk discount rule is missing a ticket type");
+        }
+        if (rule.getQuantity() < 1) {
+            throw new IllegalStateException("Bulk discount quantity for " + rule.getTicketType()
+                    + " must be at least 1: " + rule.getQuantity());
+        }
+        if (rule.getDiscountRate() < 0 || rule.getDiscountRate() > 1) {
+            throw new IllegalStateException("Bulk discount rate for " + rule.getTicketType()
+                    + " must be between 0 and 1: " + rule.getDiscountRate());
+        }
+    }
+
+    private static TicketType toTicketType(String key) {
+        try {
+            return TicketType.valueOf(key.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Unknown ticket type in bulk discounts: " + key, ex);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof BulkDiscountRules rules) || !thresholds.keySet().equals(rules.thresholds.keySet())) {
+            return false;
+        }
+        for (TicketType ticketType : thresholds.keySet()) {
+            if (!Arrays.equals(thresholds.get(ticketType), rules.thresholds.get(ticketType))
+                    || !Arrays.equals(rates.get(ticketType), rules.rates.get(ticketType))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (TicketType ticketType : thresholds.keySet()) {
+            hash += ticketType.hashCode() ^ (31 * Arrays.hashCode(thresholds.get(ticketType))
+                    + Arrays.hashCode(rates.get(ticketType)));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BulkDiscountRules[");
+        thresholds.forEach((type, tierThresholds) -> {
+            for (int i = 0; i < tierThresholds.length; i++) {
+                sb.append(type).append(' ').append(tierThresholds[i]).append("+ @ ")
+                        .append(rates.get(type)[i]).append(", ");
+            }
+        });
+        if (sb.charAt(sb.length() - 1) == ' ') {
+            sb.setLength(sb.length() - 2);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.cinema.pricing.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * The clock transactions are priced at; tests replace it with a fixed clock.
+     */
+    @Bean
+    public Clock pricingClock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -1,5 +1,6 @@
 package com.cinema.pricing.config;
 
+import com.cinema.pricing.domain.Money;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -8,14 +9,28 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
+/**
+ * Writes doubles with two fraction digits. Amounts that are a whole number of cents, which is
+ * every amount produced by the pricing engine, are formatted directly from their {@link Money}
+ * representation without creating a {@link BigDecimal}.
+ */
 public class DoubleSerializer extends JsonSerializer<Double> {
 
     @Override
     public void serialize(Double value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         if (value == null) {
             gen.writeNull();
+            return;
+        }
+
+        double amount = value;
+        long cents = Math.round(amount * 100.0);
+        if (Money.toMajor(cents) == amount) {
+            char[] buffer = new char[Money.MAX_DECIMAL_CHARS];
+            int offset = Money.formatDecimal(cents, buffer);
+            gen.writeNumber(buffer, offset, buffer.length - offset);
         } else {
-            BigDecimal bd = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal bd = BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
             gen.writeNumber(bd);
         }
     }
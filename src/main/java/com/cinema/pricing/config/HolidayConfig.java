@@ -0,0 +1,13 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class HolidayConfig {
+    // yyyy-MM-dd
+    private String date;
+    // the day of week whose schedule applies on the holiday, or NONE for no time-of-day discount
+    private String pricedAs = "SUNDAY";
+}
@@ -0,0 +1,19 @@
+package com.cinema.pricing.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * Keeps the application's own beans, and so everything the pricing path injects, eager when
+     * {@code spring.main.lazy-initialization} is on, as in the production profile. Beans nothing
+     * on that path needs, such as springdoc's, are only created when first used, or never.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter pricingPathLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType.getName().startsWith("com.cinema.pricing.");
+    }
+}
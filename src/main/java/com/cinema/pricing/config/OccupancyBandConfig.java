@@ -0,0 +1,13 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class OccupancyBandConfig {
+    // share of the showing's seats sold from which the band applies, e.g., 0.80
+    private double fromOccupancy;
+    // multiplies the base prices, e.g., 1.20 for 20% surge or 0.90 for 10% off
+    private double priceFactor;
+}
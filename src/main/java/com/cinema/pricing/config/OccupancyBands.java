@@ -0,0 +1,116 @@
+package com.cinema.pricing.config;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable demand pricing bands compiled from {@link OccupancyBandConfig} entries and the number
+ * of seats per showing. Band thresholds are converted to seat counts up front and sorted from the
+ * fullest band down, so finding the price factor of a showing is a scan over a few array slots.
+ * Factors are kept in basis points, {@link #BASE_PRICE} leaves base prices unchanged.
+ * Bands are equal when they have the same thresholds and factors.
+ */
+public final class OccupancyBands {
+
+    public static final int BASE_PRICE = 10_000;
+
+    static final OccupancyBands NONE = new OccupancyBands(new long[0], new int[0]);
+
+    private static final int MAX_PRICE_FACTOR = 65_535;
+
+    private final long[] seatThresholds;
+    private final int[] priceFactors;
+
+    private OccupancyBands(long[] seatThresholds, int[] priceFactors) {
+        this.seatThresholds = seatThresholds;
+        this.priceFactors = priceFactors;
+    }
+
+    public static OccupancyBands compile(int seatsPerShowing, List<OccupancyBandConfig> bands) {
+        if (bands.isEmpty()) {
+            return NONE;
+        }
+        if (seatsPerShowing < 1) {
+            throw new IllegalStateException("Seats per showing must be at least 1: " + seatsPerShowing);
+        }
+        bands.forEach(OccupancyBands::validate);
+        List<OccupancyBandConfig> sorted = bands.stream()
+                .sorted(Comparator.comparingDouble(OccupancyBandConfig::getFromOccupancy).reversed())
+                .toList();
+
+        long[] seatThresholds = new long[sorted.size()];
+        int[] priceFactors = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            seatThresholds[i] = (long) Math.ceil(sorted.get(i).getFromOccupancy() * seatsPerShowing);
+            priceFactors[i] = (int) Math.round(sorted.get(i).getPriceFactor() * BASE_PRICE);
+            if (i > 0 && seatThresholds[i] == seatThresholds[i - 1]) {
+                throw new IllegalStateException("Occupancy bands from " + sorted.get(i).getFromOccupancy()
+                        + " and " + sorted.get(i - 1).getFromOccupancy() + " start at the same seat");
+            }
+        }
+        return new OccupancyBands(seatThresholds, priceFactors);
+    }
+
+    public boolean isEmpty() {
+        return seatThresholds.length == 0;
+    }
+
+    /**
+     * Returns the price factor in basis points of a showing with the given number of seats sold,
+     * or {@link #BASE_PRICE} when no band applies.
+     */
+    public int priceFactorBasisPoints(long seatsSold) {
+        for (int i = 0; i < seatThresholds.length; i++) {
+            if (seatsSold >= seatThresholds[i]) {
+                return priceFactors[i];
+            }
+        }
+        return BASE_PRICE;
+    }
+
+    /**
+     * Every price factor the bands can yield, including {@link #BASE_PRICE}, in ascending order.
+     */
+    public int[] distinctPriceFactors() {
+        int[] factors = Arrays.copyOf(priceFactors, priceFactors.length + 1);
+        factors[priceFactors.length] = BASE_PRICE;
+        return Arrays.stream(factors).distinct().sorted().toArray();
+    }
+
+    private static void validate(OccupancyBandConfig band) {
+        if (band.getFromOccupancy() < 0 || band.getFromOccupancy() > 1) {
+            throw new IllegalStateException("Occupancy band must start between 0 and 1: " + band.getFromOccupancy());
+        }
+        long factor = Math.round(band.getPriceFactor() * BASE_PRICE);
+        if (factor <= 0 || factor > MAX_PRICE_FACTOR) {
+            throw new IllegalStateException("Price factor of occupancy band from " + band.getFromOccupancy()
+                    + " must be above 0 and at most " + MAX_PRICE_FACTOR / (double) BASE_PRICE + ": "
+                    + band.getPriceFactor());
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof OccupancyBands bands
+                && Arrays.equals(seatThresholds, bands.seatThresholds)
+                && Arrays.equals(priceFactors, bands.priceFactors);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(seatThresholds) + Arrays.hashCode(priceFactors);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("OccupancyBands[");
+        for (int i = 0; i < seatThresholds.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(seatThresholds[i]).append("+ seats @ x").append(priceFactors[i] / (double) BASE_PRICE);
+        }
+        return sb.append(']').toString();
+    }
+}
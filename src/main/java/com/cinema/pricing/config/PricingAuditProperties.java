@@ -0,0 +1,23 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.audit")
+@Getter
+@Setter
+public class PricingAuditProperties {
+
+    // directory of the journal's segment files; quotes are not journaled when unset
+    private String directory;
+    // size of each memory-mapped segment file, rounded down to whole records; at most 2GB
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    // how often written records are forced to disk, records since the last flush may be lost on a crash
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
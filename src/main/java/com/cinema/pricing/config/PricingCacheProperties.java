@@ -0,0 +1,48 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.cache")
+@Getter
+@Setter
+public class PricingCacheProperties {
+
+    // results of retried transactions, keyed by transaction id and customer ages
+    private CacheSettings transactions = new CacheSettings(10_000, Duration.ofMinutes(5));
+
+    // serialized responses of quotes polled by clients, keyed by canonicalised request
+    private CacheSettings responses = new CacheSettings(10_000, Duration.ofMinutes(1));
+
+    // quotes shared by all transactions with the same ticket-type counts
+    private QuoteSettings quotes = new QuoteSettings();
+
+    @Getter
+    @Setter
+    public static class CacheSettings {
+        private boolean enabled = true;
+        private long maximumSize;
+        private Duration timeToLive;
+
+        public CacheSettings() {
+        }
+
+        public CacheSettings(long maximumSize, Duration timeToLive) {
+            this.maximumSize = maximumSize;
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class QuoteSettings {
+        private boolean enabled = true;
+        // shapes of up to this many tickets are precomputed for every snapshot
+        private int warmUpMaxTickets = 10;
+    }
+}
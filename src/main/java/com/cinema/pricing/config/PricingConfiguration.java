@@ -21,8 +21,14 @@ public class PricingConfiguration {
     private double teenBasePrice = 15.00;
     private double childrenBasePrice = 5.00;
     private double seniorDiscountRate = 0.30;
+    private int seatsPerShowing = 200;
 
     private Map<String, AgeRange> ageRanges = new HashMap<>();
     private List<BulkDiscountConfig> bulkDiscounts = new ArrayList<>();
+    private List<TimeOfDayDiscountConfig> timeOfDayDiscounts = new ArrayList<>();
+    private List<HolidayConfig> holidays = new ArrayList<>();
+    private List<OccupancyBandConfig> occupancyBands = new ArrayList<>();
+    private List<SeatCategoryConfig> seatCategories = new ArrayList<>();
+    private Map<String, AuditoriumConfig> auditoriums = new HashMap<>();
 }
 
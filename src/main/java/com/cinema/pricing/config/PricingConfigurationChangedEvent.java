@@ -0,0 +1,19 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a new {@link PricingSnapshot} has been swapped in, so that components caching
+ * results derived from the previous rules can drop them.
+ */
+@Getter
+public class PricingConfigurationChangedEvent extends ApplicationEvent {
+
+    private final PricingSnapshot snapshot;
+
+    public PricingConfigurationChangedEvent(Object source, PricingSnapshot snapshot) {
+        super(source);
+        this.snapshot = snapshot;
+    }
+}
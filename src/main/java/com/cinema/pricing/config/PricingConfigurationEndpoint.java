@@ -0,0 +1,45 @@
+package com.cinema.pricing.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {@code /actuator/pricing}: shows the active snapshot and, on POST, reloads the pricing
+ * configuration from {@code pricing.reload.file} or the environment. A reload that compiles to
+ * the active rules keeps the snapshot and the caches.
+ * <p>
+ * The endpoint is not exposed by default: a reload rebuilds every quote table, so expose it only
+ * on a separate {@code management.server.port} that clients cannot reach.
+ */
+@Component
+@Endpoint(id = "pricing")
+@RequiredArgsConstructor
+public class PricingConfigurationEndpoint {
+
+    private final PricingSnapshotHolder snapshotHolder;
+    private final PricingConfigurationLoader configurationLoader;
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        return describe(snapshotHolder.current());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() throws IOException {
+        return describe(snapshotHolder.publishIfChanged(configurationLoader.load(),
+                configurationLoader.currentSource()));
+    }
+
+    private Map<String, Object> describe(PricingSnapshot snapshot) {
+        return Map.of(
+                "version", snapshot.getVersion(),
+                "source", snapshot.getSource(),
+                "rules", snapshot.toString());
+    }
+}
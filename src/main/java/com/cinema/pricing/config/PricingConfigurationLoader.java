@@ -0,0 +1,57 @@
+package com.cinema.pricing.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Binds a fresh {@link PricingConfiguration} from a file or the environment,
+ * using the same relaxed binding rules as {@code @ConfigurationProperties}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingConfigurationLoader {
+
+    private static final String PREFIX = "pricing";
+
+    private final Environment environment;
+    private final PricingReloadProperties reloadProperties;
+
+    /**
+     * Loads from the configured reload file, or from the environment when none is configured.
+     */
+    public PricingConfiguration load() throws IOException {
+        return reloadProperties.getFile() != null
+                ? loadFromFile(Path.of(reloadProperties.getFile()))
+                : loadFromEnvironment();
+    }
+
+    public String currentSource() {
+        return reloadProperties.getFile() != null ? reloadProperties.getFile() : "application";
+    }
+
+    public PricingConfiguration loadFromEnvironment() {
+        return Binder.get(environment).bindOrCreate(PREFIX, PricingConfiguration.class);
+    }
+
+    public PricingConfiguration loadFromFile(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        PropertySourceLoader loader = fileName.endsWith(".properties")
+                ? new PropertiesPropertySourceLoader()
+                : new YamlPropertySourceLoader();
+        List<PropertySource<?>> propertySources = loader.load(fileName, new FileSystemResource(file));
+        return new Binder(ConfigurationPropertySources.from(propertySources))
+                .bindOrCreate(PREFIX, PricingConfiguration.class);
+    }
+}
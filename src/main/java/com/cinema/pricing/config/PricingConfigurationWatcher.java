@@ -0,0 +1,83 @@
+package com.cinema.pricing.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls {@code pricing.reload.file} and publishes a new snapshot whenever it changes.
+ * The file is loaded once at startup so that a broken file fails fast; later broken edits are
+ * logged and the current snapshot stays in place.
+ * Polling runs on a virtual thread when {@code spring.threads.virtual.enabled} is set.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pricing.reload", name = "file")
+@RequiredArgsConstructor
+public class PricingConfigurationWatcher {
+
+    private final PricingReloadProperties reloadProperties;
+    private final PricingConfigurationLoader configurationLoader;
+    private final PricingSnapshotHolder snapshotHolder;
+    private final Environment environment;
+
+    private ScheduledExecutorService executor;
+    private Path file;
+    private long lastModified;
+
+    @PostConstruct
+    public void start() throws IOException {
+        file = Path.of(reloadProperties.getFile());
+        lastModified = Files.getLastModifiedTime(file).toMillis();
+        snapshotHolder.publish(configurationLoader.loadFromFile(file), file.toString());
+
+        executor = Executors.newSingleThreadScheduledExecutor(threadFactory());
+        long interval = reloadProperties.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Watching {} for pricing changes every {}", file, reloadProperties.getPollInterval());
+    }
+
+    private ThreadFactory threadFactory() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name("pricing-config-watcher").factory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pricing-config-watcher");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    void poll() {
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (modified == lastModified) {
+                return;
+            }
+            lastModified = modified;
+            snapshotHolder.publish(configurationLoader.loadFromFile(file), file.toString());
+        } catch (Exception ex) {
+            log.error("Keeping current pricing snapshot, failed to reload {}: {}", file, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.decisions")
+@Getter
+@Setter
+public class PricingDecisionProperties {
+
+    private boolean enabled = true;
+    // share of transactions whose decisions are recorded, traced transactions are always recorded
+    private double sampleRate = 0.001;
+    // events waiting to be written, rounded up to a power of two; events are dropped when it is full
+    private int bufferSize = 8192;
+}
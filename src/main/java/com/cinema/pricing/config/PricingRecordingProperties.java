@@ -0,0 +1,23 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.recording")
+@Getter
+@Setter
+public class PricingRecordingProperties {
+
+    // JDK settings the pricing events are added to: "default" (about 1% overhead) or "profile"
+    private String settings = "default";
+    // events older than this are dropped from a running recording, unless overridden when it is started
+    private Duration maxAge = Duration.ofMinutes(10);
+    // size of the recording on disk beyond which the oldest events are dropped
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+}
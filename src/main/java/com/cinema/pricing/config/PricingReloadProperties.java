@@ -0,0 +1,19 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.reload")
+@Getter
+@Setter
+public class PricingReloadProperties {
+
+    // YAML or .properties file holding "pricing.*" settings that overrides application.yaml when set
+    private String file;
+    private Duration pollInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,151 @@
+package com.cinema.pricing.config;
+
+import com.cinema.pricing.domain.Money;
+import com.cinema.pricing.domain.TicketType;
+import com.github.benmanes.caffeine.cache.Interner;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable pricing rules compiled from one {@link PricingConfiguration}: base prices in cents,
+ * the age table, bulk discount tiers, the senior discount rate, the time-of-day discount calendar,
+ * the occupancy bands of demand pricing and the auditoriums' seat maps.
+ * A request reads one snapshot up front and prices everything against it, so a concurrent
+ * reload can never mix rules from two configurations.
+ * <p>
+ * Compiled rules are interned: snapshots with equal age tables, bulk discount tiers, calendars,
+ * occupancy bands or seat maps share one instance of them, so memory grows with the number of distinct rule
+ * sets rather than with the number of venues.
+ */
+@Getter
+public final class PricingSnapshot {
+
+    // weak, so rule sets no snapshot uses any more can be collected
+    private static final Interner<Object> RULES = Interner.newWeakInterner();
+
+    private final long version;
+    private final String source;
+    private final AgeTable ageTable;
+    private final BulkDiscountRules bulkDiscountRules;
+    private final double seniorDiscountRate;
+    private final TimeOfDayDiscounts timeOfDayDiscounts;
+    private final OccupancyBands occupancyBands;
+    private final SeatMaps seatMaps;
+
+    @Getter(AccessLevel.NONE)
+    private final long[] basePricesCents;
+
+    private PricingSnapshot(long version, String source, long[] basePricesCents, AgeTable ageTable,
+                            BulkDiscountRules bulkDiscountRules, double seniorDiscountRate,
+                            TimeOfDayDiscounts timeOfDayDiscounts, OccupancyBands occupancyBands,
+                            SeatMaps seatMaps) {
+        this.version = version;
+        this.source = source;
+        this.basePricesCents = basePricesCents;
+        this.ageTable = ageTable;
+        this.bulkDiscountRules = bulkDiscountRules;
+        this.seniorDiscountRate = seniorDiscountRate;
+        this.timeOfDayDiscounts = timeOfDayDiscounts;
+        this.occupancyBands = occupancyBands;
+        this.seatMaps = seatMaps;
+    }
+
+    /**
+     * Compiles the configuration without modifying it. Missing age ranges and bulk discounts fall
+     * back to the defaults; any invalid rule fails with an {@link IllegalStateException}.
+     */
+    public static PricingSnapshot compile(PricingConfiguration config, long version, String source) {
+        long[] basePricesCents = new long[TicketType.values().length];
+        for (TicketType ticketType : TicketType.values()) {
+            double basePrice = configuredPrice(config, ticketType);
+            if (basePrice < 0) {
+                throw new IllegalStateException("Base price for " + ticketType + " cannot be negative: " + basePrice);
+            }
+            basePricesCents[ticketType.ordinal()] = Money.ofMajor(basePrice);
+        }
+        if (config.getSeniorDiscountRate() < 0 || config.getSeniorDiscountRate() > 1) {
+            throw new IllegalStateException("Senior discount rate must be between 0 and 1: "
+                    + config.getSeniorDiscountRate());
+        }
+
+        Map<String, AgeRange> ageRanges = config.getAgeRanges().isEmpty()
+                ? defaultAgeRanges()
+                : config.getAgeRanges();
+        List<BulkDiscountConfig> bulkDiscounts = config.getBulkDiscounts().isEmpty()
+                ? List.of(defaultBulkDiscount())
+                : config.getBulkDiscounts();
+
+        return new PricingSnapshot(version, source, basePricesCents, intern(AgeTable.compile(ageRanges)),
+                intern(BulkDiscountRules.compile(bulkDiscounts)), config.getSeniorDiscountRate(),
+                intern(TimeOfDayDiscounts.compile(config.getTimeOfDayDiscounts(), config.getHolidays())),
+                intern(OccupancyBands.compile(config.getSeatsPerShowing(), config.getOccupancyBands())),
+                intern(SeatMaps.compile(config.getSeatCategories(), config.getAuditoriums())));
+    }
+
+    public long getBasePriceCents(TicketType ticketType) {
+        return basePricesCents[ticketType.ordinal()];
+    }
+
+    /**
+     * Whether both snapshots price every transaction the same, whatever their versions and sources.
+     */
+    public boolean hasSameRules(PricingSnapshot other) {
+        return Arrays.equals(basePricesCents, other.basePricesCents)
+                && Double.compare(seniorDiscountRate, other.seniorDiscountRate) == 0
+                && ageTable.equals(other.ageTable)
+                && bulkDiscountRules.equals(other.bulkDiscountRules)
+                && timeOfDayDiscounts.equals(other.timeOfDayDiscounts)
+                && occupancyBands.equals(other.occupancyBands)
+                && seatMaps.equals(other.seatMaps);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T intern(T rules) {
+        return (T) RULES.intern(rules);
+    }
+
+    private static double configuredPrice(PricingConfiguration config, TicketType ticketType) {
+        return switch (ticketType) {
+            case ADULT -> config.getAdultBasePrice();
+            case SENIOR -> config.getSeniorBasePrice();
+            case TEEN -> config.getTeenBasePrice();
+            case CHILDREN -> config.getChildrenBasePrice();
+        };
+    }
+
+    private static Map<String, AgeRange> defaultAgeRanges() {
+        Map<String, AgeRange> ageRanges = new LinkedHashMap<>();
+        ageRanges.put(TicketType.CHILDREN.name().toLowerCase(), createAgeRange(0, 10));
+        ageRanges.put(TicketType.TEEN.name().toLowerCase(), createAgeRange(11, 17));
+        ageRanges.put(TicketType.ADULT.name().toLowerCase(), createAgeRange(18, 64));
+        ageRanges.put(TicketType.SENIOR.name().toLowerCase(), createAgeRange(65, Integer.MAX_VALUE));
+        return ageRanges;
+    }
+
+    private static AgeRange createAgeRange(int min, int max) {
+        AgeRange range = new AgeRange();
+        range.setMin(min);
+        range.setMax(max);
+        return range;
+    }
+
+    private static BulkDiscountConfig defaultBulkDiscount() {
+        // children: 3+ tickets @ 25% off
+        BulkDiscountConfig defaultRule = new BulkDiscountConfig();
+        defaultRule.setTicketType("children");
+        defaultRule.setQuantity(3);
+        defaultRule.setDiscountRate(0.25);
+        return defaultRule;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingSnapshot[version=" + version + ", source=" + source + ", " + ageTable + ", "
+                + bulkDiscountRules + ", " + timeOfDayDiscounts + ", " + occupancyBands + ", " + seatMaps + "]";
+    }
+}
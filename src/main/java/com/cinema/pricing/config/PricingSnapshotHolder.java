@@ -0,0 +1,72 @@
+package com.cinema.pricing.config;
+
+import com.cinema.pricing.jfr.SnapshotPublishedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes the current {@link PricingSnapshot} through a single volatile reference.
+ * Readers never lock; reloads compile a complete snapshot before swapping it in,
+ * so an invalid configuration leaves the current snapshot in place.
+ * Publishers are serialised with a {@link ReentrantLock} rather than {@code synchronized},
+ * so a reload running on a virtual thread does not pin its carrier while listeners rebuild.
+ */
+@Slf4j
+@Component
+public class PricingSnapshotHolder {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    private volatile PricingSnapshot current;
+
+    public PricingSnapshotHolder(PricingConfiguration config, ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        this.current = PricingSnapshot.compile(config, 1, "application");
+        log.info("Compiled {}", current);
+    }
+
+    public PricingSnapshot current() {
+        return current;
+    }
+
+    public PricingSnapshot publish(PricingConfiguration config, String source) {
+        publishLock.lock();
+        try {
+            SnapshotPublishedEvent event = new SnapshotPublishedEvent();
+            event.begin();
+            long previousVersion = current.getVersion();
+            PricingSnapshot snapshot = PricingSnapshot.compile(config, previousVersion + 1, source);
+            current = snapshot;
+            log.info("Published {}", snapshot);
+
+            eventPublisher.publishEvent(new PricingConfigurationChangedEvent(this, snapshot));
+            event.published(previousVersion, snapshot.getVersion(), source);
+            return snapshot;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * As {@link #publish}, but keeps the current snapshot, without a new version or an event that
+     * clears the caches, when the configuration compiles to the same rules.
+     */
+    public PricingSnapshot publishIfChanged(PricingConfiguration config, String source) {
+        publishLock.lock();
+        try {
+            PricingSnapshot unchanged = current;
+            if (PricingSnapshot.compile(config, unchanged.getVersion(), source).hasSameRules(unchanged)) {
+                log.info("Configuration from {} is unchanged, keeping {}", source, unchanged);
+                return unchanged;
+            }
+            return publish(config, source);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.promo-codes")
+@Getter
+@Setter
+public class PromoCodeProperties {
+
+    // catalogue of "code,discount-rate,max-redemptions" lines; no promo code is accepted when unset
+    private String file;
+    // Bloom filter size per code, 10 bits give about 1% false positives
+    private int bloomFilterBitsPerCode = 10;
+    // how long a transaction's redemption is remembered, so that retries of it do not redeem the code again
+    private Duration retryWindow = Duration.ofHours(1);
+    // upper bound of remembered redemptions, the oldest are forgotten first
+    private long maximumRememberedRedemptions = 100_000;
+}
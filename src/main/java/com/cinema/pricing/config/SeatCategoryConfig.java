@@ -0,0 +1,15 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SeatCategoryConfig {
+    // e.g., standard, premium or recliner
+    private String name;
+    // single character marking the category's seats in auditorium rows, e.g., P
+    private String code;
+    // added to the ticket type's price, e.g., 3.00
+    private double surcharge;
+}
@@ -0,0 +1,217 @@
+package com.cinema.pricing.config;
+
+import com.cinema.pricing.domain.Money;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable seat maps of the auditoriums, compiled from {@link AuditoriumConfig} rows and the
+ * {@link SeatCategoryConfig} surcharges.
+ * Each auditorium is one flat, row-major byte matrix of seat category indexes, so the category of
+ * a seat is a single array read, and surcharges are kept in cents by category index.
+ * Seats are labelled with a row of one or two letters, A to ZZ, and a number from 1, e.g. {@code C12}.
+ */
+public final class SeatMaps {
+
+    public static final int INVALID_SEAT = -1;
+    public static final int NO_SEAT = -1;
+
+    static final SeatMaps NONE = new SeatMaps(new long[0], Map.of());
+
+    private static final char NO_SEAT_CODE = '.';
+    private static final int LETTERS = 26;
+    private static final int MAX_ROWS = LETTERS + LETTERS * LETTERS;
+    private static final int MAX_SEAT_NUMBER = 999;
+    private static final int ROW_SHIFT = 16;
+    private static final int NUMBER_MASK = (1 << ROW_SHIFT) - 1;
+
+    private final long[] surchargesCents;
+    private final Map<String, SeatMap> auditoriums;
+
+    private SeatMaps(long[] surchargesCents, Map<String, SeatMap> auditoriums) {
+        this.surchargesCents = surchargesCents;
+        this.auditoriums = auditoriums;
+    }
+
+    public static SeatMaps compile(List<SeatCategoryConfig> categories, Map<String, AuditoriumConfig> auditoriums) {
+        if (auditoriums.isEmpty()) {
+            return NONE;
+        }
+        if (categories.size() > Byte.MAX_VALUE) {
+            throw new IllegalStateException("At most " + Byte.MAX_VALUE + " seat categories are supported");
+        }
+        long[] surchargesCents = new long[categories.size()];
+        Map<Character, Byte> categoriesByCode = new HashMap<>();
+        for (int i = 0; i < categories.size(); i++) {
+            SeatCategoryConfig category = categories.get(i);
+            char code = validate(category);
+            if (categoriesByCode.put(code, (byte) i) != null) {
+                throw new IllegalStateException("Seat category code " + code + " is used twice");
+            }
+            surchargesCents[i] = Money.ofMajor(category.getSurcharge());
+        }
+
+        Map<String, SeatMap> seatMaps = new HashMap<>();
+        auditoriums.forEach((auditoriumId, auditorium) ->
+                seatMaps.put(auditoriumId, compile(auditoriumId, auditorium, categoriesByCode)));
+        return new SeatMaps(surchargesCents, Map.copyOf(seatMaps));
+    }
+
+    public boolean isEmpty() {
+        return auditoriums.isEmpty();
+    }
+
+    /**
+     * Returns the seat map of the auditorium, or {@code null} when it has none.
+     */
+    public SeatMap auditorium(String auditoriumId) {
+        return auditoriums.get(auditoriumId);
+    }
+
+    public long surchargeCents(int category) {
+        return surchargesCents[category];
+    }
+
+    /**
+     * Parses a seat label into its row index and number, packed as {@code row << 16 | number},
+     * or returns {@link #INVALID_SEAT}. Does not allocate.
+     */
+    public static int seatPosition(CharSequence label) {
+        int length = label.length();
+        int letters = 0;
+        while (letters < length && letters < 2 && isRowLetter(label.charAt(letters))) {
+            letters++;
+        }
+        if (letters == 0 || length - letters < 1 || length - letters > 3) {
+            return INVALID_SEAT;
+        }
+        int row = letters == 1
+                ? label.charAt(0) - 'A'
+                : LETTERS + (label.charAt(0) - 'A') * LETTERS + (label.charAt(1) - 'A');
+        int number = 0;
+        for (int i = letters; i < length; i++) {
+            char c = label.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID_SEAT;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number > 0 ? row << ROW_SHIFT | number : INVALID_SEAT;
+    }
+
+    private static SeatMap compile(String auditoriumId, AuditoriumConfig auditorium,
+                                   Map<Character, Byte> categoriesByCode) {
+        List<String> rows = auditorium.getRows();
+        if (rows.isEmpty() || rows.size() > MAX_ROWS) {
+            throw new IllegalStateException("Auditorium " + auditoriumId + " must have 1 to " + MAX_ROWS + " rows");
+        }
+        int columns = 0;
+        for (String row : rows) {
+            columns = Math.max(columns, row.length());
+        }
+        if (columns > MAX_SEAT_NUMBER) {
+            throw new IllegalStateException("Auditorium " + auditoriumId + " has rows longer than "
+                    + MAX_SEAT_NUMBER + " seats");
+        }
+
+        byte[] categories = new byte[rows.size() * columns];
+        Arrays.fill(categories, (byte) NO_SEAT);
+        for (int row = 0; row < rows.size(); row++) {
+            String codes = rows.get(row);
+            for (int column = 0; column < codes.length(); column++) {
+                char code = codes.charAt(column);
+                if (code == NO_SEAT_CODE) {
+                    continue;
+                }
+                Byte category = categoriesByCode.get(code);
+                if (category == null) {
+                    throw new IllegalStateException("Unknown seat category code " + code + " in row " + (row + 1)
+                            + " of auditorium " + auditoriumId);
+                }
+                categories[row * columns + column] = category;
+            }
+        }
+        return new SeatMap(categories, rows.size(), columns);
+    }
+
+    private static char validate(SeatCategoryConfig category) {
+        String code = category.getCode();
+        if (code == null || code.length() != 1 || code.charAt(0) == NO_SEAT_CODE) {
+            throw new IllegalStateException("Seat category " + category.getName()
+                    + " needs a single character code other than '" + NO_SEAT_CODE + "': " + code);
+        }
+        if (category.getSurcharge() < 0) {
+            throw new IllegalStateException("Surcharge for seat category " + category.getName()
+                    + " cannot be negative: " + category.getSurcharge());
+        }
+        return code.charAt(0);
+    }
+
+    private static boolean isRowLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SeatMaps seatMaps
+                && Arrays.equals(surchargesCents, seatMaps.surchargesCents)
+                && auditoriums.equals(seatMaps.auditoriums);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(surchargesCents) + auditoriums.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SeatMaps[auditoriums=" + auditoriums.size() + ", surcharges=" + Arrays.toString(surchargesCents) + "c]";
+    }
+
+    /**
+     * The seat categories of one auditorium.
+     */
+    public static final class SeatMap {
+
+        private final byte[] categories;
+        private final int rows;
+        private final int columns;
+
+        private SeatMap(byte[] categories, int rows, int columns) {
+            this.categories = categories;
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        /**
+         * Returns the category index of the seat at a {@link SeatMaps#seatPosition packed position},
+         * or {@link #NO_SEAT} when the auditorium has no such seat.
+         */
+        public int category(int position) {
+            if (position == INVALID_SEAT) {
+                return NO_SEAT;
+            }
+            int row = position >>> ROW_SHIFT;
+            int number = position & NUMBER_MASK;
+            if (row >= rows || number > columns) {
+                return NO_SEAT;
+            }
+            return categories[row * columns + number - 1];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SeatMap seatMap
+                    && columns == seatMap.columns
+                    && Arrays.equals(categories, seatMap.categories);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(categories) + columns;
+        }
+    }
+}
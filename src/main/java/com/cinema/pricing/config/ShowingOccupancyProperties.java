@@ -0,0 +1,22 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.showings")
+@Getter
+@Setter
+public class ShowingOccupancyProperties {
+
+    // a showing without sales for this long is over and its seat count is dropped
+    private Duration expireAfterIdle = Duration.ofHours(6);
+    // upper bound of tracked showings, the least recently sold are dropped first
+    private long maximumShowings = 100_000;
+    // upper bound of sales remembered per transaction id, so that retries do not sell their seats again
+    private long maximumRememberedSales = 1_000_000;
+}
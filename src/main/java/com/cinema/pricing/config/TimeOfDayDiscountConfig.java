@@ -0,0 +1,21 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class TimeOfDayDiscountConfig {
+    // e.g., matinee or off-peak
+    private String name;
+    // MONDAY to SUNDAY, every day when empty
+    private List<String> days = new ArrayList<>();
+    // HH:mm, the end is exclusive and an end not after the start runs into the next day
+    private String start;
+    private String end;
+    //e.g., 0.20 for 20% off
+    private double discountRate;
+}
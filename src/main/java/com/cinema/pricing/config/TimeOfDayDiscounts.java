@@ -0,0 +1,194 @@
+package com.cinema.pricing.config;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable weekly calendar of time-of-day discounts compiled from {@link TimeOfDayDiscountConfig}
+ * schedules and {@link HolidayConfig} overrides.
+ * Every minute of the week maps to a discount in basis points in one flat 7×1440 array, so the
+ * rate of a transaction is a single array index; where schedules overlap the larger discount wins.
+ * A holiday is priced with the row of another day of week, or without time-of-day discount.
+ * Calendars are equal when every minute and holiday is priced the same; the hash is computed once,
+ * as calendars are compared when {@link PricingSnapshot}s share them.
+ */
+public final class TimeOfDayDiscounts {
+
+    public static final int NO_DISCOUNT = 0;
+
+    static final TimeOfDayDiscounts NONE = new TimeOfDayDiscounts(null, Map.of(), new int[]{NO_DISCOUNT});
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int BASIS_POINTS = 10_000;
+    // holiday without time-of-day discount
+    private static final int NO_DISCOUNT_DAY = -1;
+    private static final String NO_DISCOUNT_HOLIDAY = "NONE";
+
+    // null when no schedule is configured
+    private final short[] basisPointsByMinute;
+    private final Map<LocalDate, Integer> holidayDays;
+    private final int[] distinctBasisPoints;
+    private final int hash;
+
+    private TimeOfDayDiscounts(short[] basisPointsByMinute, Map<LocalDate, Integer> holidayDays,
+                               int[] distinctBasisPoints) {
+        this.basisPointsByMinute = basisPointsByMinute;
+        this.holidayDays = holidayDays;
+        this.distinctBasisPoints = distinctBasisPoints;
+        this.hash = 31 * Arrays.hashCode(basisPointsByMinute) + holidayDays.hashCode();
+    }
+
+    public static TimeOfDayDiscounts compile(List<TimeOfDayDiscountConfig> schedules, List<HolidayConfig> holidays) {
+        if (schedules.isEmpty()) {
+            return NONE;
+        }
+        short[] basisPointsByMinute = new short[DAYS_PER_WEEK * MINUTES_PER_DAY];
+        for (TimeOfDayDiscountConfig schedule : schedules) {
+            int basisPoints = validate(schedule);
+            int start = toMinuteOfDay(schedule, schedule.getStart());
+            int end = toMinuteOfDay(schedule, schedule.getEnd());
+            // an end not after the start runs into the next day
+            int length = end > start ? end - start : end + MINUTES_PER_DAY - start;
+            for (DayOfWeek day : days(schedule)) {
+                int first = day.ordinal() * MINUTES_PER_DAY + start;
+                for (int i = 0; i < length; i++) {
+                    int minute = (first + i) % basisPointsByMinute.length;
+                    if (basisPoints > basisPointsByMinute[minute]) {
+                        basisPointsByMinute[minute] = (short) basisPoints;
+                    }
+                }
+            }
+        }
+
+        Map<LocalDate, Integer> holidayDays = new HashMap<>();
+        for (HolidayConfig holiday : holidays) {
+            if (holidayDays.put(toDate(holiday), toHolidayDay(holiday)) != null) {
+                throw new IllegalStateException("Holiday " + holiday.getDate() + " is configured twice");
+            }
+        }
+
+        // minutes without discount remain on holidays priced as NONE, even if every minute has one
+        int[] distinctBasisPoints = new int[basisPointsByMinute.length + 1];
+        for (int i = 0; i < basisPointsByMinute.length; i++) {
+            distinctBasisPoints[i + 1] = basisPointsByMinute[i];
+        }
+        return new TimeOfDayDiscounts(basisPointsByMinute, Map.copyOf(holidayDays),
+                Arrays.stream(distinctBasisPoints).distinct().sorted().toArray());
+    }
+
+    public boolean isEmpty() {
+        return basisPointsByMinute == null;
+    }
+
+    /**
+     * Returns the time-of-day discount in basis points at the given time, or {@link #NO_DISCOUNT}.
+     * Does not allocate.
+     */
+    public int basisPointsAt(LocalDateTime time) {
+        if (basisPointsByMinute == null) {
+            return NO_DISCOUNT;
+        }
+        int day = time.getDayOfWeek().ordinal();
+        if (!holidayDays.isEmpty()) {
+            Integer holidayDay = holidayDays.get(time.toLocalDate());
+            if (holidayDay != null) {
+                if (holidayDay == NO_DISCOUNT_DAY) {
+                    return NO_DISCOUNT;
+                }
+                day = holidayDay;
+            }
+        }
+        return basisPointsByMinute[day * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute()];
+    }
+
+    /**
+     * Every discount the calendar can yield, including {@link #NO_DISCOUNT}, in ascending order.
+     */
+    public int[] distinctBasisPoints() {
+        return distinctBasisPoints.clone();
+    }
+
+    private static int validate(TimeOfDayDiscountConfig schedule) {
+        if (schedule.getStart() == null || schedule.getEnd() == null) {
+            throw new IllegalStateException("Time-of-day discount " + schedule.getName() + " needs a start and an end");
+        }
+        if (schedule.getDiscountRate() <= 0 || schedule.getDiscountRate() > 1) {
+            throw new IllegalStateException("Time-of-day discount rate for " + schedule.getName()
+                    + " must be above 0 and at most 1: " + schedule.getDiscountRate());
+        }
+        return (int) Math.round(schedule.getDiscountRate() * BASIS_POINTS);
+    }
+
+    private static int toMinuteOfDay(TimeOfDayDiscountConfig schedule, String time) {
+        try {
+            LocalTime localTime = LocalTime.parse(time);
+            return localTime.getHour() * 60 + localTime.getMinute();
+        } catch (DateTimeException ex) {
+            throw new IllegalStateException("Invalid time in time-of-day discount " + schedule.getName()
+                    + ", expected HH:mm: " + time, ex);
+        }
+    }
+
+    private static List<DayOfWeek> days(TimeOfDayDiscountConfig schedule) {
+        if (schedule.getDays().isEmpty()) {
+            return List.of(DayOfWeek.values());
+        }
+        return schedule.getDays().stream()
+                .map(day -> toDayOfWeek(day, "time-of-day discount " + schedule.getName()))
+                .toList();
+    }
+
+    private static LocalDate toDate(HolidayConfig holiday) {
+        try {
+            return LocalDate.parse(holiday.getDate());
+        } catch (DateTimeException | NullPointerException ex) {
+            throw new IllegalStateException("Invalid holiday date, expected yyyy-MM-dd: " + holiday.getDate(), ex);
+        }
+    }
+
+    private static int toHolidayDay(HolidayConfig holiday) {
+        if (NO_DISCOUNT_HOLIDAY.equalsIgnoreCase(holiday.getPricedAs())) {
+            return NO_DISCOUNT_DAY;
+        }
+        return toDayOfWeek(holiday.getPricedAs(), "holiday " + holiday.getDate()).ordinal();
+    }
+
+    private static DayOfWeek toDayOfWeek(String key, String owner) {
+        try {
+            return DayOfWeek.valueOf(key.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalStateException("Unknown day of week in " + owner + ": " + key, ex);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TimeOfDayDiscounts discounts
+                && hash == discounts.hash
+                && Arrays.equals(basisPointsByMinute, discounts.basisPointsByMinute)
+                && holidayDays.equals(discounts.holidayDays);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        if (basisPointsByMinute == null) {
+            return "TimeOfDayDiscounts[]";
+        }
+        return "TimeOfDayDiscounts[rates=" + Arrays.toString(distinctBasisPoints) + "bp, holidays="
+                + holidayDays.size() + "]";
+    }
+}
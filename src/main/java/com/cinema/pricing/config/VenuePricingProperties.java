@@ -0,0 +1,24 @@
+package com.cinema.pricing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pricing.venues")
+@Getter
+@Setter
+public class VenuePricingProperties {
+
+    // directory of "<venue-id>.yaml" (or .yml, .properties) files with "pricing.*" settings; venue ids are rejected when unset
+    private String directory;
+    // upper bound of compiled venues in memory, the least recently priced are re-read from their file when needed
+    private long maximumVenues = 10_000;
+    // a venue without transactions for this long is dropped, so edits to its file are picked up
+    private Duration expireAfterIdle = Duration.ofHours(1);
+    // a venue id without a file is remembered as unknown for this long, so repeated requests do not probe the directory
+    private Duration unknownVenueExpiry = Duration.ofSeconds(30);
+}
@@ -0,0 +1,32 @@
+package com.cinema.pricing.decision;
+
+import com.cinema.pricing.domain.TicketType;
+
+/**
+ * A preallocated slot of the {@link DecisionRingBuffer}, overwritten for every event it carries.
+ */
+final class DecisionEvent {
+
+    enum Kind {
+        DISCOUNT, TRANSACTION
+    }
+
+    // sequence of the event the slot holds once it is published
+    volatile long publishedSequence = -1;
+    long claimedSequence;
+
+    Kind kind;
+    long timestampMillis;
+    Long transactionId;
+    long snapshotVersion;
+    boolean traced;
+
+    TicketType ticketType;
+    int quantity;
+    long baseTotalCostCents;
+    String discountType;
+    boolean applied;
+    long discountCents;
+
+    long totalCostCents;
+}
@@ -0,0 +1,65 @@
+package com.cinema.pricing.decision;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated {@link DecisionEvent} slots.
+ * Producers claim a slot with a CAS on the claim sequence and never block; when the consumer
+ * falls a full ring behind, {@link #claim()} returns {@code null} and the event is dropped.
+ */
+final class DecisionRingBuffer {
+
+    private final DecisionEvent[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    DecisionRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+        this.slots = new DecisionEvent[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new DecisionEvent();
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claims the next slot, or returns {@code null} when the ring is full.
+     * The caller fills the slot and then {@link #publish publishes} it.
+     */
+    DecisionEvent claim() {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                return null;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        DecisionEvent event = slots[(int) sequence & mask];
+        event.claimedSequence = sequence;
+        return event;
+    }
+
+    void publish(DecisionEvent event) {
+        event.publishedSequence = event.claimedSequence;
+    }
+
+    /**
+     * Returns the next published event without consuming it, or {@code null}.
+     * Only the consumer thread may call this and {@link #release()}.
+     */
+    DecisionEvent peek() {
+        long next = consumed;
+        DecisionEvent event = slots[(int) next & mask];
+        return event.publishedSequence == next ? event : null;
+    }
+
+    void release() {
+        consumed = consumed + 1;
+    }
+}
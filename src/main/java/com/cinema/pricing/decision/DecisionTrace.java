@@ -0,0 +1,58 @@
+package com.cinema.pricing.decision;
+
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountStrategy;
+
+/**
+ * Records the pricing decisions of one sampled or traced transaction.
+ * Only created for transactions that are recorded, so unrecorded transactions pay nothing.
+ */
+public final class DecisionTrace {
+
+    private final PricingDecisionRecorder recorder;
+    private final Long transactionId;
+    private final long snapshotVersion;
+    private final boolean traced;
+
+    DecisionTrace(PricingDecisionRecorder recorder, Long transactionId, long snapshotVersion, boolean traced) {
+        this.recorder = recorder;
+        this.transactionId = transactionId;
+        this.snapshotVersion = snapshotVersion;
+        this.traced = traced;
+    }
+
+    public void discountEvaluated(DiscountContext context, DiscountStrategy strategy, long discountCents) {
+        DecisionEvent event = recorder.claim(this, DecisionEvent.Kind.DISCOUNT);
+        if (event == null) {
+            return;
+        }
+        event.ticketType = context.getTicketType();
+        event.quantity = context.getQuantity();
+        event.baseTotalCostCents = context.getBaseTotalCostCents();
+        event.discountType = strategy.getDiscountType();
+        event.applied = discountCents != DiscountStrategy.NOT_APPLIED;
+        event.discountCents = Math.max(discountCents, 0);
+        recorder.publish(event);
+    }
+
+    public void transactionPriced(long totalCostCents) {
+        DecisionEvent event = recorder.claim(this, DecisionEvent.Kind.TRANSACTION);
+        if (event == null) {
+            return;
+        }
+        event.totalCostCents = totalCostCents;
+        recorder.publish(event);
+    }
+
+    Long getTransactionId() {
+        return transactionId;
+    }
+
+    long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    boolean isTraced() {
+        return traced;
+    }
+}
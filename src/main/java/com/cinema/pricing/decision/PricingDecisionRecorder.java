@@ -0,0 +1,167 @@
+package com.cinema.pricing.decision;
+
+import com.cinema.pricing.config.PricingDecisionProperties;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.domain.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, sampled stream of pricing decisions, replacing per-request log lines.
+ * <p>
+ * A share of transactions ({@code pricing.decisions.sample-rate}), and every transaction sent
+ * with the {@code X-Pricing-Trace} header, get a {@link DecisionTrace} that records each discount
+ * evaluation and the priced total. Request threads only fill preallocated slots of a
+ * {@link DecisionRingBuffer}; a background writer formats them as JSON lines on the
+ * {@code pricing.decisions} logger, which logback-spring.xml routes through an async appender.
+ * When the writer falls behind, events are dropped and counted rather than slowing pricing down.
+ */
+@Slf4j
+@Component
+public class PricingDecisionRecorder {
+
+    private static final Logger DECISION_LOG = LoggerFactory.getLogger("pricing.decisions");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final DecisionRingBuffer ringBuffer;
+    private final Counter recordedCounter;
+    private final Counter droppedCounter;
+    private final StringBuilder line = new StringBuilder(256);
+    private final char[] amountBuffer = new char[Money.MAX_DECIMAL_CHARS];
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PricingDecisionRecorder(PricingDecisionProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.sampleRate = properties.getSampleRate();
+        this.ringBuffer = new DecisionRingBuffer(properties.getBufferSize());
+        this.recordedCounter = Counter.builder("pricing.decisions.recorded")
+                .description("Pricing decision events handed to the decision log")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("pricing.decisions.dropped")
+                .description("Pricing decision events dropped because the decision log fell behind")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeEvents, "pricing-decision-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Recording pricing decisions of {}% of transactions and of traced transactions, buffer of {} events",
+                sampleRate * 100, ringBuffer.capacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Returns a trace when the transaction is to be recorded, because it was traced by the client
+     * or sampled, otherwise {@code null}.
+     */
+    public DecisionTrace startTrace(PricingSnapshot snapshot, Long transactionId, boolean traced) {
+        if (!enabled) {
+            return null;
+        }
+        if (!traced && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return null;
+        }
+        return new DecisionTrace(this, transactionId, snapshot.getVersion(), traced);
+    }
+
+    DecisionEvent claim(DecisionTrace trace, DecisionEvent.Kind kind) {
+        DecisionEvent event = ringBuffer.claim();
+        if (event == null) {
+            droppedCounter.increment();
+            return null;
+        }
+        event.kind = kind;
+        event.timestampMillis = System.currentTimeMillis();
+        event.transactionId = trace.getTransactionId();
+        event.snapshotVersion = trace.getSnapshotVersion();
+        event.traced = trace.isTraced();
+        return event;
+    }
+
+    void publish(DecisionEvent event) {
+        ringBuffer.publish(event);
+        recordedCounter.increment();
+    }
+
+    private void writeEvents() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Writes every published event, returning whether there was any.
+     */
+    boolean drain() {
+        boolean wrote = false;
+        DecisionEvent event;
+        while ((event = ringBuffer.peek()) != null) {
+            if (DECISION_LOG.isInfoEnabled()) {
+                DECISION_LOG.info(format(event));
+            }
+            ringBuffer.release();
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    String format(DecisionEvent event) {
+        line.setLength(0);
+        line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.timestampMillis))
+                .append("\",\"event\":\"").append(event.kind == DecisionEvent.Kind.DISCOUNT ? "discount" : "transaction")
+                .append("\",\"transactionId\":").append(event.transactionId)
+                .append(",\"snapshotVersion\":").append(event.snapshotVersion)
+                .append(",\"trigger\":\"").append(event.traced ? "traced" : "sampled").append('"');
+        if (event.kind == DecisionEvent.Kind.DISCOUNT) {
+            line.append(",\"ticketType\":\"").append(event.ticketType)
+                    .append("\",\"quantity\":").append(event.quantity)
+                    .append(",\"baseTotalCost\":");
+            appendAmount(event.baseTotalCostCents);
+            line.append(",\"discountType\":\"").append(event.discountType)
+                    .append("\",\"applied\":").append(event.applied)
+                    .append(",\"discount\":");
+            appendAmount(event.discountCents);
+        } else {
+            line.append(",\"totalCost\":");
+            appendAmount(event.totalCostCents);
+        }
+        return line.append('}').toString();
+    }
+
+    private void appendAmount(long cents) {
+        int start = Money.formatDecimal(cents, amountBuffer);
+        line.append(amountBuffer, start, amountBuffer.length - start);
+    }
+}
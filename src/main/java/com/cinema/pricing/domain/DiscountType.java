@@ -0,0 +1,30 @@
+package com.cinema.pricing.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The kinds of discount a transaction is audited with, by the code their strategies report.
+ * The audit journal records an amount per ordinal, so new types are only ever appended.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DiscountType {
+    BULK("BULK DISCOUNT"),
+    SENIOR("SENIOR_DISCOUNT"),
+    TIME_OF_DAY("TIME_OF_DAY_DISCOUNT"),
+    PROMO_CODE("PROMO_CODE_DISCOUNT"),
+    // a strategy whose code is none of the above
+    OTHER("OTHER");
+
+    private final String code;
+
+    public static DiscountType of(String code) {
+        for (DiscountType discountType : values()) {
+            if (discountType.code.equals(code)) {
+                return discountType;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,84 @@
+package com.cinema.pricing.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents).
+ * Amounts stay primitive on the pricing path, so arithmetic is exact and allocation-free;
+ * conversion from and to decimals happens only at the configuration and API boundaries.
+ */
+public final class Money {
+
+    /**
+     * Large enough for any {@code long} amount in cents, including sign and decimal point.
+     */
+    public static final int MAX_DECIMAL_CHARS = 22;
+
+    private static final long CENTS_PER_UNIT = 100;
+    private static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a configured decimal amount to cents, rounding half up. Not meant for the hot path.
+     */
+    public static long ofMajor(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static double toMajor(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * Returns {@code rate} of the amount, rounded half up to the cent.
+     * The rate is applied with basis point (0.01%) precision so the result is exact.
+     */
+    public static long discount(long cents, double rate) {
+        return basisPointsOf(cents, Math.round(rate * BASIS_POINTS));
+    }
+
+    /**
+     * Returns {@code basisPoints} (0.01%) of the amount, rounded half up to the cent;
+     * 10 000 basis points are the whole amount.
+     *
+     * @throws ArithmeticException when the amount is too large to be multiplied by the basis points
+     */
+    public static long basisPointsOf(long cents, long basisPoints) {
+        return Math.addExact(Math.multiplyExact(cents, basisPoints), BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    /**
+     * Writes the amount as a plain decimal with two fraction digits into the tail of the buffer
+     * and returns the offset of its first character.
+     */
+    public static int formatDecimal(long cents, char[] buffer) {
+        long remaining = Math.absExact(cents);
+        int pos = buffer.length;
+        long fraction = remaining % CENTS_PER_UNIT;
+        buffer[--pos] = (char) ('0' + fraction % 10);
+        buffer[--pos] = (char) ('0' + fraction / 10);
+        buffer[--pos] = '.';
+        remaining /= CENTS_PER_UNIT;
+        do {
+            buffer[--pos] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (cents < 0) {
+            buffer[--pos] = '-';
+        }
+        return pos;
+    }
+
+    public static String toString(long cents) {
+        char[] buffer = new char[MAX_DECIMAL_CHARS];
+        int offset = formatDecimal(cents, buffer);
+        return new String(buffer, offset, buffer.length - offset);
+    }
+}
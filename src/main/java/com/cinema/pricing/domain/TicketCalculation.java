@@ -8,7 +8,7 @@ import lombok.Value;
 public class TicketCalculation {
     TicketType ticketType;
     int quantity;
-    double totalCost;
+    long totalCostCents;
     boolean discountApplied;
 
     public String getTicketTypeName() {
@@ -1,7 +1,6 @@
 package com.cinema.pricing.domain;
 
 import lombok.Builder;
-import lombok.Singular;
 import lombok.Value;
 
 import java.util.List;
@@ -9,10 +8,20 @@ import java.util.List;
 @Value
 @Builder
 public class TransactionCalculation {
+
+    public static final int NO_PROMO_CODE = -1;
+
     Long transactionId;
 
-    @Singular
+    // shared with the quote it was priced from, so it is not copied
     List<TicketCalculation> ticketCalculations;
 
-    double totalCost;
+    long totalCostCents;
+
+    // by DiscountType ordinal, summed over the ticket groups; null when unknown, shared like the tickets
+    long[] discountsCents;
+
+    // position of the redeemed promo code in its catalogue
+    @Builder.Default
+    int promoCodeIndex = NO_PROMO_CODE;
 }
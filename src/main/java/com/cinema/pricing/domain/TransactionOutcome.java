@@ -0,0 +1,25 @@
+package com.cinema.pricing.domain;
+
+import lombok.Value;
+
+/**
+ * Result of pricing one transaction of a batch: either a calculation or the reason it failed.
+ */
+@Value
+public class TransactionOutcome {
+    Long transactionId;
+    TransactionCalculation calculation;
+    String errorMessage;
+
+    public static TransactionOutcome success(TransactionCalculation calculation) {
+        return new TransactionOutcome(calculation.getTransactionId(), calculation, null);
+    }
+
+    public static TransactionOutcome failure(Long transactionId, String errorMessage) {
+        return new TransactionOutcome(transactionId, null, errorMessage);
+    }
+
+    public boolean isSuccess() {
+        return calculation != null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.cinema.pricing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@link com.cinema.pricing.service.discount.DiscountStrategy} evaluated for a ticket group.
+ * Cached quotes are not re-evaluated, so only quote cache misses and traced transactions emit it.
+ */
+@Name("com.cinema.pricing.DiscountEvaluated")
+@Label("Discount Evaluated")
+@Category({"Cinema", "Pricing"})
+@Description("A discount strategy evaluated for the tickets of one type in a transaction")
+@Enabled(false)
+@StackTrace(false)
+public class DiscountEvaluatedEvent extends Event {
+
+    @Label("Discount Type")
+    private String discountType;
+
+    @Label("Ticket Type")
+    private String ticketType;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Applied")
+    private boolean applied;
+
+    @Label("Discount Cents")
+    private long discountCents;
+
+    /**
+     * Ends the event and commits it, when a recording enables it, with the evaluation's outcome;
+     * a discount that was not applied is committed with zero cents.
+     */
+    public void evaluated(String discountType, String ticketType, int quantity, boolean applied, long discountCents) {
+        if (shouldCommit()) {
+            this.discountType = discountType;
+            this.ticketType = ticketType;
+            this.quantity = quantity;
+            this.applied = applied;
+            this.discountCents = applied ? discountCents : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.cinema.pricing.jfr;
+
+import com.cinema.pricing.config.PricingRecordingProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@code /actuator/pricingrecording}: a flight recording of the pricing events on top of the
+ * JDK's {@code pricing.recording.settings}, started on demand when latency spikes.
+ * POST starts it (optionally with a {@code maxAge} such as {@code 5m}), GET downloads what it
+ * holds so far as a {@code .jfr} file for JDK Mission Control or {@code jfr print}, and DELETE
+ * stops it. The pricing events are disabled outside this recording, so they cost nothing.
+ * <p>
+ * The endpoint is not exposed by default. Anyone who can reach it can download the recording, so
+ * expose it only on a separate {@code management.server.port} that is not reachable by clients.
+ * The JDK events holding the environment variables, system properties and JVM arguments, which
+ * may contain secrets, are disabled in the recording whatever its settings.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "pricingrecording")
+public class PricingRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "pricing";
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final PricingRecordingProperties properties;
+
+    // serialises the operations without pinning virtual threads while a dump is written
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording recording;
+
+    public PricingRecordingEndpoint(PricingRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            Path file = Files.createTempFile("pricing-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+            return new WebEndpointResponse<>(new TemporaryFileResource(file));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable Duration maxAge) throws IOException, ParseException {
+        lock.lock();
+        try {
+            if (recording == null) {
+                Recording started = new Recording(Configuration.getConfiguration(properties.getSettings()));
+                started.setName(RECORDING_NAME);
+                started.setToDisk(true);
+                started.setMaxAge(maxAge != null ? maxAge : properties.getMaxAge());
+                started.setMaxSize(properties.getMaxSize().toBytes());
+                started.enable(TransactionPricedEvent.class);
+                started.enable(DiscountEvaluatedEvent.class);
+                started.enable(SnapshotPublishedEvent.class);
+                SENSITIVE_EVENTS.forEach(started::disable);
+                started.start();
+                recording = started;
+                log.info("Started pricing flight recording {} with {} settings, keeping {}", started.getId(),
+                        properties.getSettings(), started.getMaxAge());
+            }
+            return describe(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return Map.of("state", "NONE");
+            }
+            Recording stopped = recording;
+            recording = null;
+            if (stopped.getState() == RecordingState.RUNNING) {
+                stopped.stop();
+            }
+            Map<String, Object> description = describe(stopped);
+            stopped.close();
+            log.info("Stopped pricing flight recording {}", stopped.getId());
+            return description;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        stop();
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("state", recording.getState().name());
+        description.put("startTime", String.valueOf(recording.getStartTime()));
+        description.put("maxAge", String.valueOf(recording.getMaxAge()));
+        description.put("maxSize", recording.getMaxSize());
+        return description;
+    }
+
+    /**
+     * A dumped recording, deleted once it has been sent. It is not a file to Spring MVC, so the
+     * response is streamed through {@link #getInputStream()} and the deletion is not bypassed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path file;
+
+        TemporaryFileResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+}
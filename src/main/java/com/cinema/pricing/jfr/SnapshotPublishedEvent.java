@@ -0,0 +1,43 @@
+package com.cinema.pricing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A pricing configuration compiled and swapped in as the current snapshot, with the listeners
+ * that rebuild caches for it.
+ */
+@Name("com.cinema.pricing.SnapshotPublished")
+@Label("Pricing Snapshot Published")
+@Category({"Cinema", "Pricing"})
+@Description("A pricing snapshot compiled and swapped in, including the listeners of the change")
+@Enabled(false)
+@StackTrace(false)
+public class SnapshotPublishedEvent extends Event {
+
+    @Label("Previous Version")
+    private long previousVersion;
+
+    @Label("Version")
+    private long version;
+
+    @Label("Source")
+    private String source;
+
+    /**
+     * Ends the event and commits it, when a recording enables it, with the published versions.
+     */
+    public void published(long previousVersion, long version, String source) {
+        if (shouldCommit()) {
+            this.previousVersion = previousVersion;
+            this.version = version;
+            this.source = source;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cinema.pricing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One priced transaction, from its snapshot being chosen to its calculation being journaled.
+ * Disabled unless a recording enables it, see {@link PricingRecordingEndpoint}.
+ */
+@Name("com.cinema.pricing.TransactionPriced")
+@Label("Transaction Priced")
+@Category({"Cinema", "Pricing"})
+@Description("A transaction priced by the pricing service, including cache lookups and journaling")
+@Enabled(false)
+@StackTrace(false)
+public class TransactionPricedEvent extends Event {
+
+    @Label("Customers")
+    private int customerCount;
+
+    @Label("Ticket Types")
+    @Description("Distinct ticket types of the transaction's customers")
+    private int ticketTypeCount;
+
+    @Label("Snapshot Version")
+    private long snapshotVersion;
+
+    @Label("Venue")
+    private String venueId;
+
+    @Label("Traced")
+    @Description("Priced in full for a decision trace, bypassing the caches")
+    private boolean traced;
+
+    /**
+     * Ends the event and commits it, when a recording enables it, with the transaction's details.
+     */
+    public void priced(int customerCount, int ticketTypeCount, long snapshotVersion, String venueId, boolean traced) {
+        if (shouldCommit()) {
+            this.customerCount = customerCount;
+            this.ticketTypeCount = ticketTypeCount;
+            this.snapshotVersion = snapshotVersion;
+            this.venueId = venueId;
+            this.traced = traced;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.cinema.pricing.mapper;
+
+import com.cinema.pricing.model.TransactionResponse;
+
+/**
+ * A {@link TransactionResponse} already written as JSON by the {@link TransactionResponseWriter}.
+ * Only its bytes are written, by the {@link EncodedTransactionResponseConverter}; the generated
+ * fields are left empty.
+ */
+public class EncodedTransactionResponse extends TransactionResponse {
+
+    private final byte[] json;
+
+    public EncodedTransactionResponse(byte[] json) {
+        this.json = json;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+}
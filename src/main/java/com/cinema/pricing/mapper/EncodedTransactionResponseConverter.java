@@ -0,0 +1,49 @@
+package com.cinema.pricing.mapper;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link EncodedTransactionResponse} as its JSON bytes, ahead of Jackson's converter,
+ * which would otherwise serialize its empty generated fields. Never reads request bodies.
+ */
+@Component
+public class EncodedTransactionResponseConverter extends AbstractHttpMessageConverter<EncodedTransactionResponse> {
+
+    public EncodedTransactionResponseConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedTransactionResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedTransactionResponse readInternal(Class<? extends EncodedTransactionResponse> clazz,
+                                                      HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded responses are written only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(EncodedTransactionResponse response, MediaType contentType) {
+        return (long) response.getJson().length;
+    }
+
+    @Override
+    protected void writeInternal(EncodedTransactionResponse response, HttpOutputMessage outputMessage)
+            throws IOException {
+        outputMessage.getBody().write(response.getJson());
+    }
+}
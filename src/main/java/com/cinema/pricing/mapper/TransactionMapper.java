@@ -1,36 +1,77 @@
 package com.cinema.pricing.mapper;
 
+import com.cinema.pricing.domain.Money;
 import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TicketType;
 import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.domain.TransactionOutcome;
+import com.cinema.pricing.model.BatchTransactionResult;
+import com.cinema.pricing.model.ErrorResponse;
 import com.cinema.pricing.model.Ticket;
 import com.cinema.pricing.model.TransactionResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class TransactionMapper {
+
+    private static final Ticket.TicketTypeEnum[] TICKET_TYPES = new Ticket.TicketTypeEnum[TicketType.values().length];
+
+    static {
+        for (TicketType ticketType : TicketType.values()) {
+            TICKET_TYPES[ticketType.ordinal()] = Ticket.TicketTypeEnum.valueOf(ticketType.name());
+        }
+    }
+
     public TransactionResponse toResponse(TransactionCalculation calculation) {
         return TransactionResponse.builder()
                 .transactionId(calculation.getTransactionId())
                 .tickets(mapTicketCalculations(calculation.getTicketCalculations()))
-                .totalCost(calculation.getTotalCost())
+                .totalCost(Money.toMajor(calculation.getTotalCostCents()))
+                .build();
+    }
+
+    public List<BatchTransactionResult> toBatchResults(List<TransactionOutcome> outcomes) {
+        List<BatchTransactionResult> results = new ArrayList<>(outcomes.size());
+        for (TransactionOutcome outcome : outcomes) {
+            results.add(toBatchResult(outcome));
+        }
+        return results;
+    }
+
+    public BatchTransactionResult toBatchResult(TransactionOutcome outcome) {
+        if (outcome.isSuccess()) {
+            return BatchTransactionResult.builder()
+                    .transactionId(outcome.getTransactionId())
+                    .transaction(toResponse(outcome.getCalculation()))
+                    .build();
+        }
+        return BatchTransactionResult.builder()
+                .transactionId(outcome.getTransactionId())
+                .error(ErrorResponse.builder()
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .message(outcome.getErrorMessage())
+                        .build())
                 .build();
     }
 
     private @Valid List<@Valid Ticket> mapTicketCalculations(List<TicketCalculation> ticketCalculations) {
-        return ticketCalculations.stream()
-                .map(this::toTicket)
-                .collect(Collectors.toList());
+        List<Ticket> tickets = new ArrayList<>(ticketCalculations.size());
+        for (int i = 0; i < ticketCalculations.size(); i++) {
+            tickets.add(toTicket(ticketCalculations.get(i)));
+        }
+        return tickets;
     }
 
     private Ticket toTicket(TicketCalculation ticketCalculation) {
         return Ticket.builder()
-                .ticketType(Ticket.TicketTypeEnum.valueOf(ticketCalculation.getTicketType().name()))
+                .ticketType(TICKET_TYPES[ticketCalculation.getTicketType().ordinal()])
                 .quantity(ticketCalculation.getQuantity())
-                .totalCost(ticketCalculation.getTotalCost())
+                .totalCost(Money.toMajor(ticketCalculation.getTotalCostCents()))
                 .build();
     }
 }
@@ -0,0 +1,191 @@
+package com.cinema.pricing.mapper;
+
+import com.cinema.pricing.config.DoubleSerializer;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.model.Ticket;
+import com.cinema.pricing.model.TransactionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Writes the {@link TransactionResponse} of a {@link TransactionCalculation} as JSON bytes, byte
+ * for byte what the {@link ObjectMapper} writes for {@link TransactionMapper#toResponse}, without
+ * creating the generated models or going through Jackson's serializers.
+ * <p>
+ * Field names and the quoted name of every ticket type are encoded once, the names with the
+ * mapper itself, so only the id, quantities and amounts are formatted per response; amounts are
+ * written from cents with two fraction digits, like {@link DoubleSerializer}. Responses are
+ * assembled in buffers taken from a small lock-free pool and copied out at their exact length.
+ */
+@Component
+public class TransactionResponseWriter {
+
+    private static final byte[] TRANSACTION_ID = ascii("{\"transactionId\":");
+    private static final byte[] TICKETS_AFTER_ID = ascii(",\"tickets\":[");
+    private static final byte[] TICKETS_WITHOUT_ID = ascii("{\"tickets\":[");
+    private static final byte[] QUANTITY = ascii(",\"quantity\":");
+    private static final byte[] TICKET_TOTAL_COST = ascii(",\"totalCost\":");
+    private static final byte[] TOTAL_COST = ascii("],\"totalCost\":");
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    // a buffer grown past this by an unusual response is not returned to the pool
+    private static final int MAX_POOLED_BUFFER_SIZE = 16 * 1024;
+
+    // {"ticketType":"<name>" per ticket type ordinal
+    private final byte[][] ticketPrefixes;
+    private final AtomicReferenceArray<ResponseBuffer> pool;
+    private final int poolMask;
+
+    public TransactionResponseWriter(ObjectMapper objectMapper) {
+        this.ticketPrefixes = new byte[TicketType.values().length][];
+        for (TicketType ticketType : TicketType.values()) {
+            ticketPrefixes[ticketType.ordinal()] = concat(ascii("{\"ticketType\":"),
+                    encode(objectMapper, Ticket.TicketTypeEnum.valueOf(ticketType.name())));
+        }
+        int poolSize = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+        this.pool = new AtomicReferenceArray<>(poolSize);
+        this.poolMask = poolSize - 1;
+    }
+
+    public byte[] toBytes(TransactionCalculation calculation) {
+        int slot = (int) Thread.currentThread().threadId() & poolMask;
+        ResponseBuffer buffer = pool.getAndSet(slot, null);
+        if (buffer == null) {
+            buffer = new ResponseBuffer();
+        }
+        try {
+            write(calculation, buffer);
+            return buffer.toByteArray();
+        } finally {
+            buffer.length = 0;
+            if (buffer.bytes.length <= MAX_POOLED_BUFFER_SIZE) {
+                pool.compareAndSet(slot, null, buffer);
+            }
+        }
+    }
+
+    private void write(TransactionCalculation calculation, ResponseBuffer buffer) {
+        // null fields are left out, as with the default-property-inclusion of non_null
+        if (calculation.getTransactionId() != null) {
+            buffer.write(TRANSACTION_ID);
+            buffer.writeLong(calculation.getTransactionId());
+            buffer.write(TICKETS_AFTER_ID);
+        } else {
+            buffer.write(TICKETS_WITHOUT_ID);
+        }
+        List<TicketCalculation> tickets = calculation.getTicketCalculations();
+        for (int i = 0; i < tickets.size(); i++) {
+            TicketCalculation ticket = tickets.get(i);
+            if (i > 0) {
+                buffer.write((byte) ',');
+            }
+            buffer.write(ticketPrefixes[ticket.getTicketType().ordinal()]);
+            buffer.write(QUANTITY);
+            buffer.writeLong(ticket.getQuantity());
+            buffer.write(TICKET_TOTAL_COST);
+            buffer.writeCents(ticket.getTotalCostCents());
+            buffer.write((byte) '}');
+        }
+        buffer.write(TOTAL_COST);
+        buffer.writeCents(calculation.getTotalCostCents());
+        buffer.write((byte) '}');
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode " + value, ex);
+        }
+    }
+
+    private static byte[] ascii(String fragment) {
+        return fragment.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+
+    /**
+     * Growable byte array with the number formatting the response needs.
+     */
+    private static final class ResponseBuffer {
+
+        // sign and 19 digits of a long
+        private static final int MAX_LONG_BYTES = 20;
+
+        private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+        private int length;
+
+        void write(byte b) {
+            ensureCapacity(1);
+            bytes[length++] = b;
+        }
+
+        void write(byte[] fragment) {
+            ensureCapacity(fragment.length);
+            System.arraycopy(fragment, 0, bytes, length, fragment.length);
+            length += fragment.length;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(MAX_LONG_BYTES);
+            if (value < 0) {
+                bytes[length++] = '-';
+                writeNegated(value);
+            } else {
+                writeNegated(-value);
+            }
+        }
+
+        /**
+         * Writes the amount as a plain decimal with two fraction digits, as {@code Money.formatDecimal} does.
+         */
+        void writeCents(long cents) {
+            ensureCapacity(MAX_LONG_BYTES + 1);
+            if (cents < 0) {
+                bytes[length++] = '-';
+            }
+            writeNegated(-Math.abs(cents / 100));
+            int fraction = (int) Math.abs(cents % 100);
+            bytes[length++] = '.';
+            bytes[length++] = (byte) ('0' + fraction / 10);
+            bytes[length++] = (byte) ('0' + fraction % 10);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        // digits of -value, counted on the negative side so that Long.MIN_VALUE needs no special case
+        private void writeNegated(long value) {
+            int digits = 1;
+            for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+                digits++;
+            }
+            length += digits;
+            int pos = length;
+            do {
+                bytes[--pos] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
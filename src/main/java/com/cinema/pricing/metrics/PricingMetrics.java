@@ -0,0 +1,126 @@
+package com.cinema.pricing.metrics;
+
+import com.cinema.pricing.domain.Money;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.service.discount.DiscountStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the stages of the pricing path.
+ * All meters are registered up front and recorded with raw {@link System#nanoTime()} deltas,
+ * so recording does not look up meters or allocate timer samples per request.
+ * Histograms and percentiles are enabled through {@code management.metrics.distribution}.
+ */
+@Component
+public class PricingMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer transactionTimer;
+    private final Timer typeResolutionTimer;
+    private final EnumMap<TicketType, Timer> costTimers = new EnumMap<>(TicketType.class);
+
+    public PricingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.transactionTimer = Timer.builder("pricing.transaction")
+                .description("End-to-end pricing of a transaction")
+                .register(registry);
+        this.typeResolutionTimer = Timer.builder("pricing.type.resolution")
+                .description("Resolution of customer ages to ticket types for a transaction")
+                .register(registry);
+        for (TicketType ticketType : TicketType.values()) {
+            costTimers.put(ticketType, Timer.builder("pricing.cost.calculation")
+                    .description("Cost calculation of a ticket type group, including discounts")
+                    .tag("ticket.type", ticketType.name())
+                    .register(registry));
+        }
+    }
+
+    public void recordTransaction(long nanos) {
+        transactionTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTypeResolution(long nanos) {
+        typeResolutionTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCostCalculation(TicketType ticketType, long nanos) {
+        costTimers.get(ticketType).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the meters of a discount strategy, tagged by its discount type.
+     * Meant to be called when the discount plan is compiled, not per request.
+     */
+    public DiscountMeters discountMeters(DiscountStrategy strategy) {
+        String discountType = strategy.getDiscountType();
+        return new DiscountMeters(
+                Timer.builder("pricing.discount.evaluation")
+                        .description("Evaluation of a discount strategy")
+                        .tag("discount.type", discountType)
+                        .register(registry),
+                Counter.builder("pricing.discount.applied")
+                        .description("Number of applied discounts")
+                        .tag("discount.type", discountType)
+                        .register(registry),
+                Counter.builder("pricing.discount.amount")
+                        .description("Total amount of applied discounts")
+                        .tag("discount.type", discountType)
+                        .register(registry));
+    }
+
+    public static final class DiscountMeters {
+
+        private final Timer evaluationTimer;
+        private final Counter appliedCounter;
+        private final Counter amountCounter;
+
+        private DiscountMeters(Timer evaluationTimer, Counter appliedCounter, Counter amountCounter) {
+            this.evaluationTimer = evaluationTimer;
+            this.appliedCounter = appliedCounter;
+            this.amountCounter = amountCounter;
+        }
+
+        public void recordEvaluation(long nanos) {
+            evaluationTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void recordApplied(long discountAmountCents) {
+            appliedCounter.increment();
+            amountCounter.increment(Money.toMajor(discountAmountCents));
+        }
+    }
+
+    /**
+     * The discounts applied to a precomputed quote, collected while it is priced and recorded
+     * each time it is served, so the discount meters count quotes served rather than quotes
+     * precomputed. Only added to while the quote is priced, then only read.
+     */
+    public static final class AppliedDiscounts {
+
+        public static final AppliedDiscounts NONE = new AppliedDiscounts();
+
+        private DiscountMeters[] meters = new DiscountMeters[0];
+        private long[] amountsCents = new long[0];
+
+        public void add(DiscountMeters discountMeters, long discountAmountCents) {
+            int size = meters.length;
+            meters = Arrays.copyOf(meters, size + 1);
+            amountsCents = Arrays.copyOf(amountsCents, size + 1);
+            meters[size] = discountMeters;
+            amountsCents[size] = discountAmountCents;
+        }
+
+        public void record() {
+            for (int i = 0; i < meters.length; i++) {
+                meters[i].recordApplied(amountsCents[i]);
+            }
+        }
+    }
+}
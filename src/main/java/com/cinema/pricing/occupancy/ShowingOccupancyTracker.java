@@ -0,0 +1,89 @@
+package com.cinema.pricing.occupancy;
+
+import com.cinema.pricing.cache.AsyncCaches;
+import com.cinema.pricing.config.ShowingOccupancyProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Seats sold per showing, across all concurrent pricing requests, for demand pricing.
+ * <p>
+ * Each showing has its own {@link LongAdder}, whose cells spread concurrent sales to a popular
+ * showing over cores, and showings live in a concurrent cache, so no lock is shared between
+ * requests. Seat counts are per instance and in memory. A showing without sales for
+ * {@code pricing.showings.expire-after-idle} is over and dropped, and at most
+ * {@code pricing.showings.maximum-showings} are kept, so memory stays bounded.
+ * <p>
+ * Reading the count and adding a transaction's seats are two steps: concurrent transactions may
+ * all be priced at the occupancy before any of them, which moves a band edge by a few seats at most.
+ * <p>
+ * A transaction sells its seats once: its sale is remembered by transaction id and showing for
+ * {@code pricing.showings.expire-after-idle}, and retries of it get the occupancy it was sold at back
+ * without adding its seats again, whether or not the retry cache answered them.
+ */
+@Component
+public class ShowingOccupancyTracker {
+
+    private static final Function<String, LongAdder> NEW_COUNTER = showingId -> new LongAdder();
+
+    private final Cache<String, LongAdder> seatsSold;
+    private final AsyncCache<Sale, Long> salesByTransaction;
+
+    public ShowingOccupancyTracker(ShowingOccupancyProperties properties, MeterRegistry meterRegistry) {
+        this.seatsSold = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getExpireAfterIdle())
+                .maximumSize(properties.getMaximumShowings())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, seatsSold, "pricing.showings");
+        this.salesByTransaction = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getExpireAfterIdle())
+                .maximumSize(properties.getMaximumRememberedSales())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, salesByTransaction, "pricing.showings.transactions");
+    }
+
+    /**
+     * Adds the seats of a transaction to the showing and returns the seats sold before it.
+     */
+    public long sell(String showingId, int seats) {
+        LongAdder counter = seatsSold.get(showingId, NEW_COUNTER);
+        long sold = counter.sum();
+        counter.add(seats);
+        return sold;
+    }
+
+    /**
+     * Adds the seats of the transaction to the showing and returns the seats sold before it, or, for a
+     * retry of a transaction that was already sold, returns the seats sold before it the first time
+     * without adding them again. Transactions without an id are sold every time.
+     */
+    public long sell(Long transactionId, String showingId, int seats) {
+        if (transactionId == null) {
+            return sell(showingId, seats);
+        }
+        return AsyncCaches.getOrCompute(salesByTransaction, new Sale(transactionId, showingId),
+                () -> sell(showingId, seats));
+    }
+
+    public long seatsSold(String showingId) {
+        LongAdder counter = seatsSold.getIfPresent(showingId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    long trackedShowings() {
+        seatsSold.cleanUp();
+        return seatsSold.estimatedSize();
+    }
+
+    private record Sale(long transactionId, String showingId) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.cinema.pricing.promo;
+
+/**
+ * A promo code redeemed for one transaction.
+ *
+ * @param code         the code as sent by the client
+ * @param index        position of the code in its catalogue
+ * @param discountRate share of each ticket group's base cost taken off
+ */
+public record PromoCode(String code, int index, double discountRate) {
+}
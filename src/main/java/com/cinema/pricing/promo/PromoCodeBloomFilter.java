@@ -0,0 +1,46 @@
+package com.cinema.pricing.promo;
+
+/**
+ * Bloom filter over the 64-bit hashes of the catalogue's codes, checked before the index so
+ * that unknown codes are mostly rejected without touching the much larger index.
+ * Probe positions are derived from the two halves of the hash (double hashing).
+ */
+final class PromoCodeBloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    PromoCodeBloomFilter(int expectedCodes, int bitsPerCode) {
+        long requestedBits = Math.max((long) expectedCodes * bitsPerCode, Long.SIZE);
+        this.bits = new long[(int) Math.min((requestedBits + Long.SIZE - 1) / Long.SIZE, Integer.MAX_VALUE - 8)];
+        this.bitCount = (long) bits.length * Long.SIZE;
+        // k = bits per code * ln 2 minimises the false positive rate
+        this.hashCount = Math.max(1, (int) Math.round(bitsPerCode * Math.log(2)));
+    }
+
+    void add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
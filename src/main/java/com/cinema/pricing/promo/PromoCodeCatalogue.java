@@ -0,0 +1,114 @@
+package com.cinema.pricing.promo;
+
+import com.cinema.pricing.config.PromoCodeProperties;
+import com.cinema.pricing.cache.AsyncCaches;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The promo codes clients may redeem, loaded from {@code pricing.promo-codes.file} at startup.
+ * See {@link PromoCodeIndex} for the file format.
+ * <p>
+ * Redemption counts are kept in memory by this instance: they start from zero on every start and
+ * are not shared between instances.
+ * <p>
+ * A transaction redeems a code once: its redemption is remembered by transaction id for
+ * {@code pricing.promo-codes.retry-window}, and retries of the transaction get the same redemption
+ * back, whether or not the retry cache answered them.
+ */
+@Slf4j
+@Component
+public class PromoCodeCatalogue {
+
+    private final PromoCodeProperties properties;
+    private final Counter redeemedCounter;
+    private final Counter unknownCounter;
+    private final Counter exhaustedCounter;
+    private final AsyncCache<Redemption, PromoCode> redemptionsByTransaction;
+
+    private PromoCodeIndex index = PromoCodeIndex.empty();
+
+    public PromoCodeCatalogue(PromoCodeProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redeemedCounter = redemptionCounter(meterRegistry, "redeemed");
+        this.unknownCounter = redemptionCounter(meterRegistry, "unknown");
+        this.exhaustedCounter = redemptionCounter(meterRegistry, "exhausted");
+        this.redemptionsByTransaction = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getRetryWindow())
+                .maximumSize(properties.getMaximumRememberedRedemptions())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, redemptionsByTransaction, "pricing.promo.transactions");
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (properties.getFile() == null) {
+            log.info("No promo code catalogue configured, promo codes are rejected");
+            return;
+        }
+        long start = System.nanoTime();
+        Path file = Path.of(properties.getFile());
+        index = PromoCodeIndex.load(file, properties.getBloomFilterBitsPerCode());
+        log.info("Loaded {} promo codes from {} in {} ms, Bloom filter of {} KB", index.size(), file,
+                (System.nanoTime() - start) / 1_000_000, index.bloomFilterSizeInBytes() / 1024);
+    }
+
+    /**
+     * Takes one redemption of the code for a transaction.
+     *
+     * @throws IllegalArgumentException when the code is unknown or has no redemptions left
+     */
+    public PromoCode redeem(String code) {
+        int position = index.find(code);
+        if (position == PromoCodeIndex.NOT_FOUND) {
+            unknownCounter.increment();
+            throw new IllegalArgumentException("Unknown promo code: " + code);
+        }
+        if (!index.redeem(position)) {
+            exhaustedCounter.increment();
+            throw new IllegalArgumentException("Promo code " + code + " has no redemptions left");
+        }
+        redeemedCounter.increment();
+        return new PromoCode(code, position, index.discountRate(position));
+    }
+
+    /**
+     * Takes one redemption of the code for the transaction, or returns the redemption the transaction
+     * already took, so that a retried transaction does not use the code up twice. Transactions
+     * without an id redeem every time.
+     *
+     * @throws IllegalArgumentException when the code is unknown or has no redemptions left
+     */
+    public PromoCode redeem(Long transactionId, String code) {
+        if (transactionId == null) {
+            return redeem(code);
+        }
+        // a rejected redemption is not remembered, its exception leaves no entry
+        return AsyncCaches.getOrCompute(redemptionsByTransaction, new Redemption(transactionId, code),
+                () -> redeem(code));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private static Counter redemptionCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("pricing.promo.redemptions")
+                .description("Promo code redemption attempts")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Redemption(long transactionId, String code) {
+    }
+}
@@ -0,0 +1,323 @@
+package com.cinema.pricing.promo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Immutable index over a promo code catalogue, with lock-free redemption counters.
+ * <p>
+ * The catalogue has one {@code code,discount-rate,max-redemptions} line per code, for example
+ * {@code SUMMER25,0.25,1}; a maximum of 0 means unlimited redemptions, blank lines and lines
+ * starting with {@code #} are skipped. Codes are 1 to 64 characters of {@code [A-Za-z0-9_-]}
+ * and rates have at most four decimals.
+ * <p>
+ * The file is memory-mapped rather than read onto the heap, and codes are compared in place in
+ * the mapping, so no object is created per code: the index is a handful of primitive arrays and
+ * an open-addressing table of code positions, fronted by a {@link PromoCodeBloomFilter}.
+ * The file must not be modified while it is mapped.
+ */
+final class PromoCodeIndex {
+
+    static final int NOT_FOUND = -1;
+    static final int MAX_CODE_LENGTH = 64;
+
+    private static final int UNLIMITED = 0;
+    private static final int BASIS_POINTS = 10_000;
+    private static final int MAX_RATE_DECIMALS = 4;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ByteBuffer catalogue;
+    private final int size;
+    private final int[] codeOffsets;
+    private final byte[] codeLengths;
+    private final short[] discountBasisPoints;
+    private final int[] maxRedemptions;
+    private final AtomicIntegerArray redemptions;
+    // position + 1 of the code in each slot, 0 marks a free slot
+    private final int[] slots;
+    // upper half of the hash of the code in each slot, compared before the code itself
+    private final int[] slotHashes;
+    private final int mask;
+    private final PromoCodeBloomFilter bloomFilter;
+
+    private PromoCodeIndex(ByteBuffer catalogue, int capacity, int bloomFilterBitsPerCode) {
+        // at most three quarters full
+        int tableSize = (int) (Long.highestOneBit(Math.max(capacity, 1) * 4L / 3 + 1) << 1);
+        this.catalogue = catalogue;
+        this.codeOffsets = new int[capacity];
+        this.codeLengths = new byte[capacity];
+        this.discountBasisPoints = new short[capacity];
+        this.maxRedemptions = new int[capacity];
+        this.redemptions = new AtomicIntegerArray(capacity);
+        this.slots = new int[tableSize];
+        this.slotHashes = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.bloomFilter = new PromoCodeBloomFilter(capacity, bloomFilterBitsPerCode);
+        this.size = parse();
+    }
+
+    static PromoCodeIndex empty() {
+        return of(ByteBuffer.allocate(0), 1);
+    }
+
+    /**
+     * Maps the catalogue file and indexes it. The mapping outlives the channel.
+     */
+    static PromoCodeIndex load(Path file, int bloomFilterBitsPerCode) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Promo code catalogue " + file + " is larger than 2 GB");
+            }
+            return of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), bloomFilterBitsPerCode);
+        }
+    }
+
+    static PromoCodeIndex of(ByteBuffer catalogue, int bloomFilterBitsPerCode) {
+        return new PromoCodeIndex(catalogue, countLines(catalogue), bloomFilterBitsPerCode);
+    }
+
+    /**
+     * Returns the position of the code in the catalogue, or {@link #NOT_FOUND}.
+     */
+    int find(CharSequence code) {
+        int length = code.length();
+        if (length == 0 || length > MAX_CODE_LENGTH) {
+            return NOT_FOUND;
+        }
+        long hash = hash(code);
+        if (!bloomFilter.mightContain(hash)) {
+            return NOT_FOUND;
+        }
+        int upperHash = (int) (hash >>> 32);
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return NOT_FOUND;
+            }
+            if (slotHashes[slot] == upperHash && matches(entry - 1, code)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Takes one redemption of the code at {@code position}, unless all have been taken.
+     * Lock-free: concurrent redemptions of the same code race on a compare-and-set of its counter.
+     */
+    boolean redeem(int position) {
+        int max = maxRedemptions[position];
+        while (true) {
+            int redeemed = redemptions.get(position);
+            if (max != UNLIMITED && redeemed >= max) {
+                return false;
+            }
+            if (redeemed == Integer.MAX_VALUE) {
+                // unlimited and no longer counted
+                return true;
+            }
+            if (redemptions.compareAndSet(position, redeemed, redeemed + 1)) {
+                return true;
+            }
+        }
+    }
+
+    int redemptions(int position) {
+        return redemptions.get(position);
+    }
+
+    double discountRate(int position) {
+        return discountBasisPoints[position] / (double) BASIS_POINTS;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bloomFilterSizeInBytes() {
+        return bloomFilter.sizeInBytes();
+    }
+
+    private int parse() {
+        int limit = catalogue.limit();
+        int count = 0;
+        int line = 0;
+        for (int start = 0; start < limit; ) {
+            line++;
+            int end = start;
+            while (end < limit && catalogue.get(end) != '\n') {
+                end++;
+            }
+            int lineEnd = end > start && catalogue.get(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd > start && catalogue.get(start) != '#') {
+                add(count++, start, lineEnd, line);
+            }
+            start = end + 1;
+        }
+        return count;
+    }
+
+    private void add(int position, int start, int end, int line) {
+        int firstComma = indexOf(',', start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(',', firstComma + 1, end);
+        if (secondComma < 0) {
+            throw invalidLine(line, "expected code,discount-rate,max-redemptions");
+        }
+        int length = firstComma - start;
+        if (length == 0 || length > MAX_CODE_LENGTH) {
+            throw invalidLine(line, "code must have 1 to " + MAX_CODE_LENGTH + " characters");
+        }
+        for (int i = start; i < firstComma; i++) {
+            if (!isCodeCharacter(catalogue.get(i))) {
+                throw invalidLine(line, "code may only contain letters, digits, '_' and '-'");
+            }
+        }
+        codeOffsets[position] = start;
+        codeLengths[position] = (byte) length;
+        discountBasisPoints[position] = (short) parseRate(firstComma + 1, secondComma, line);
+        maxRedemptions[position] = parseCount(secondComma + 1, end, line);
+
+        long hash = hash(start, length);
+        int upperHash = (int) (hash >>> 32);
+        int slot = (int) hash & mask;
+        while (slots[slot] != 0) {
+            if (slotHashes[slot] == upperHash && sameCode(slots[slot] - 1, position)) {
+                throw invalidLine(line, "duplicate code");
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = position + 1;
+        slotHashes[slot] = upperHash;
+        bloomFilter.add(hash);
+    }
+
+    private int parseRate(int start, int end, int line) {
+        int basisPoints = 0;
+        int decimals = -1;
+        for (int i = start; i < end; i++) {
+            byte b = catalogue.get(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (b >= '0' && b <= '9' && decimals < MAX_RATE_DECIMALS && basisPoints <= BASIS_POINTS) {
+                basisPoints = basisPoints * 10 + (b - '0');
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else {
+                throw invalidRate(line);
+            }
+        }
+        for (int i = Math.max(decimals, 0); i < MAX_RATE_DECIMALS; i++) {
+            basisPoints *= 10;
+        }
+        if (basisPoints <= 0 || basisPoints > BASIS_POINTS) {
+            throw invalidRate(line);
+        }
+        return basisPoints;
+    }
+
+    private int parseCount(int start, int end, int line) {
+        long count = 0;
+        for (int i = start; i < end; i++) {
+            byte b = catalogue.get(i);
+            if (b < '0' || b > '9' || (count = count * 10 + (b - '0')) > Integer.MAX_VALUE) {
+                throw invalidLine(line, "max redemptions must be a number from 0 (unlimited) to " + Integer.MAX_VALUE);
+            }
+        }
+        if (end == start) {
+            throw invalidLine(line, "max redemptions is missing");
+        }
+        return (int) count;
+    }
+
+    private boolean matches(int position, CharSequence code) {
+        int offset = codeOffsets[position];
+        if (codeLengths[position] != code.length()) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (catalogue.get(offset + i) != code.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameCode(int position, int other) {
+        int length = codeLengths[position];
+        if (length != codeLengths[other]) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (catalogue.get(codeOffsets[position] + i) != catalogue.get(codeOffsets[other] + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (catalogue.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private IllegalStateException invalidRate(int line) {
+        return invalidLine(line, "discount rate must be above 0 and at most 1, with at most "
+                + MAX_RATE_DECIMALS + " decimals");
+    }
+
+    private IllegalStateException invalidLine(int line, String reason) {
+        return new IllegalStateException("Invalid promo code catalogue line " + line + ": " + reason);
+    }
+
+    /**
+     * Upper bound of the number of codes, so that the arrays are allocated once.
+     */
+    private static int countLines(ByteBuffer catalogue) {
+        int limit = catalogue.limit();
+        int lines = limit > 0 && catalogue.get(limit - 1) != '\n' ? 1 : 0;
+        for (int i = 0; i < limit; i++) {
+            if (catalogue.get(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static boolean isCodeCharacter(int c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    // FNV-1a over the code's characters, finished with a 64-bit mix so both halves are usable
+    private long hash(int offset, int length) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ catalogue.get(offset + i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long hash(CharSequence code) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < code.length(); i++) {
+            hash = (hash ^ code.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb53fe1a85ec3L;
+        return hash ^ (hash >>> 33);
+    }
+}
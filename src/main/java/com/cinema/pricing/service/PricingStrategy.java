@@ -1,12 +1,22 @@
 package com.cinema.pricing.service;
 
 import com.cinema.pricing.domain.TicketType;
-
-import java.util.Map;
+import com.cinema.pricing.service.discount.DiscountContext;
 
 public interface PricingStrategy {
 
-    double calculateCost(TicketType ticketType, int quantity, Map<TicketType, Integer> ticketCounts);
+    /**
+     * Returns the total cost in cents of {@code quantity} tickets of the given type, after discounts.
+     * The context is the transaction's, shared by all its ticket groups, and is selected for this one.
+     */
+    long calculateCost(DiscountContext context, TicketType ticketType, int quantity);
+
+    /**
+     * Returns the total cost in cents of {@code quantity} tickets of the given type before discounts,
+     * and selects the context for that ticket group, for callers that apply the discounts themselves.
+     * {@link #calculateCost} is this cost less the discounts, clamped at zero.
+     */
+    long baseCost(DiscountContext context, TicketType ticketType, int quantity);
 
-    boolean isDiscountApplied(TicketType ticketType, int quantity, Map<TicketType, Integer> ticketCounts);
+    boolean isDiscountApplied(DiscountContext context, TicketType ticketType, int quantity);
 }
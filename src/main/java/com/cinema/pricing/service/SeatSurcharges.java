@@ -0,0 +1,79 @@
+package com.cinema.pricing.service;
+
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.SeatMaps;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.model.Customer;
+
+import java.util.List;
+
+/**
+ * Seat surcharges of a transaction's customers, shared by the pricing service and the pricing
+ * simulation so that both accept the same seats and add the same surcharges.
+ */
+public final class SeatSurcharges {
+
+    private static final int TICKET_TYPE_COUNT = TicketType.values().length;
+
+    private SeatSurcharges() {
+    }
+
+    /**
+     * Sums the surcharges of the customers' seats per ticket type, indexed by {@link TicketType#ordinal()},
+     * or returns {@code null} when no seat has a surcharge, so that unseated transactions allocate
+     * nothing more and keep sharing precomputed quotes. A seat can only be taken once per transaction.
+     *
+     * @throws IllegalArgumentException when a seat is given without an auditorium, the auditorium or
+     *                                  seat does not exist, or a seat is taken more than once
+     */
+    public static long[] surchargesCents(PricingSnapshot snapshot, TicketTypeResolver ticketTypeResolver,
+                                         String auditoriumId, List<Customer> customers) {
+        SeatMaps seatMaps = snapshot.getSeatMaps();
+        SeatMaps.SeatMap seatMap = null;
+        int[] positions = null;
+        int seated = 0;
+        long[] surchargesCents = null;
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            String seat = customer.getSeat();
+            if (seat == null) {
+                continue;
+            }
+            if (seatMap == null) {
+                seatMap = seatMap(seatMaps, auditoriumId, seat);
+                positions = new int[customers.size() - i];
+            }
+            int position = SeatMaps.seatPosition(seat);
+            int category = seatMap.category(position);
+            if (category == SeatMaps.NO_SEAT) {
+                throw new IllegalArgumentException("Seat " + seat + " does not exist in auditorium " + auditoriumId);
+            }
+            for (int j = 0; j < seated; j++) {
+                if (positions[j] == position) {
+                    throw new IllegalArgumentException("Seat " + seat + " is taken more than once in the transaction");
+                }
+            }
+            positions[seated++] = position;
+            long surchargeCents = seatMaps.surchargeCents(category);
+            if (surchargeCents != 0) {
+                if (surchargesCents == null) {
+                    surchargesCents = new long[TICKET_TYPE_COUNT];
+                }
+                surchargesCents[ticketTypeResolver.resolveTicketType(snapshot, customer.getAge()).ordinal()]
+                        += surchargeCents;
+            }
+        }
+        return surchargesCents;
+    }
+
+    private static SeatMaps.SeatMap seatMap(SeatMaps seatMaps, String auditoriumId, String seat) {
+        if (auditoriumId == null) {
+            throw new IllegalArgumentException("Seat " + seat + " needs an auditoriumId");
+        }
+        SeatMaps.SeatMap seatMap = seatMaps.auditorium(auditoriumId);
+        if (seatMap == null) {
+            throw new IllegalArgumentException("Unknown auditorium: " + auditoriumId);
+        }
+        return seatMap;
+    }
+}
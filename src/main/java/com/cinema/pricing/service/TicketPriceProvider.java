@@ -1,7 +1,11 @@
 package com.cinema.pricing.service;
 
+import com.cinema.pricing.config.PricingSnapshot;
 import com.cinema.pricing.domain.TicketType;
 
 public interface TicketPriceProvider {
-    double getBasePrice(TicketType ticketType);
+    /**
+     * Returns the base price of one ticket in cents.
+     */
+    long getBasePriceCents(PricingSnapshot snapshot, TicketType ticketType);
 }
@@ -1,12 +1,38 @@
 package com.cinema.pricing.service;
 
 import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.domain.TransactionOutcome;
 import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.TransactionRequest;
 
 import java.util.List;
 
 public interface TicketPricingService {
 
+    /**
+     * Prices a transaction of customers without showing or promo code, untraced.
+     *
+     * @throws IllegalArgumentException when a customer cannot be priced
+     */
     TransactionCalculation calculatePrice(Long transactionId, List<Customer> customers);
 
+    /**
+     * Prices a transaction, at the demand price of its showing and redeeming its promo code when
+     * they are given; when {@code traced}, every pricing decision of it is recorded in the decision
+     * log, as requested by clients with the {@code X-Pricing-Trace} header.
+     *
+     * @throws IllegalArgumentException when a customer cannot be priced or the promo code cannot be redeemed
+     */
+    TransactionCalculation calculatePrice(TransactionRequest transaction, boolean traced);
+
+    default List<TransactionOutcome> calculatePrices(List<TransactionRequest> transactions) {
+        return calculatePrices(transactions, false);
+    }
+
+    /**
+     * Prices every transaction of a batch in request order. A transaction that cannot be priced
+     * yields a failed outcome instead of aborting the batch.
+     */
+    List<TransactionOutcome> calculatePrices(List<TransactionRequest> transactions, boolean traced);
+
 }
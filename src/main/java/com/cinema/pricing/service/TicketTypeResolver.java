@@ -1,7 +1,8 @@
 package com.cinema.pricing.service;
 
+import com.cinema.pricing.config.PricingSnapshot;
 import com.cinema.pricing.domain.TicketType;
 
 public interface TicketTypeResolver {
-    TicketType resolveTicketType(int age);
+    TicketType resolveTicketType(PricingSnapshot snapshot, int age);
 }
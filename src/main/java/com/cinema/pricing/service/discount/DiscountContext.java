@@ -1,20 +1,132 @@
 package com.cinema.pricing.service.discount;
 
+import com.cinema.pricing.config.OccupancyBands;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.decision.DecisionTrace;
+import com.cinema.pricing.domain.DiscountType;
 import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.metrics.PricingMetrics.AppliedDiscounts;
+import com.cinema.pricing.promo.PromoCode;
 import lombok.Builder;
-import lombok.Value;
+import lombok.Getter;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
-@Value
-@Builder
+/**
+ * What the discount strategies see of a transaction: its snapshot, ticket counts indexed by
+ * {@link TicketType#ordinal()}, the time it was priced at, read once per transaction, the
+ * time-of-day discount in effect at that time, the demand price factor of its showing and the
+ * seat surcharges of its customers per ticket type. The discounts the engine applies while the
+ * transaction is priced are added up per {@link DiscountType}, for the audit journal.
+ * <p>
+ * One context is created per transaction and {@link #select selected} for each ticket type in
+ * turn, so pricing a transaction allocates a single context. It is confined to the thread pricing
+ * the transaction and must not be shared or kept.
+ */
+@Getter
 public class DiscountContext {
-    TicketType ticketType;
-    int quantity;
-    double basePrice;
-    double baseTotalCost;
-    Map<TicketType, Integer> allTicketCounts;
-    LocalDateTime transactionTime;
-    String promoCode;
+
+    private final PricingSnapshot snapshot;
+    private final int[] ticketCounts;
+    // indexed like the ticket counts, null unless a customer's seat has a surcharge
+    private final long[] seatSurchargesCents;
+    private final LocalDateTime transactionTime;
+    // looked up once per transaction in the snapshot's calendar
+    private final int timeOfDayBasisPoints;
+    // applied to the base prices, OccupancyBands.BASE_PRICE unless the showing's occupancy is in a band
+    private final int priceFactorBasisPoints;
+    // null unless a promo code was redeemed for the transaction
+    private final PromoCode promoCode;
+    // null unless the transaction's decisions are recorded
+    private final DecisionTrace trace;
+    // non-null only for shared quotes, whose applied discounts are collected here instead of recorded
+    private final AppliedDiscounts appliedDiscounts;
+    // indexed by DiscountType ordinal, summed over the ticket groups priced so far
+    private final long[] discountsCents = new long[DiscountType.values().length];
+
+    private TicketType ticketType;
+    private int quantity;
+    private long basePriceCents;
+    private long baseTotalCostCents;
+
+    @Builder
+    private DiscountContext(PricingSnapshot snapshot, TicketType ticketType, int quantity, long basePriceCents,
+                            long baseTotalCostCents, int[] ticketCounts, long[] seatSurchargesCents,
+                            LocalDateTime transactionTime,
+                            int timeOfDayBasisPoints, int priceFactorBasisPoints, PromoCode promoCode,
+                            DecisionTrace trace, AppliedDiscounts appliedDiscounts) {
+        this.snapshot = snapshot;
+        this.ticketType = ticketType;
+        this.quantity = quantity;
+        this.basePriceCents = basePriceCents;
+        this.baseTotalCostCents = baseTotalCostCents;
+        this.ticketCounts = ticketCounts != null ? ticketCounts : new int[TicketType.values().length];
+        this.seatSurchargesCents = seatSurchargesCents;
+        this.transactionTime = transactionTime;
+        this.timeOfDayBasisPoints = timeOfDayBasisPoints;
+        // left unset by builders
+        this.priceFactorBasisPoints = priceFactorBasisPoints > 0 ? priceFactorBasisPoints : OccupancyBands.BASE_PRICE;
+        this.promoCode = promoCode;
+        this.trace = trace;
+        this.appliedDiscounts = appliedDiscounts;
+    }
+
+    public static DiscountContext forTransaction(PricingSnapshot snapshot, int[] ticketCounts,
+                                                 LocalDateTime transactionTime) {
+        return forTransaction(snapshot, ticketCounts, transactionTime, OccupancyBands.BASE_PRICE, null, null);
+    }
+
+    public static DiscountContext forTransaction(PricingSnapshot snapshot, int[] ticketCounts,
+                                                 LocalDateTime transactionTime, int priceFactorBasisPoints,
+                                                 PromoCode promoCode, DecisionTrace trace) {
+        return forTransaction(snapshot, ticketCounts, null, transactionTime, priceFactorBasisPoints, promoCode, trace);
+    }
+
+    public static DiscountContext forTransaction(PricingSnapshot snapshot, int[] ticketCounts,
+                                                 long[] seatSurchargesCents, LocalDateTime transactionTime,
+                                                 int priceFactorBasisPoints, PromoCode promoCode, DecisionTrace trace) {
+        int timeOfDayBasisPoints = snapshot.getTimeOfDayDiscounts().basisPointsAt(transactionTime);
+        return new DiscountContext(snapshot, null, 0, 0, 0, ticketCounts, seatSurchargesCents, transactionTime,
+                timeOfDayBasisPoints, priceFactorBasisPoints, promoCode, trace, null);
+    }
+
+    /**
+     * A context for quotes shared by every transaction priced with the given time-of-day discount
+     * and price factor, rather than for a transaction at a given time. Nothing is recorded while
+     * it is priced: the applied discounts are collected, to be recorded whenever the quote is served.
+     */
+    public static DiscountContext forSharedQuote(PricingSnapshot snapshot, int[] ticketCounts, int timeOfDayBasisPoints,
+                                                 int priceFactorBasisPoints) {
+        return new DiscountContext(snapshot, null, 0, 0, 0, ticketCounts, null, null, timeOfDayBasisPoints,
+                priceFactorBasisPoints, null, null, new AppliedDiscounts());
+    }
+
+    /**
+     * Points the context at one ticket group of the transaction.
+     */
+    public DiscountContext select(TicketType ticketType, int quantity, long basePriceCents, long baseTotalCostCents) {
+        this.ticketType = ticketType;
+        this.quantity = quantity;
+        this.basePriceCents = basePriceCents;
+        this.baseTotalCostCents = baseTotalCostCents;
+        return this;
+    }
+
+    /**
+     * Adds a discount the engine applied to the selected ticket group.
+     */
+    public void addDiscount(DiscountType discountType, long discountCents) {
+        discountsCents[discountType.ordinal()] += discountCents;
+    }
+
+    public int getTicketCount(TicketType ticketType) {
+        return ticketCounts[ticketType.ordinal()];
+    }
+
+    /**
+     * Returns the sum of the seat surcharges of the customers with the ticket type.
+     */
+    public long getSeatSurchargeCents(TicketType ticketType) {
+        return seatSurchargesCents != null ? seatSurchargesCents[ticketType.ordinal()] : 0;
+    }
 }
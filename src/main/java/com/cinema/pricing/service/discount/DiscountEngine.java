@@ -1,70 +1,154 @@
 package com.cinema.pricing.service.discount;
 
+import com.cinema.pricing.decision.DecisionTrace;
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.jfr.DiscountEvaluatedEvent;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.metrics.PricingMetrics.DiscountMeters;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Manages and applies multiple discount strategies.
+ * The strategies are compiled into an immutable per-{@link TicketType} plan, sorted by priority,
+ * so applying discounts only visits strategies that can apply to the ticket type.
+ * The plan only depends on the strategies; configured rules come from the context's snapshot.
+ * Nothing is logged per request: decisions of sampled and traced transactions go to the
+ * context's {@link DecisionTrace}, and each evaluation is a {@link DiscountEvaluatedEvent} when a
+ * flight recording enables it. Shared quotes, precomputed for the quote tables, record neither
+ * meters nor events; their applied discounts are recorded when a quote is served.
  */
 @Slf4j
 @Component
 public class DiscountEngine {
 
     private final List<DiscountStrategy> strategies;
+    private final PricingMetrics pricingMetrics;
 
-    private List<DiscountStrategy> sortedStrategies;
+    private EnumMap<TicketType, PlannedStrategy[]> plan;
 
-    public DiscountEngine(List<DiscountStrategy> strategies) {
+    public DiscountEngine(List<DiscountStrategy> strategies, PricingMetrics pricingMetrics) {
         this.strategies = strategies;
+        this.pricingMetrics = pricingMetrics;
     }
 
     @PostConstruct
     public void init() {
         // Sort by priority
-        sortedStrategies = new ArrayList<>(strategies);
+        List<DiscountStrategy> sortedStrategies = new ArrayList<>(strategies);
         sortedStrategies.sort(Comparator.comparingInt(DiscountStrategy::getPriority).reversed());
 
+        EnumMap<TicketType, PlannedStrategy[]> compiledPlan = new EnumMap<>(TicketType.class);
+        for (TicketType ticketType : TicketType.values()) {
+            compiledPlan.put(ticketType, sortedStrategies.stream()
+                    .filter(strategy -> strategy.supports(ticketType))
+                    .map(strategy -> new PlannedStrategy(strategy, DiscountType.of(strategy.getDiscountType()),
+                            pricingMetrics.discountMeters(strategy)))
+                    .toArray(PlannedStrategy[]::new));
+        }
+        plan = compiledPlan;
+
         log.info("Initialized {} discount strategies: {}",
                 sortedStrategies.size(),
-                sortedStrategies.stream()
-                        .map(DiscountStrategy::getDisplayName)
+                compiledPlan.entrySet().stream()
+                        .map(entry -> entry.getKey() + "=" + Arrays.stream(entry.getValue())
+                                .map(planned -> planned.strategy().getDisplayName())
+                                .collect(Collectors.joining(", ", "[", "]")))
                         .collect(Collectors.joining(", ")));
     }
 
+    /**
+     * Returns the total discount in cents for the context's ticket group, and adds each applied
+     * discount to the context's totals per {@link DiscountType}.
+     * Unlike {@link #applyDiscounts}, it builds no results and does not allocate.
+     */
+    public long totalDiscountCents(DiscountContext context) {
+        PlannedStrategy[] candidates = plan.get(context.getTicketType());
+        if (context.getAppliedDiscounts() != null) {
+            return sharedQuoteDiscountCents(candidates, context);
+        }
+        long totalDiscountCents = 0;
+
+        for (PlannedStrategy candidate : candidates) {
+            DiscountEvaluatedEvent event = new DiscountEvaluatedEvent();
+            event.begin();
+            long start = System.nanoTime();
+            long discountCents = candidate.strategy().discountAmountCents(context);
+            candidate.meters().recordEvaluation(System.nanoTime() - start);
+            event.evaluated(candidate.strategy().getDiscountType(), context.getTicketType().name(),
+                    context.getQuantity(), discountCents != DiscountStrategy.NOT_APPLIED, discountCents);
+            if (context.getTrace() != null) {
+                context.getTrace().discountEvaluated(context, candidate.strategy(), discountCents);
+            }
+
+            if (discountCents == DiscountStrategy.NOT_APPLIED) {
+                continue;
+            }
+            candidate.meters().recordApplied(discountCents);
+            context.addDiscount(candidate.discountType(), discountCents);
+            totalDiscountCents += discountCents;
+        }
+        return totalDiscountCents;
+    }
+
+    private long sharedQuoteDiscountCents(PlannedStrategy[] candidates, DiscountContext context) {
+        long totalDiscountCents = 0;
+        for (PlannedStrategy candidate : candidates) {
+            long discountCents = candidate.strategy().discountAmountCents(context);
+            if (discountCents == DiscountStrategy.NOT_APPLIED) {
+                continue;
+            }
+            context.getAppliedDiscounts().add(candidate.meters(), discountCents);
+            context.addDiscount(candidate.discountType(), discountCents);
+            totalDiscountCents += discountCents;
+        }
+        return totalDiscountCents;
+    }
+
     public DiscountSummary applyDiscounts(DiscountContext context) {
-        List<DiscountResult> results = sortedStrategies.stream()
-                .filter(strategy -> strategy.isApplicable(context))
-                .map(strategy -> {
-                            DiscountResult result = strategy.calculateDiscount(context);
-                            if (result.applied()) {
-                                log.debug("Discount applied: {} - {}", result.displayName(), result.discountAmount());
-                            }
-                            return result;
-                        }
-
-                ).filter(DiscountResult::applied)
-                .collect(Collectors.toList());
-
-        var totalDiscount = results.stream()
-                .mapToDouble(DiscountResult::discountAmount)
-                .sum();
-
-        if (!results.isEmpty()) {
-            log.info("Applied {} discounts totaling ${} for {}",
-                    results.size(), totalDiscount, context.getTicketType());
+        PlannedStrategy[] candidates = plan.get(context.getTicketType());
+        List<DiscountResult> results = null;
+        long totalDiscountCents = 0;
+
+        for (PlannedStrategy candidate : candidates) {
+            DiscountEvaluatedEvent event = new DiscountEvaluatedEvent();
+            event.begin();
+            long start = System.nanoTime();
+            DiscountResult result = candidate.strategy().isApplicable(context)
+                    ? candidate.strategy().calculateDiscount(context)
+                    : null;
+            candidate.meters().recordEvaluation(System.nanoTime() - start);
+            event.evaluated(candidate.strategy().getDiscountType(), context.getTicketType().name(),
+                    context.getQuantity(), result != null && result.applied(),
+                    result != null ? result.discountAmountCents() : 0);
+
+            if (result == null || !result.applied()) {
+                continue;
+            }
+            candidate.meters().recordApplied(result.discountAmountCents());
+            if (results == null) {
+                results = new ArrayList<>(candidates.length);
+            }
+            results.add(result);
+            totalDiscountCents += result.discountAmountCents();
         }
 
-        return DiscountSummary.builder()
-                .appliedDiscounts(results)
-                .totalDiscountAmount(totalDiscount)
-                .build();
+        if (results == null) {
+            return DiscountSummary.NONE;
+        }
+        return new DiscountSummary(results, totalDiscountCents);
+    }
 
+    private record PlannedStrategy(DiscountStrategy strategy, DiscountType discountType, DiscountMeters meters) {
     }
 
 }
@@ -1,15 +1,42 @@
 package com.cinema.pricing.service.discount;
 
+import com.cinema.pricing.domain.TicketType;
+
 /**
  * Strategy interface for different discount types.
  * Each implementation represents a specific discount rule.
  */
 public interface DiscountStrategy {
 
+    /**
+     * Returned by {@link #discountAmountCents} when the strategy does not apply.
+     */
+    long NOT_APPLIED = -1L;
+
     DiscountResult calculateDiscount(DiscountContext context);
 
+    /**
+     * Returns the discount in cents, or {@link #NOT_APPLIED}, without building a {@link DiscountResult}.
+     * This is what the pricing path calls; implementations should override it to avoid allocating.
+     */
+    default long discountAmountCents(DiscountContext context) {
+        if (!isApplicable(context)) {
+            return NOT_APPLIED;
+        }
+        DiscountResult result = calculateDiscount(context);
+        return result.applied() ? result.discountAmountCents() : NOT_APPLIED;
+    }
+
     boolean isApplicable(DiscountContext context);
 
+    /**
+     * Whether this strategy can ever apply to the given ticket type, whatever the configuration.
+     * Used by the {@link DiscountEngine} to compile a per-ticket-type plan up front.
+     */
+    default boolean supports(TicketType ticketType) {
+        return true;
+    }
+
     int getPriority();
 
     String getDiscountType();
@@ -5,7 +5,9 @@ import lombok.Builder;
 import java.util.List;
 
 @Builder
-public record DiscountSummary(List<DiscountResult> appliedDiscounts, double totalDiscountAmount) {
+public record DiscountSummary(List<DiscountResult> appliedDiscounts, long totalDiscountCents) {
+
+    public static final DiscountSummary NONE = new DiscountSummary(List.of(), 0);
 
     public boolean hasDiscounts() {
         return appliedDiscounts != null && !appliedDiscounts.isEmpty();
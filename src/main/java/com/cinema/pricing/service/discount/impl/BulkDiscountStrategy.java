@@ -1,48 +1,47 @@
 package com.cinema.pricing.service.discount.impl;
 
-import com.cinema.pricing.config.BulkDiscountConfig;
-import com.cinema.pricing.config.PricingConfiguration;
-import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.config.BulkDiscountRules;
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.Money;
 import com.cinema.pricing.service.discount.DiscountContext;
 import com.cinema.pricing.service.discount.DiscountResult;
 import com.cinema.pricing.service.discount.DiscountStrategy;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
-@Slf4j
+/**
+ * Applies the bulk discount tiers of the request's pricing snapshot.
+ */
 @Component
-@RequiredArgsConstructor
 public class BulkDiscountStrategy implements DiscountStrategy {
 
-    private final PricingConfiguration config;
-
     @Override
     public DiscountResult calculateDiscount(DiscountContext context) {
-        return findApplicableBulkDiscount(context.getTicketType(), context.getQuantity())
-                .map(rule -> {
-                    var discount = context.getBaseTotalCost() * rule.getDiscountRate();
+        double rate = rateFor(context);
+        if (rate == BulkDiscountRules.NO_RATE) {
+            return DiscountResult.noDiscount("No applicable bulk discount found for " + context.getTicketType());
+        }
 
-                    log.debug("Bulk discount for {}: {} tickets @ {}% off = ${}",
-                            context.getTicketType(),
-                            context.getQuantity(),
-                            rule.getDiscountRate() * 100,
-                            discount);
+        long discount = Money.discount(context.getBaseTotalCostCents(), rate);
 
-                    return DiscountResult.applied(
-                            getDiscountType(),
-                            getDisplayName(),
-                            discount,
-                            rule.getDiscountRate()
-                    );
-                }).orElse(DiscountResult.noDiscount("No applicable bulk discount found for " + context.getTicketType()));
+        return DiscountResult.applied(
+                getDiscountType(),
+                getDisplayName(),
+                discount,
+                rate
+        );
+    }
+
+    @Override
+    public long discountAmountCents(DiscountContext context) {
+        double rate = rateFor(context);
+        return rate == BulkDiscountRules.NO_RATE
+                ? NOT_APPLIED
+                : Money.discount(context.getBaseTotalCostCents(), rate);
     }
 
     @Override
     public boolean isApplicable(DiscountContext context) {
-        return findApplicableBulkDiscount(context.getTicketType(), context.getQuantity()).isPresent();
+        return rateFor(context) != BulkDiscountRules.NO_RATE;
     }
 
     @Override
@@ -52,7 +51,7 @@ public class BulkDiscountStrategy implements DiscountStrategy {
 
     @Override
     public String getDiscountType() {
-        return "BULK DISCOUNT";
+        return DiscountType.BULK.getCode();
     }
 
     @Override
@@ -60,10 +59,7 @@ public class BulkDiscountStrategy implements DiscountStrategy {
         return "Bulk Purchase Discount";
     }
 
-    private Optional<BulkDiscountConfig> findApplicableBulkDiscount(TicketType ticketType, int quantity) {
-        return config.getBulkDiscounts().stream()
-                .filter(rule -> rule.getTicketType().equalsIgnoreCase(ticketType.name()))
-                .filter(rule -> quantity >= rule.getQuantity())
-                .findFirst();
+    private double rateFor(DiscountContext context) {
+        return context.getSnapshot().getBulkDiscountRules().rateFor(context.getTicketType(), context.getQuantity());
     }
 }
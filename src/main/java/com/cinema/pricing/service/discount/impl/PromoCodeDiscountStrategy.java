@@ -0,0 +1,52 @@
+package com.cinema.pricing.service.discount.impl;
+
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.Money;
+import com.cinema.pricing.promo.PromoCode;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountResult;
+import com.cinema.pricing.service.discount.DiscountStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the rate of the transaction's promo code off every ticket group.
+ * The code has been checked against the {@link com.cinema.pricing.promo.PromoCodeCatalogue} and
+ * redeemed once for the transaction before its ticket groups are priced.
+ */
+@Component
+public class PromoCodeDiscountStrategy implements DiscountStrategy {
+
+    @Override
+    public DiscountResult calculateDiscount(DiscountContext context) {
+        PromoCode promoCode = context.getPromoCode();
+        long discount = Money.discount(context.getBaseTotalCostCents(), promoCode.discountRate());
+        return DiscountResult.applied(getDiscountType(), getDisplayName(), discount, promoCode.discountRate());
+    }
+
+    @Override
+    public long discountAmountCents(DiscountContext context) {
+        return isApplicable(context)
+                ? Money.discount(context.getBaseTotalCostCents(), context.getPromoCode().discountRate())
+                : NOT_APPLIED;
+    }
+
+    @Override
+    public boolean isApplicable(DiscountContext context) {
+        return context.getPromoCode() != null;
+    }
+
+    @Override
+    public int getPriority() {
+        return 50;
+    }
+
+    @Override
+    public String getDiscountType() {
+        return DiscountType.PROMO_CODE.getCode();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Promo Code Discount";
+    }
+}
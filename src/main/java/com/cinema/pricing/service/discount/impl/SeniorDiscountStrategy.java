@@ -1,30 +1,28 @@
 package com.cinema.pricing.service.discount.impl;
 
-import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.Money;
 import com.cinema.pricing.domain.TicketType;
 import com.cinema.pricing.service.discount.DiscountContext;
 import com.cinema.pricing.service.discount.DiscountResult;
 import com.cinema.pricing.service.discount.DiscountStrategy;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
-@RequiredArgsConstructor
 public class SeniorDiscountStrategy implements DiscountStrategy {
 
-    private final PricingConfiguration config;
-
     @Override
     public DiscountResult calculateDiscount(DiscountContext context) {
-        double discount = context.getBaseTotalCost() * config.getSeniorDiscountRate();
-        log.debug("Senior discount for {}: {} tickets @ {}% off = ${}",
-                context.getTicketType(),
-                context.getQuantity(),
-                config.getSeniorDiscountRate() * 100,
-                discount);
-        return DiscountResult.applied(getDiscountType(), getDisplayName(), discount, config.getSeniorDiscountRate());
+        double rate = context.getSnapshot().getSeniorDiscountRate();
+        long discount = Money.discount(context.getBaseTotalCostCents(), rate);
+        return DiscountResult.applied(getDiscountType(), getDisplayName(), discount, rate);
+    }
+
+    @Override
+    public long discountAmountCents(DiscountContext context) {
+        return isApplicable(context)
+                ? Money.discount(context.getBaseTotalCostCents(), context.getSnapshot().getSeniorDiscountRate())
+                : NOT_APPLIED;
     }
 
     @Override
@@ -32,6 +30,11 @@ public class SeniorDiscountStrategy implements DiscountStrategy {
         return context.getTicketType() == TicketType.SENIOR;
     }
 
+    @Override
+    public boolean supports(TicketType ticketType) {
+        return ticketType == TicketType.SENIOR;
+    }
+
     @Override
     public int getPriority() {
         return 150;
@@ -39,7 +42,7 @@ public class SeniorDiscountStrategy implements DiscountStrategy {
 
     @Override
     public String getDiscountType() {
-        return "SENIOR_DISCOUNT";
+        return DiscountType.SENIOR.getCode();
     }
 
     @Override
@@ -0,0 +1,54 @@
+package com.cinema.pricing.service.discount.impl;
+
+import com.cinema.pricing.config.TimeOfDayDiscounts;
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.Money;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountResult;
+import com.cinema.pricing.service.discount.DiscountStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matinee and off-peak discount: takes the time-of-day discount in effect when the transaction is
+ * priced off every ticket group. The rate comes from the snapshot's {@link TimeOfDayDiscounts}
+ * calendar and is looked up once per transaction, when its context is created.
+ */
+@Component
+public class TimeOfDayDiscountStrategy implements DiscountStrategy {
+
+    private static final double BASIS_POINTS = 10_000.0;
+
+    @Override
+    public DiscountResult calculateDiscount(DiscountContext context) {
+        long discount = Money.basisPointsOf(context.getBaseTotalCostCents(), context.getTimeOfDayBasisPoints());
+        return DiscountResult.applied(getDiscountType(), getDisplayName(), discount,
+                context.getTimeOfDayBasisPoints() / BASIS_POINTS);
+    }
+
+    @Override
+    public long discountAmountCents(DiscountContext context) {
+        return isApplicable(context)
+                ? Money.basisPointsOf(context.getBaseTotalCostCents(), context.getTimeOfDayBasisPoints())
+                : NOT_APPLIED;
+    }
+
+    @Override
+    public boolean isApplicable(DiscountContext context) {
+        return context.getTimeOfDayBasisPoints() != TimeOfDayDiscounts.NO_DISCOUNT;
+    }
+
+    @Override
+    public int getPriority() {
+        return 125;
+    }
+
+    @Override
+    public String getDiscountType() {
+        return DiscountType.TIME_OF_DAY.getCode();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Matinee / Off-Peak Discount";
+    }
+}
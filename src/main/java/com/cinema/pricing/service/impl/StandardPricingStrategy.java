@@ -1,75 +1,51 @@
 package com.cinema.pricing.service.impl;
 
-import com.cinema.pricing.config.BulkDiscountConfig;
-import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.OccupancyBands;
+import com.cinema.pricing.domain.Money;
 import com.cinema.pricing.domain.TicketType;
 import com.cinema.pricing.service.PricingStrategy;
 import com.cinema.pricing.service.TicketPriceProvider;
 import com.cinema.pricing.service.discount.DiscountContext;
 import com.cinema.pricing.service.discount.DiscountEngine;
-import com.cinema.pricing.service.discount.DiscountSummary;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.Map;
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class StandardPricingStrategy implements PricingStrategy {
 
-    private final PricingConfiguration pricingConfiguration;
     private final TicketPriceProvider priceProvider;
     private final DiscountEngine discountEngine;
 
-    @PostConstruct
-    public void init() {
-        if (pricingConfiguration.getBulkDiscounts().isEmpty()) {
-            log.info("No bulk discounts configured, using default children bulk discount (3+ tickets @ 25% off)");
-            BulkDiscountConfig defaultRule = new BulkDiscountConfig();
-            defaultRule.setTicketType("children");
-            defaultRule.setQuantity(3);
-            defaultRule.setDiscountRate(0.25);
-            pricingConfiguration.getBulkDiscounts().add(defaultRule);
-        }
-    }
-
     @Override
-    public double calculateCost(TicketType ticketType, int quantity, Map<TicketType, Integer> ticketCounts) {
-        double basePrice = priceProvider.getBasePrice(ticketType);
-        double baseTotalCost = basePrice * quantity;
-
-        DiscountContext context = DiscountContext.builder()
-                .ticketType(ticketType)
-                .quantity(quantity)
-                .basePrice(basePrice)
-                .baseTotalCost(baseTotalCost)
-                .allTicketCounts(ticketCounts)
-                .transactionTime(LocalDateTime.now())
-                .build();
-
-        DiscountSummary summary = discountEngine.applyDiscounts(context);
+    public long calculateCost(DiscountContext context, TicketType ticketType, int quantity) {
+        long baseTotalCost = select(context, ticketType, quantity);
 
-        var finalCost = baseTotalCost - summary.totalDiscountAmount();
-        finalCost = finalCost < 0 ? 0.0 : finalCost;
+        return Math.max(baseTotalCost - discountEngine.totalDiscountCents(context), 0);
+    }
 
-        // Round to 2 decimal places
-        return Math.round(finalCost * 100.0) / 100.0;
+    @Override
+    public long baseCost(DiscountContext context, TicketType ticketType, int quantity) {
+        return select(context, ticketType, quantity);
     }
 
     @Override
-    public boolean isDiscountApplied(TicketType ticketType, int quantity, Map<TicketType, Integer> ticketCounts) {
-        DiscountContext context = DiscountContext.builder()
-                .ticketType(ticketType)
-                .quantity(quantity)
-                .allTicketCounts(ticketCounts)
-                .transactionTime(LocalDateTime.now())
-                .build();
+    public boolean isDiscountApplied(DiscountContext context, TicketType ticketType, int quantity) {
+        select(context, ticketType, quantity);
         return discountEngine.applyDiscounts(context).hasDiscounts();
     }
 
-
+    private long select(DiscountContext context, TicketType ticketType, int quantity) {
+        long basePrice = priceProvider.getBasePriceCents(context.getSnapshot(), ticketType);
+        if (context.getPriceFactorBasisPoints() != OccupancyBands.BASE_PRICE) {
+            // demand pricing moves the base price, discounts then apply to the adjusted price
+            basePrice = Money.basisPointsOf(basePrice, context.getPriceFactorBasisPoints());
+        }
+        // seat surcharges are part of the cost the discounts apply to
+        long baseTotalCost = Money.times(basePrice, quantity) + context.getSeatSurchargeCents(ticketType);
+        context.select(ticketType, quantity, basePrice, baseTotalCost);
+        return baseTotalCost;
+    }
 }
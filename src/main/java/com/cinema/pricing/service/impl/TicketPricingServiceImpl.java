@@ -1,74 +1,169 @@
 package com.cinema.pricing.service.impl;
 
-import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.audit.PricingAuditJournal;
+import com.cinema.pricing.cache.QuoteCache;
+import com.cinema.pricing.cache.QuoteTemplate;
+import com.cinema.pricing.cache.TransactionResultCache;
+import com.cinema.pricing.config.OccupancyBands;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.decision.DecisionTrace;
+import com.cinema.pricing.decision.PricingDecisionRecorder;
 import com.cinema.pricing.domain.TicketType;
 import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.domain.TransactionOutcome;
+import com.cinema.pricing.jfr.TransactionPricedEvent;
+import com.cinema.pricing.metrics.PricingMetrics;
 import com.cinema.pricing.model.Customer;
-import com.cinema.pricing.service.PricingStrategy;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.occupancy.ShowingOccupancyTracker;
+import com.cinema.pricing.promo.PromoCode;
+import com.cinema.pricing.promo.PromoCodeCatalogue;
+import com.cinema.pricing.service.SeatSurcharges;
 import com.cinema.pricing.service.TicketPricingService;
 import com.cinema.pricing.service.TicketTypeResolver;
+import com.cinema.pricing.venue.VenuePricingRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Handles the business logic for calculating ticket prices based on customer ages.
+ * Each transaction, or each batch, is priced against the one {@link PricingSnapshot} that was
+ * current when it started, or against the snapshot of their venue when they name one.
+ * Transactions for a showing are priced at the occupancy band of the seats sold for it so far,
+ * and add their own seats to it; customers with a seat pay the surcharge of its category on top
+ * of their ticket type's price. The path from customers to the priced transaction works on primitive
+ * ticket counts and allocates little more than the resulting calculation.
+ * Each priced transaction is a {@link TransactionPricedEvent}, free unless a flight recording enables it.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TicketPricingServiceImpl implements TicketPricingService {
 
-    private final PricingStrategy pricingStrategy;
+    private static final int TICKET_TYPE_COUNT = TicketType.values().length;
 
     private final TicketTypeResolver ticketTypeResolver;
 
+    private final PricingMetrics pricingMetrics;
+
+    private final PricingSnapshotHolder snapshotHolder;
+
+    private final TransactionResultCache resultCache;
+
+    private final QuoteCache quoteCache;
+
+    private final PricingDecisionRecorder decisionRecorder;
+
+    private final PromoCodeCatalogue promoCodeCatalogue;
+
+    private final ShowingOccupancyTracker occupancyTracker;
+
+    private final VenuePricingRegistry venuePricingRegistry;
+
+    private final PricingAuditJournal auditJournal;
+
     @Override
     public TransactionCalculation calculatePrice(Long transactionId, List<Customer> customers) {
-        log.debug("Calculating ticket prices for transaction {} with {} customers",
-                transactionId, customers.size());
+        return price(snapshotHolder.current(),
+                TransactionRequest.builder().transactionId(transactionId).customers(customers).build(), false);
+    }
 
-        Map<TicketType, Integer> ticketCounts = groupCustomersByTicketType(customers);
+    @Override
+    public TransactionCalculation calculatePrice(TransactionRequest transaction, boolean traced) {
+        return price(snapshotFor(snapshotHolder.current(), transaction), transaction, traced);
+    }
+
+    @Override
+    public List<TransactionOutcome> calculatePrices(List<TransactionRequest> transactions, boolean traced) {
+        log.debug("Calculating ticket prices for batch of {} transactions", transactions.size());
+        PricingSnapshot snapshot = snapshotHolder.current();
+
+        List<TransactionOutcome> outcomes = new ArrayList<>(transactions.size());
+        for (TransactionRequest transaction : transactions) {
+            try {
+                outcomes.add(TransactionOutcome.success(price(snapshotFor(snapshot, transaction), transaction, traced)));
+            } catch (IllegalArgumentException ex) {
+                log.debug("Transaction {} could not be priced: {}", transaction.getTransactionId(), ex.getMessage());
+                outcomes.add(TransactionOutcome.failure(transaction.getTransactionId(), ex.getMessage()));
+            }
+        }
+        return outcomes;
+    }
+
+    private PricingSnapshot snapshotFor(PricingSnapshot current, TransactionRequest transaction) {
+        return transaction.getVenueId() != null ? venuePricingRegistry.snapshot(transaction.getVenueId()) : current;
+    }
+
+    private TransactionCalculation price(PricingSnapshot snapshot, TransactionRequest transaction, boolean traced) {
+        TransactionPricedEvent event = new TransactionPricedEvent();
+        event.begin();
+        DecisionTrace trace = decisionRecorder.startTrace(snapshot, transaction.getTransactionId(), traced);
+        TransactionCalculation calculation;
+        if (trace != null) {
+            // recorded transactions bypass the caches, so that every decision is made and seen
+            calculation = calculatePrice(snapshot, transaction, trace);
+        } else {
+            calculation = resultCache.get(snapshot, transaction, () -> calculatePrice(snapshot, transaction, null));
+        }
+        auditJournal.append(snapshot, calculation);
+        event.priced(transaction.getCustomers().size(), calculation.getTicketCalculations().size(),
+                snapshot.getVersion(), transaction.getVenueId(), trace != null);
+        return calculation;
+    }
 
-        List<TicketCalculation> ticketCalculations = calculateTicketCosts(ticketCounts);
+    private TransactionCalculation calculatePrice(PricingSnapshot snapshot, TransactionRequest transaction,
+                                                  DecisionTrace trace) {
+        long start = System.nanoTime();
+        List<Customer> customers = transaction.getCustomers();
 
-        double totalCost = ticketCalculations.stream()
-                .mapToDouble(TicketCalculation::getTotalCost)
-                .sum();
-        totalCost = Math.round(totalCost * 100.0) / 100.0;
+        int[] ticketCounts = countTicketTypes(snapshot, customers);
+        long[] seatSurchargesCents = SeatSurcharges.surchargesCents(snapshot, ticketTypeResolver,
+                transaction.getAuditoriumId(), customers);
+        pricingMetrics.recordTypeResolution(System.nanoTime() - start);
 
-        log.debug("Total cost for transaction {} is {}", transactionId, totalCost);
+        // redeemed after the customers are resolved, so a transaction rejected for its customers does not use it up
+        PromoCode promoCode = transaction.getPromoCode() != null
+                ? promoCodeCatalogue.redeem(transaction.getTransactionId(), transaction.getPromoCode())
+                : null;
+        int priceFactorBasisPoints = priceFactorBasisPoints(snapshot, transaction.getTransactionId(),
+                transaction.getShowingId(), customers.size());
+        QuoteTemplate quote = quoteCache.quote(snapshot, ticketCounts, seatSurchargesCents, priceFactorBasisPoints,
+                promoCode, trace);
+        if (trace != null) {
+            trace.transactionPriced(quote.totalCostCents());
+        }
 
-        return TransactionCalculation.builder()
-                .transactionId(transactionId)
-                .ticketCalculations(ticketCalculations)
-                .totalCost(totalCost)
-                .build();
+        TransactionCalculation calculation = quote.forTransaction(transaction.getTransactionId());
+        pricingMetrics.recordTransaction(System.nanoTime() - start);
+        return calculation;
     }
 
-    private List<TicketCalculation> calculateTicketCosts(Map<TicketType, Integer> ticketCounts) {
-        return ticketCounts.entrySet().stream()
-                .map(entry -> TicketCalculation.builder()
-                        .ticketType(entry.getKey())
-                        .quantity(entry.getValue())
-                        .totalCost(pricingStrategy.calculateCost(entry.getKey(), entry.getValue(), ticketCounts))
-                        .build())
-                .sorted(Comparator.comparing(TicketCalculation::getTicketTypeName))
-                .collect(Collectors.toList());
+    /**
+     * Sells the seats of the transaction for its showing and returns the price factor of the
+     * occupancy before them, so the seat that fills a band is still sold at the lower price.
+     * A retried transaction is not sold again and gets the occupancy of its first sale.
+     */
+    private int priceFactorBasisPoints(PricingSnapshot snapshot, Long transactionId, String showingId, int seats) {
+        if (showingId == null) {
+            return OccupancyBands.BASE_PRICE;
+        }
+        return snapshot.getOccupancyBands().priceFactorBasisPoints(
+                occupancyTracker.sell(transactionId, showingId, seats));
     }
 
-    private Map<TicketType, Integer> groupCustomersByTicketType(List<Customer> customers) {
-        return customers.stream()
-                .map(Customer::getAge)
-                .map(ticketTypeResolver::resolveTicketType)
-                .collect(Collectors.groupingBy(
-                        ticketType -> ticketType,
-                        Collectors.summingInt(e -> 1)
-                ));
+    /**
+     * Counts the customers per ticket type, indexed by {@link TicketType#ordinal()}.
+     */
+    private int[] countTicketTypes(PricingSnapshot snapshot, List<Customer> customers) {
+        int[] ticketCounts = new int[TICKET_TYPE_COUNT];
+        for (int i = 0; i < customers.size(); i++) {
+            ticketCounts[ticketTypeResolver.resolveTicketType(snapshot, customers.get(i).getAge()).ordinal()]++;
+        }
+        return ticketCounts;
     }
 }
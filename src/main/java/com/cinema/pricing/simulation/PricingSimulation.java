@@ -0,0 +1,209 @@
+package com.cinema.pricing.simulation;
+
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingReloadProperties;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.service.discount.DiscountEngine;
+import com.cinema.pricing.service.discount.DiscountStrategy;
+import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.PromoCodeDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.SeniorDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.TimeOfDayDiscountStrategy;
+import com.cinema.pricing.service.impl.ConfigBasedTicketPriceProvider;
+import com.cinema.pricing.service.impl.ConfigBasedTicketTypeResolver;
+import com.cinema.pricing.service.impl.StandardPricingStrategy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Offline what-if simulation: prices a file of recorded transactions under the current and a
+ * candidate pricing configuration and reports the revenue deltas per ticket type and per
+ * discount type, before the candidate is deployed:
+ * <pre>
+ * ./gradlew simulatePricing --args="--current src/main/resources/application.yaml --candidate candidate.yaml
+ *     [--at 2026-06-01T14:00] [--parallelism 8] transactions.ndjson"
+ * </pre>
+ * Transactions are newline-delimited {@link TransactionRequest}s, as sent to the streaming API.
+ * The file is read sequentially in chunks of {@link #CHUNK_LINES} lines, each priced by a
+ * fork-join task that splits it across the pool's workers. At most two chunks per worker are in
+ * memory at once, so memory stays bounded whatever the file size.
+ */
+public final class PricingSimulation implements AutoCloseable {
+
+    static final int CHUNK_LINES = 4096;
+    private static final int SEQUENTIAL_LINES = 256;
+
+    private final SimulationPricer current;
+    private final SimulationPricer candidate;
+    private final String[] discountTypes;
+    private final LocalDateTime transactionTime;
+    private final ObjectReader requestReader;
+    private final ForkJoinPool pool;
+
+    PricingSimulation(PricingConfiguration currentConfig, PricingConfiguration candidateConfig,
+                      LocalDateTime transactionTime, int parallelism) {
+        List<DiscountStrategy> strategies = List.of(new BulkDiscountStrategy(), new SeniorDiscountStrategy(),
+                new TimeOfDayDiscountStrategy(), new PromoCodeDiscountStrategy());
+        // the engine only depends on the strategies, each pricer's snapshot comes with the context
+        DiscountEngine discountEngine = new DiscountEngine(strategies, new PricingMetrics(new SimpleMeterRegistry()));
+        discountEngine.init();
+        StandardPricingStrategy pricingStrategy = new StandardPricingStrategy(new ConfigBasedTicketPriceProvider(),
+                discountEngine);
+        ConfigBasedTicketTypeResolver ticketTypeResolver = new ConfigBasedTicketTypeResolver();
+
+        this.discountTypes = strategies.stream().map(DiscountStrategy::getDiscountType).toArray(String[]::new);
+        this.current = new SimulationPricer(PricingSnapshot.compile(currentConfig, 1, "current"),
+                ticketTypeResolver, pricingStrategy, discountEngine, discountTypes);
+        this.candidate = new SimulationPricer(PricingSnapshot.compile(candidateConfig, 2, "candidate"),
+                ticketTypeResolver, pricingStrategy, discountEngine, discountTypes);
+        this.transactionTime = transactionTime;
+        // unknown fields are ignored, as by the API
+        this.requestReader = new ObjectMapper().readerFor(TransactionRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path currentFile = null;
+        Path candidateFile = null;
+        Path transactions = null;
+        LocalDateTime transactionTime = LocalDateTime.now();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--current" -> currentFile = Path.of(args[++i]);
+                case "--candidate" -> candidateFile = Path.of(args[++i]);
+                case "--at" -> transactionTime = LocalDateTime.parse(args[++i]);
+                case "--parallelism" -> parallelism = Integer.parseInt(args[++i]);
+                default -> transactions = Path.of(args[i]);
+            }
+        }
+        if (currentFile == null || candidateFile == null || transactions == null) {
+            System.err.println("Usage: PricingSimulation --current <config> --candidate <config> "
+                    + "[--at <yyyy-MM-ddTHH:mm>] [--parallelism <threads>] <transactions.ndjson>");
+            System.exit(2);
+        }
+
+        PricingConfigurationLoader loader = new PricingConfigurationLoader(new StandardEnvironment(),
+                new PricingReloadProperties());
+        long start = System.nanoTime();
+        try (PricingSimulation simulation = new PricingSimulation(loader.loadFromFile(currentFile),
+                loader.loadFromFile(candidateFile), transactionTime, parallelism);
+             BufferedReader input = Files.newBufferedReader(transactions, StandardCharsets.UTF_8)) {
+            simulation.run(input).print(System.out);
+        }
+        System.err.printf("Simulated in %d ms on %d threads%n", (System.nanoTime() - start) / 1_000_000, parallelism);
+    }
+
+    /**
+     * Prices every line of the input under both configurations.
+     */
+    SimulationResult run(BufferedReader input) throws IOException, InterruptedException {
+        SimulationResult result = new SimulationResult(discountTypes);
+        int maxChunksInFlight = pool.getParallelism() * 2;
+        Semaphore inFlight = new Semaphore(maxChunksInFlight);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        List<String> chunk = new ArrayList<>(CHUNK_LINES);
+        String line;
+        while ((line = input.readLine()) != null && failure.get() == null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(line);
+            if (chunk.size() == CHUNK_LINES) {
+                submit(chunk, result, inFlight, failure);
+                chunk = new ArrayList<>(CHUNK_LINES);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            submit(chunk, result, inFlight, failure);
+        }
+        // every chunk has released its permit once all permits are back
+        inFlight.acquire(maxChunksInFlight);
+        if (failure.get() != null) {
+            throw new IllegalStateException("Simulation failed: " + failure.get().getMessage(), failure.get());
+        }
+        return result;
+    }
+
+    private void submit(List<String> lines, SimulationResult result, Semaphore inFlight,
+                        AtomicReference<RuntimeException> failure) throws InterruptedException {
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                result.add(new PriceLines(lines, 0, lines.size()).invoke());
+            } catch (RuntimeException ex) {
+                failure.compareAndSet(null, ex);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Prices a range of a chunk's lines, split in halves down to {@link #SEQUENTIAL_LINES}.
+     */
+    private final class PriceLines extends RecursiveTask<SimulationResult> {
+
+        private final List<String> lines;
+        private final int from;
+        private final int to;
+
+        PriceLines(List<String> lines, int from, int to) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from > SEQUENTIAL_LINES) {
+                int middle = (from + to) >>> 1;
+                PriceLines left = new PriceLines(lines, from, middle);
+                left.fork();
+                SimulationResult result = new PriceLines(lines, middle, to).compute();
+                result.add(left.join());
+                return result;
+            }
+            SimulationResult result = new SimulationResult(discountTypes);
+            for (int i = from; i < to; i++) {
+                TransactionRequest transaction;
+                try {
+                    transaction = requestReader.readValue(lines.get(i));
+                } catch (JsonProcessingException ex) {
+                    result.malformed++;
+                    continue;
+                }
+                current.price(transaction, transactionTime, result.current);
+                candidate.price(transaction, transactionTime, result.candidate);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cinema.pricing.simulation;
+
+import com.cinema.pricing.config.OccupancyBands;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.service.PricingStrategy;
+import com.cinema.pricing.service.SeatSurcharges;
+import com.cinema.pricing.service.TicketTypeResolver;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountEngine;
+import com.cinema.pricing.service.discount.DiscountResult;
+import com.cinema.pricing.service.discount.DiscountSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Prices recorded transactions against one {@link PricingSnapshot} with the application's
+ * discount engine, adding each ticket group's cost and every applied discount to the totals.
+ * The discounts of a ticket group are applied once, and its cost is derived from them as
+ * {@link PricingStrategy#calculateCost} does.
+ * Nothing is cached, redeemed or sold: promo codes are ignored, showings are priced at the base
+ * price and every transaction is priced at the simulation's transaction time.
+ */
+final class SimulationPricer {
+
+    private static final TicketType[] TICKET_TYPES = TicketType.values();
+
+    private final PricingSnapshot snapshot;
+    private final TicketTypeResolver ticketTypeResolver;
+    private final PricingStrategy pricingStrategy;
+    private final DiscountEngine discountEngine;
+    private final String[] discountTypes;
+
+    SimulationPricer(PricingSnapshot snapshot, TicketTypeResolver ticketTypeResolver, PricingStrategy pricingStrategy,
+                     DiscountEngine discountEngine, String[] discountTypes) {
+        this.snapshot = snapshot;
+        this.ticketTypeResolver = ticketTypeResolver;
+        this.pricingStrategy = pricingStrategy;
+        this.discountEngine = discountEngine;
+        this.discountTypes = discountTypes;
+    }
+
+    /**
+     * Prices the transaction into the totals, or counts it as rejected when the configuration
+     * cannot price its customers, as the API would answer 400.
+     */
+    void price(TransactionRequest transaction, LocalDateTime transactionTime, SimulationTotals totals) {
+        List<Customer> customers = transaction.getCustomers();
+        if (!isComplete(customers)) {
+            totals.rejected++;
+            return;
+        }
+        int[] ticketCounts = new int[TICKET_TYPES.length];
+        long[] seatSurchargesCents;
+        try {
+            for (Customer customer : customers) {
+                ticketCounts[ticketTypeResolver.resolveTicketType(snapshot, customer.getAge()).ordinal()]++;
+            }
+            seatSurchargesCents = SeatSurcharges.surchargesCents(snapshot, ticketTypeResolver,
+                    transaction.getAuditoriumId(), customers);
+        } catch (IllegalArgumentException ex) {
+            totals.rejected++;
+            return;
+        }
+
+        DiscountContext context = DiscountContext.forTransaction(snapshot, ticketCounts, seatSurchargesCents,
+                transactionTime, OccupancyBands.BASE_PRICE, null, null);
+        for (TicketType ticketType : TICKET_TYPES) {
+            int quantity = ticketCounts[ticketType.ordinal()];
+            if (quantity == 0) {
+                continue;
+            }
+            long baseCostCents = pricingStrategy.baseCost(context, ticketType, quantity);
+            DiscountSummary discounts = discountEngine.applyDiscounts(context);
+            long costCents = Math.max(baseCostCents - discounts.totalDiscountCents(), 0);
+            totals.tickets[ticketType.ordinal()] += quantity;
+            totals.revenueCents[ticketType.ordinal()] += costCents;
+            for (DiscountResult discount : discounts.appliedDiscounts()) {
+                totals.discountCents[discountIndex(discount.discountType())] += discount.discountAmountCents();
+            }
+            totals.clampedDiscountCents += discounts.totalDiscountCents() - (baseCostCents - costCents);
+        }
+        totals.transactions++;
+    }
+
+    /**
+     * Whether the transaction has customers and each has an age, which the API requires of a request.
+     */
+    private static boolean isComplete(List<Customer> customers) {
+        if (customers == null || customers.isEmpty()) {
+            return false;
+        }
+        for (Customer customer : customers) {
+            if (customer == null || customer.getAge() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int discountIndex(String discountType) {
+        for (int i = 0; i < discountTypes.length; i++) {
+            if (discountTypes[i].equals(discountType)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Discount type without a simulation total: " + discountType);
+    }
+}
@@ -0,0 +1,70 @@
+package com.cinema.pricing.simulation;
+
+import com.cinema.pricing.domain.Money;
+import com.cinema.pricing.domain.TicketType;
+
+import java.io.PrintStream;
+
+/**
+ * Totals of the recorded transactions under the current and the candidate configuration, and
+ * the report of their deltas per ticket type and per discount type.
+ */
+final class SimulationResult {
+
+    final String[] discountTypes;
+    final SimulationTotals current;
+    final SimulationTotals candidate;
+    long malformed;
+
+    SimulationResult(String[] discountTypes) {
+        this.discountTypes = discountTypes;
+        this.current = new SimulationTotals(discountTypes.length);
+        this.candidate = new SimulationTotals(discountTypes.length);
+    }
+
+    synchronized void add(SimulationResult other) {
+        current.add(other.current);
+        candidate.add(other.candidate);
+        malformed += other.malformed;
+    }
+
+    synchronized void print(PrintStream out) {
+        out.printf("Transactions: %d priced under current, %d under candidate, %d rejected under current, "
+                        + "%d under candidate, %d malformed lines%n",
+                current.transactions, candidate.transactions, current.rejected, candidate.rejected, malformed);
+        out.println();
+        out.printf("%-28s %12s %12s %16s %16s %16s %9s%n", "Ticket type", "Tickets", "Candidate",
+                "Revenue", "Candidate", "Delta", "Delta %");
+        for (TicketType ticketType : TicketType.values()) {
+            int i = ticketType.ordinal();
+            printRow(out, ticketType.getDisplayName(), current.tickets[i], candidate.tickets[i],
+                    current.revenueCents[i], candidate.revenueCents[i]);
+        }
+        printRow(out, "Total", sum(current.tickets), sum(candidate.tickets),
+                current.totalRevenueCents(), candidate.totalRevenueCents());
+        out.println();
+        out.printf("%-28s %12s %12s %16s %16s %16s %9s%n", "Discount type", "", "",
+                "Discounts", "Candidate", "Delta", "Delta %");
+        for (int i = 0; i < discountTypes.length; i++) {
+            printRow(out, discountTypes[i], -1, -1, current.discountCents[i], candidate.discountCents[i]);
+        }
+        printRow(out, "Not given, cost at zero", -1, -1, current.clampedDiscountCents, candidate.clampedDiscountCents);
+    }
+
+    private static void printRow(PrintStream out, String name, long tickets, long candidateTickets,
+                                 long cents, long candidateCents) {
+        out.printf("%-28s %12s %12s %16s %16s %16s %9s%n", name,
+                tickets >= 0 ? Long.toString(tickets) : "",
+                candidateTickets >= 0 ? Long.toString(candidateTickets) : "",
+                Money.toString(cents), Money.toString(candidateCents), Money.toString(candidateCents - cents),
+                cents != 0 ? String.format("%+.2f%%", (candidateCents - cents) * 100.0 / cents) : "");
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
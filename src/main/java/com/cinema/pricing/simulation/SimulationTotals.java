@@ -0,0 +1,46 @@
+package com.cinema.pricing.simulation;
+
+import com.cinema.pricing.domain.TicketType;
+
+/**
+ * Tickets, revenue and discounts of the transactions priced under one configuration.
+ * Revenue is indexed by {@link TicketType#ordinal()}, discounts by the simulation's discount types.
+ * Discounts are the amounts the strategies calculated; where together they exceed a ticket group's
+ * base cost, the cost is clamped at zero and the excess, never given, is added to
+ * {@link #clampedDiscountCents}, so that revenue plus discounts less it is the base cost.
+ * Not thread-safe: each fork-join task fills its own and they are added up.
+ */
+final class SimulationTotals {
+
+    final long[] tickets = new long[TicketType.values().length];
+    final long[] revenueCents = new long[TicketType.values().length];
+    final long[] discountCents;
+    long clampedDiscountCents;
+    long transactions;
+    long rejected;
+
+    SimulationTotals(int discountTypes) {
+        this.discountCents = new long[discountTypes];
+    }
+
+    void add(SimulationTotals other) {
+        for (int i = 0; i < tickets.length; i++) {
+            tickets[i] += other.tickets[i];
+            revenueCents[i] += other.revenueCents[i];
+        }
+        for (int i = 0; i < discountCents.length; i++) {
+            discountCents[i] += other.discountCents[i];
+        }
+        clampedDiscountCents += other.clampedDiscountCents;
+        transactions += other.transactions;
+        rejected += other.rejected;
+    }
+
+    long totalRevenueCents() {
+        long total = 0;
+        for (long cents : revenueCents) {
+            total += cents;
+        }
+        return total;
+    }
+}
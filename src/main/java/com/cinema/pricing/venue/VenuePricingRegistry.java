@@ -0,0 +1,140 @@
+package com.cinema.pricing.venue;
+
+import com.cinema.pricing.config.PricingConfigurationChangedEvent;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.VenuePricingProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable {@link PricingSnapshot}s per venue, each compiled from its own file in
+ * {@code pricing.venues.directory}; settings a venue file leaves out take their defaults.
+ * <p>
+ * A venue is loaded on its first transaction and then found with a single concurrent hash
+ * lookup. At most {@code pricing.venues.maximum-venues} are kept and venues without transactions
+ * for {@code pricing.venues.expire-after-idle} are dropped; all are dropped when the pricing
+ * configuration is reloaded, so edited files are read again. Venues with equal rules share the
+ * compiled rules, see {@link PricingSnapshot}.
+ * <p>
+ * Venue ids without a file are remembered for {@code pricing.venues.unknown-venue-expiry}, so that
+ * requests for an unknown venue are rejected without looking for its file each time; a file added
+ * for such a venue is found once that expires.
+ * <p>
+ * Venue snapshots are not the published snapshot, so venue transactions are never answered from
+ * the precomputed quote tables of the {@link com.cinema.pricing.cache.QuoteCache}: each one has its
+ * discounts calculated.
+ */
+@Slf4j
+@Component
+public class VenuePricingRegistry {
+
+    private static final String[] EXTENSIONS = {".yaml", ".yml", ".properties"};
+    private static final int MAX_VENUE_ID_LENGTH = 64;
+
+    private final PricingConfigurationLoader configurationLoader;
+    private final Path directory;
+    private final Cache<String, PricingSnapshot> venues;
+    private final Cache<String, Boolean> unknownVenues;
+    // venue snapshots count down from -2, so their versions never match a global snapshot's in the caches
+    private final AtomicLong versions = new AtomicLong(-1);
+
+    public VenuePricingRegistry(VenuePricingProperties properties, PricingConfigurationLoader configurationLoader,
+                                MeterRegistry meterRegistry) {
+        this.configurationLoader = configurationLoader;
+        this.directory = properties.getDirectory() != null ? Path.of(properties.getDirectory()) : null;
+        this.venues = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumVenues())
+                .expireAfterAccess(properties.getExpireAfterIdle())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, venues, "pricing.venues");
+        this.unknownVenues = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumVenues())
+                .expireAfterWrite(properties.getUnknownVenueExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownVenues, "pricing.venues.unknown");
+    }
+
+    /**
+     * Returns the snapshot of the venue, loading it from its file when it is not in memory.
+     *
+     * @throws IllegalArgumentException when the venue has no pricing file, or its file cannot be read
+     *                                  or has invalid rules, so that only its transactions are rejected
+     */
+    public PricingSnapshot snapshot(String venueId) {
+        if (directory == null || !isVenueId(venueId) || unknownVenues.getIfPresent(venueId) != null) {
+            throw new IllegalArgumentException("Unknown venue: " + venueId);
+        }
+        PricingSnapshot snapshot = venues.get(venueId, this::load);
+        if (snapshot == null) {
+            unknownVenues.put(venueId, Boolean.TRUE);
+            throw new IllegalArgumentException("Unknown venue: " + venueId);
+        }
+        return snapshot;
+    }
+
+    @EventListener
+    public void onPricingConfigurationChanged(PricingConfigurationChangedEvent event) {
+        venues.invalidateAll();
+        unknownVenues.invalidateAll();
+    }
+
+    long loadedVenues() {
+        venues.cleanUp();
+        return venues.estimatedSize();
+    }
+
+    // null when the venue has no file, which Caffeine does not cache, so it is remembered in unknownVenues
+    private PricingSnapshot load(String venueId) {
+        Path file = venueFile(venueId);
+        if (file == null) {
+            return null;
+        }
+        try {
+            PricingSnapshot snapshot = PricingSnapshot.compile(configurationLoader.loadFromFile(file),
+                    versions.decrementAndGet(), file.toString());
+            log.info("Loaded venue {}: {}", venueId, snapshot);
+            return snapshot;
+        } catch (IOException | RuntimeException ex) {
+            // a broken file is not cached, so it is read again once fixed
+            log.warn("Venue {} cannot be priced from {}: {}", venueId, file, ex.getMessage());
+            throw new IllegalArgumentException("Venue " + venueId + " cannot be priced", ex);
+        }
+    }
+
+    private Path venueFile(String venueId) {
+        for (String extension : EXTENSIONS) {
+            Path file = directory.resolve(venueId + extension);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    // ids become file names, so nothing that could leave the directory is accepted
+    private static boolean isVenueId(String venueId) {
+        if (venueId == null || venueId.isEmpty() || venueId.length() > MAX_VENUE_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < venueId.length(); i++) {
+            char c = venueId.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
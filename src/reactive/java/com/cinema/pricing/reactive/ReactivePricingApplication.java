@@ -0,0 +1,33 @@
+package com.cinema.pricing.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Optional WebFlux/Netty deployment of the pricing API.
+ * It reuses the pricing configuration, services, caches, mapper and Jackson setup of the servlet
+ * application, but not its controllers and exception handler.
+ */
+@SpringBootApplication(scanBasePackages = {
+        "com.cinema.pricing.config",
+        "com.cinema.pricing.cache",
+        "com.cinema.pricing.service",
+        "com.cinema.pricing.mapper",
+        "com.cinema.pricing.metrics",
+        "com.cinema.pricing.decision",
+        "com.cinema.pricing.promo",
+        "com.cinema.pricing.occupancy",
+        "com.cinema.pricing.venue",
+        "com.cinema.pricing.audit",
+        "com.cinema.pricing.jfr",
+        "com.cinema.pricing.reactive"
+})
+public class ReactivePricingApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactivePricingApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+}
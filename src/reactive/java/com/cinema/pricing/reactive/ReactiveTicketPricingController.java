@@ -0,0 +1,44 @@
+package com.cinema.pricing.reactive;
+
+import com.cinema.pricing.api.PricingTrace;
+import com.cinema.pricing.api.reactive.TicketPricingApi;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.mapper.TransactionMapper;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.model.TransactionResponse;
+import com.cinema.pricing.service.TicketPricingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive REST controller for movie ticket pricing operations.
+ * Implements the OpenAPI interface generated with the reactive option. Pricing is CPU-bound and
+ * runs directly on the event loop, except for transactions with a venueId: the first transaction of
+ * a venue reads and compiles the venue's pricing file, so they are priced on the bounded elastic
+ * scheduler instead.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactiveTicketPricingController implements TicketPricingApi {
+
+    private final TicketPricingService ticketPricingService;
+    private final TransactionMapper transactionMapper;
+
+    public Mono<ResponseEntity<TransactionResponse>> calculatePricing(@Valid Mono<TransactionRequest> transactionRequest,
+                                                                      ServerWebExchange exchange) {
+        boolean traced = PricingTrace.isRequested(exchange.getRequest().getHeaders().getFirst(PricingTrace.HEADER));
+        return transactionRequest
+                .flatMap(request -> {
+                    Mono<TransactionCalculation> calculation =
+                            Mono.fromCallable(() -> ticketPricingService.calculatePrice(request, traced));
+                    return request.getVenueId() != null ? calculation.subscribeOn(Schedulers.boundedElastic())
+                            : calculation;
+                })
+                .map(transactionCalculation -> ResponseEntity.ok(transactionMapper.toResponse(transactionCalculation)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.cinema.pricing.reactive;
+
+import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+@SpringBootTest(classes = ReactivePricingApplication.class,
+        properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class ReactiveTicketPricingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private static Customer createCustomer(String name, int age) {
+        return Customer.builder()
+                .name(name)
+                .age(age)
+                .build();
+    }
+
+    @Test
+    void testCalculatePricing_shouldPriceTransaction() {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(List.of(
+                        createCustomer("Senior 1", 70),
+                        createCustomer("Child 1", 5),
+                        createCustomer("Child 2", 6)))
+                .build();
+
+        //WHEN & THEN
+        webTestClient.post().uri("/api/v1/tickets/calculate-pricing")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.transactionId").isEqualTo(1)
+                .jsonPath("$.totalCost").isEqualTo(27.50)
+                .jsonPath("$.tickets.length()").isEqualTo(2)
+                .jsonPath("$.tickets[0].ticketType").isEqualTo("Children")
+                .jsonPath("$.tickets[1].totalCost").isEqualTo(17.50);
+    }
+
+    @Test
+    void testCalculatePricing_shouldReturnBadRequest_WhenAgeIsNegative() {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(2L)
+                .customers(List.of(createCustomer("Nobody", -1)))
+                .build();
+
+        //WHEN & THEN
+        webTestClient.post().uri("/api/v1/tickets/calculate-pricing")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400);
+    }
+
+    @Test
+    void testCalculatePricing_shouldReturnBadRequest_WhenJsonIsMalformed() {
+        //WHEN & THEN
+        webTestClient.post().uri("/api/v1/tickets/calculate-pricing")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"transactionId\": 3, \"customers\": [")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid JSON format or malformed request body");
+    }
+}
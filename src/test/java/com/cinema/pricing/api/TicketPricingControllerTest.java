@@ -1,10 +1,17 @@
 package com.cinema.pricing.api;
 
+import com.cinema.pricing.cache.QuoteResponseCache;
+import com.cinema.pricing.domain.Money;
 import com.cinema.pricing.domain.TicketCalculation;
 import com.cinema.pricing.domain.TicketType;
 import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.domain.TransactionOutcome;
 import com.cinema.pricing.mapper.TransactionMapper;
+import com.cinema.pricing.mapper.TransactionResponseWriter;
+import com.cinema.pricing.model.BatchTransactionRequest;
+import com.cinema.pricing.model.BatchTransactionResult;
 import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.ErrorResponse;
 import com.cinema.pricing.model.TransactionRequest;
 import com.cinema.pricing.model.TransactionResponse;
 import com.cinema.pricing.service.TicketPricingService;
@@ -13,12 +20,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -26,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(TicketPricingController.class)
+@Import(TransactionResponseWriter.class)
 public class TicketPricingControllerTest {
 
     @Autowired
@@ -40,6 +53,9 @@ public class TicketPricingControllerTest {
     @MockBean
     private TransactionMapper transactionMapper;
 
+    @MockBean
+    private QuoteResponseCache responseCache;
+
     @Test
     void calculatePricing_shouldReturnTransactionRequest_whenValidRequest() throws Exception {
         //GIVEN
@@ -48,11 +64,8 @@ public class TicketPricingControllerTest {
                 .customers(getCustomers())
                 .build();
         TransactionCalculation calculation = createMockCalculation(1L, 50.00);
-        TransactionResponse response = createMockResponse(1L, 50.00);
-
-        when(ticketPricingService.calculatePrice(anyLong(), anyList())).thenReturn(calculation);
-        when(transactionMapper.toResponse(any())).thenReturn(response);
 
+        when(ticketPricingService.calculatePrice(any(TransactionRequest.class), anyBoolean())).thenReturn(calculation);
 
         //WHEN & THEN
         mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
@@ -62,9 +75,95 @@ public class TicketPricingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.transactionId").value(1))
+                .andExpect(jsonPath("$.tickets[0].ticketType").value("Adult"))
+                .andExpect(jsonPath("$.tickets[0].quantity").value(2))
                 .andExpect(jsonPath("$.totalCost").value(50.00));
     }
 
+    @Test
+    void calculatePricing_shouldTraceTransaction_whenTraceHeaderPresent() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .build();
+
+        when(ticketPricingService.calculatePrice(any(TransactionRequest.class), anyBoolean()))
+                .thenReturn(createMockCalculation(1L, 50.00));
+
+        //WHEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .header(PricingTrace.HEADER, "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        //THEN
+        verify(ticketPricingService).calculatePrice(argThat(transaction -> transaction.getTransactionId() == 1L), eq(true));
+    }
+
+    @Test
+    void calculatePricing_shouldPassPromoCode_whenPromoCodePresent() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .promoCode("SUMMER25")
+                .build();
+
+        when(ticketPricingService.calculatePrice(any(TransactionRequest.class), anyBoolean()))
+                .thenReturn(createMockCalculation(1L, 50.00));
+
+        //WHEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        //THEN
+        verify(ticketPricingService).calculatePrice(
+                argThat(transaction -> "SUMMER25".equals(transaction.getPromoCode())), eq(false));
+    }
+
+    @Test
+    void calculatePricing_shouldPassShowingId_whenShowingIdPresent() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .showingId("screen-1-2026-06-01T19:30")
+                .build();
+
+        when(ticketPricingService.calculatePrice(any(TransactionRequest.class), anyBoolean()))
+                .thenReturn(createMockCalculation(1L, 50.00));
+
+        //WHEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        //THEN
+        verify(ticketPricingService).calculatePrice(
+                argThat(transaction -> "screen-1-2026-06-01T19:30".equals(transaction.getShowingId())), eq(false));
+    }
+
+    @Test
+    void calculatePricing_shouldReturnBadRequest_whenPromoCodeMalformed() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .promoCode("SUMMER 25%")
+                .build();
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void calculatePricing_shouldReturnBadRequest_whenCustomersMissing() throws Exception {
         //GIVEN
@@ -146,6 +245,153 @@ public class TicketPricingControllerTest {
 
     }
 
+    @Test
+    void calculatePricing_shouldReturnNotModified_whenIfNoneMatchListsETag() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .build();
+        QuoteResponseCache.Key key = cacheKey();
+        when(responseCache.get(key)).thenReturn(objectMapper.writeValueAsBytes(createMockResponse(1L, 50.00)));
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1f\", \"2a\"")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""))
+                .andExpect(content().string(""));
+
+        verify(ticketPricingService, never()).calculatePrice(any(TransactionRequest.class), anyBoolean());
+    }
+
+    @Test
+    void calculatePricing_shouldReturnCachedBytes_whenKeyIsCached() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .build();
+        byte[] cached = objectMapper.writeValueAsBytes(createMockResponse(1L, 50.00));
+        QuoteResponseCache.Key key = cacheKey();
+        when(responseCache.get(key)).thenReturn(cached);
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(cached));
+
+        verify(ticketPricingService, never()).calculatePrice(any(TransactionRequest.class), anyBoolean());
+    }
+
+    @Test
+    void calculatePricing_shouldPriceAndCacheBytes_whenKeyIsNotCached() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .build();
+        QuoteResponseCache.Key key = cacheKey();
+        when(ticketPricingService.calculatePrice(any(TransactionRequest.class), anyBoolean()))
+                .thenReturn(createMockCalculation(1L, 50.00));
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""))
+                .andExpect(jsonPath("$.transactionId").value(1))
+                .andExpect(jsonPath("$.totalCost").value(50.00));
+
+        verify(responseCache).put(eq(key), any(TransactionCalculation.class), any(byte[].class));
+    }
+
+    @Test
+    void calculatePricing_shouldRejectInvalidRequest_whenIfNoneMatchListsETagOfUncachedKey() throws Exception {
+        //GIVEN
+        TransactionRequest request = TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(getCustomers())
+                .build();
+        cacheKey();
+        when(ticketPricingService.calculatePrice(any(TransactionRequest.class), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Unknown auditorium: screen-9"));
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2a\"")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(responseCache, never()).put(any(QuoteResponseCache.Key.class), any(TransactionCalculation.class),
+                any(byte[].class));
+    }
+
+    @Test
+    void calculatePricingBatch_shouldReturnResultPerTransaction_whenValidRequest() throws Exception {
+        //GIVEN
+        BatchTransactionRequest request = BatchTransactionRequest.builder()
+                .transactions(List.of(
+                        TransactionRequest.builder().transactionId(1L).customers(getCustomers()).build(),
+                        TransactionRequest.builder().transactionId(2L).customers(getCustomers()).build()))
+                .build();
+        String errorMessage = "No ticket type found for age: 30";
+
+        when(ticketPricingService.calculatePrices(anyList(), anyBoolean())).thenReturn(List.of(
+                TransactionOutcome.success(createMockCalculation(1L, 50.00)),
+                TransactionOutcome.failure(2L, errorMessage)));
+        when(transactionMapper.toBatchResults(anyList())).thenReturn(List.of(
+                BatchTransactionResult.builder()
+                        .transactionId(1L)
+                        .transaction(createMockResponse(1L, 50.00))
+                        .build(),
+                BatchTransactionResult.builder()
+                        .transactionId(2L)
+                        .error(ErrorResponse.builder().status(400).message(errorMessage).build())
+                        .build()));
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].transactionId").value(1))
+                .andExpect(jsonPath("$[0].transaction.totalCost").value(50.00))
+                .andExpect(jsonPath("$[1].transactionId").value(2))
+                .andExpect(jsonPath("$[1].error.status").value(400))
+                .andExpect(jsonPath("$[1].error.message").value(errorMessage));
+    }
+
+    @Test
+    void calculatePricingBatch_shouldReturnBadRequest_whenTransactionsIsEmpty() throws Exception {
+        //GIVEN
+        BatchTransactionRequest request = BatchTransactionRequest.builder()
+                .transactions(List.of())
+                .build();
+
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors[0].field").value("transactions"))
+                .andExpect(jsonPath("$.errors[0].message").value("size must be between 1 and 1000"));
+    }
+
 
     private List<Customer> getCustomers() {
         return List.of(
@@ -158,13 +404,13 @@ public class TicketPricingControllerTest {
     private TransactionCalculation createMockCalculation(Long id, double totalCost) {
         return TransactionCalculation.builder()
                 .transactionId(id)
-                .ticketCalculation(TicketCalculation.builder()
+                .ticketCalculations(List.of(TicketCalculation.builder()
                         .ticketType(TicketType.ADULT)
                         .quantity(2)
-                        .totalCost(totalCost)
+                        .totalCostCents(Money.ofMajor(totalCost))
                         .discountApplied(false)
-                        .build())
-                .totalCost(totalCost)
+                        .build()))
+                .totalCostCents(Money.ofMajor(totalCost))
                 .build();
     }
 
@@ -175,5 +421,11 @@ public class TicketPricingControllerTest {
         return response;
     }
 
+    private QuoteResponseCache.Key cacheKey() {
+        QuoteResponseCache.Key key = mock(QuoteResponseCache.Key.class);
+        when(key.etag()).thenReturn("\"2a\"");
+        when(responseCache.key(any(TransactionRequest.class))).thenReturn(key);
+        return key;
+    }
 }
 
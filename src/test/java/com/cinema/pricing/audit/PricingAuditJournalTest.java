@@ -0,0 +1,236 @@
+package com.cinema.pricing.audit;
+
+import com.cinema.pricing.config.PricingAuditProperties;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.domain.TransactionCalculation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingAuditJournalTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-12T12:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PricingAuditJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void testAppend_RollsSegmentsAtConfiguredSize() throws Exception {
+        //GIVEN
+        journal = startJournal(3);
+        PricingSnapshot snapshot = PricingSnapshot.compile(new PricingConfiguration(), 7, "test");
+
+        //WHEN
+        for (long id = 1; id <= 7; id++) {
+            journal.append(snapshot, calculation(id));
+        }
+        journal.stop();
+
+        //THEN
+        assertEquals(3, segmentFiles().size());
+        assertEquals(AuditRecord.HEADER_SIZE + 3L * AuditRecord.SIZE, Files.size(segmentFiles().get(0)));
+        List<String> rows = readCsv();
+        assertEquals(8, rows.size());
+        assertEquals("2026-10-12T12:00:00Z,1,7,64.00,42,6.00,0.00,0.00,1.00,0.00,2,50.00,0,0.00,0,0.00,1,14.00",
+                rows.get(1));
+        assertEquals(7, meterRegistry.counter("pricing.audit.recorded").count());
+    }
+
+    @Test
+    void testFlush_MapsNextSegmentOnceCurrentIsHalfClaimed() throws Exception {
+        //GIVEN
+        journal = startJournal(4);
+        PricingSnapshot snapshot = PricingSnapshot.compile(new PricingConfiguration(), 1, "test");
+        journal.append(snapshot, calculation(1L));
+        journal.flush(false);
+        assertEquals(1, segmentFiles().size());
+
+        //WHEN
+        journal.append(snapshot, calculation(2L));
+        journal.flush(false);
+        List<Path> mappedAhead = segmentFiles();
+        for (long id = 3; id <= 5; id++) {
+            journal.append(snapshot, calculation(id));
+        }
+
+        //THEN
+        assertEquals(2, mappedAhead.size());
+        assertEquals(mappedAhead, segmentFiles());
+        journal.stop();
+        assertEquals(6, readCsv().size());
+    }
+
+    @Test
+    void testAppend_JournalsEveryQuoteFromConcurrentThreads() throws Exception {
+        //GIVEN
+        journal = startJournal(100);
+        PricingSnapshot snapshot = PricingSnapshot.compile(new PricingConfiguration(), 1, "test");
+        int threads = 8;
+        int quotesPerThread = 500;
+
+        //WHEN
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * quotesPerThread;
+            Thread writer = new Thread(() -> {
+                for (long id = firstId; id < firstId + quotesPerThread; id++) {
+                    journal.append(snapshot, calculation(id));
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        journal.stop();
+
+        //THEN
+        List<String> rows = readCsv();
+        Set<String> transactionIds = new HashSet<>();
+        for (String row : rows.subList(1, rows.size())) {
+            transactionIds.add(row.split(",")[1]);
+        }
+        assertEquals(threads * quotesPerThread, rows.size() - 1);
+        assertEquals(threads * quotesPerThread, transactionIds.size());
+    }
+
+    @Test
+    void testStart_ContinuesWithNewSegmentAfterRestart() throws Exception {
+        //GIVEN
+        journal = startJournal(10);
+        PricingSnapshot snapshot = PricingSnapshot.compile(new PricingConfiguration(), 1, "test");
+        journal.append(snapshot, calculation(1L));
+        journal.stop();
+
+        //WHEN
+        journal = startJournal(10);
+        journal.append(snapshot, calculation(2L));
+        journal.flush(false);
+
+        //THEN
+        assertEquals(List.of(AuditRecord.segmentName(1), AuditRecord.segmentName(2)),
+                segmentFiles().stream().map(file -> file.getFileName().toString()).toList());
+        assertEquals(3, readCsv().size());
+    }
+
+    @Test
+    void testRead_SegmentWithFewerTypesReadsAsNoneOfTheNewOnes() throws Exception {
+        //GIVEN a segment of a build that had three ticket types and two discount types
+        AuditRecord.Layout layout = AuditRecord.Layout.of(3, 2);
+        ByteBuffer segment = ByteBuffer.allocate(AuditRecord.HEADER_SIZE + layout.size()).order(AuditRecord.BYTE_ORDER);
+        segment.putInt(AuditRecord.SEGMENT_MARKER_OFFSET, AuditRecord.SEGMENT_MARKER);
+        segment.putShort(AuditRecord.SEGMENT_VERSION_OFFSET, AuditRecord.VERSION);
+        segment.put(AuditRecord.SEGMENT_TICKET_TYPES_OFFSET, (byte) 3);
+        segment.put(AuditRecord.SEGMENT_DISCOUNT_TYPES_OFFSET, (byte) 2);
+        segment.putInt(AuditRecord.SEGMENT_RECORD_SIZE_OFFSET, layout.size());
+        int record = AuditRecord.HEADER_SIZE;
+        segment.putInt(record + AuditRecord.PROMO_CODE_OFFSET, AuditRecord.NO_PROMO_CODE);
+        segment.putLong(record + AuditRecord.TIMESTAMP_OFFSET, CLOCK.millis());
+        segment.putLong(record + AuditRecord.TRANSACTION_ID_OFFSET, 9);
+        segment.putLong(record + AuditRecord.SNAPSHOT_VERSION_OFFSET, 3);
+        segment.putLong(record + AuditRecord.TOTAL_COST_OFFSET, 1500);
+        segment.putLong(record + AuditRecord.DISCOUNTS_OFFSET + Long.BYTES, 500);
+        segment.putLong(record + layout.costsOffset() + TicketType.SENIOR.ordinal() * Long.BYTES, 1500);
+        segment.putShort(record + layout.quantitiesOffset() + TicketType.SENIOR.ordinal() * Short.BYTES, (short) 1);
+        segment.putInt(record + AuditRecord.MARKER_OFFSET, AuditRecord.MARKER);
+        Files.write(directory.resolve(AuditRecord.segmentName(1)), segment.array());
+
+        //WHEN
+        List<String> rows = readCsv();
+
+        //THEN
+        assertEquals(List.of("2026-10-12T12:00:00Z,9,3,15.00,,0.00,5.00,0.00,0.00,0.00,0,0.00,1,15.00,0,0.00,0,0.00"),
+                rows.subList(1, rows.size()));
+    }
+
+    @Test
+    void testAppend_DoesNothingWithoutDirectory() {
+        //GIVEN
+        meterRegistry = new SimpleMeterRegistry();
+        PricingAuditJournal disabled = new PricingAuditJournal(new PricingAuditProperties(), CLOCK, meterRegistry);
+
+        //WHEN
+        disabled.append(PricingSnapshot.compile(new PricingConfiguration(), 1, "test"), calculation(1L));
+
+        //THEN
+        assertEquals(0, meterRegistry.counter("pricing.audit.recorded").count());
+    }
+
+    private PricingAuditJournal startJournal(int recordsPerSegment) throws IOException {
+        PricingAuditProperties properties = new PricingAuditProperties();
+        properties.setDirectory(directory.toString());
+        // a partial record is rounded away
+        properties.setSegmentSize(DataSize.ofBytes(
+                AuditRecord.HEADER_SIZE + recordsPerSegment * AuditRecord.SIZE + AuditRecord.SIZE / 2));
+        meterRegistry = new SimpleMeterRegistry();
+        PricingAuditJournal started = new PricingAuditJournal(properties, CLOCK, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private List<String> readCsv() throws IOException {
+        StringWriter out = new StringWriter();
+        new AuditJournalReader(AuditJournalReader.Format.CSV, out)
+                .read(AuditJournalReader.segments(List.of(directory)));
+        return out.toString().lines().toList();
+    }
+
+    private static TransactionCalculation calculation(long transactionId) {
+        return TransactionCalculation.builder()
+                .transactionId(transactionId)
+                .ticketCalculations(List.of(
+                        TicketCalculation.builder().ticketType(TicketType.ADULT).quantity(2).totalCostCents(5000).build(),
+                        TicketCalculation.builder().ticketType(TicketType.CHILDREN).quantity(1).totalCostCents(1400)
+                                .build()))
+                .totalCostCents(6400)
+                .discountsCents(discountsCents(DiscountType.BULK, 600, DiscountType.PROMO_CODE, 100))
+                .promoCodeIndex(42)
+                .build();
+    }
+
+    private static long[] discountsCents(DiscountType first, long firstCents, DiscountType second, long secondCents) {
+        long[] discountsCents = new long[DiscountType.values().length];
+        discountsCents[first.ordinal()] = firstCents;
+        discountsCents[second.ordinal()] = secondCents;
+        return discountsCents;
+    }
+}
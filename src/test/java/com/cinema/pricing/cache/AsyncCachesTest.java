@@ -0,0 +1,74 @@
+package com.cinema.pricing.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncCachesTest {
+
+    @Test
+    void testGetOrCompute_ComputesOnce_WhenCallersRace() throws Exception {
+        //GIVEN
+        AsyncCache<String, Integer> cache = Caffeine.newBuilder().buildAsync();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        //WHEN
+        Integer second;
+        Future<Integer> first;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            first = executor.submit(() -> AsyncCaches.getOrCompute(cache, "key", () -> {
+                computing.countDown();
+                await(release);
+                return computations.incrementAndGet();
+            }));
+            computing.await();
+            // another key is not blocked by the running computation
+            assertEquals(7, AsyncCaches.getOrCompute(cache, "other", () -> 7));
+            Future<Integer> waiting = executor.submit(() ->
+                    AsyncCaches.getOrCompute(cache, "key", computations::incrementAndGet));
+            release.countDown();
+            second = waiting.get();
+        }
+
+        //THEN
+        assertEquals(1, first.get());
+        assertEquals(1, second);
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void testGetOrCompute_ForgetsFailedComputation() {
+        //GIVEN
+        AsyncCache<String, Integer> cache = Caffeine.newBuilder().buildAsync();
+
+        //WHEN
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, () ->
+                AsyncCaches.getOrCompute(cache, "key", () -> {
+                    throw new IllegalArgumentException("rejected");
+                }));
+
+        //THEN
+        assertEquals("rejected", failure.getMessage());
+        assertNull(cache.getIfPresent("key"));
+        assertEquals(2, AsyncCaches.getOrCompute(cache, "key", () -> 2));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
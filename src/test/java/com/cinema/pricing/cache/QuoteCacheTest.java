@@ -0,0 +1,202 @@
+package com.cinema.pricing.cache;
+
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationChangedEvent;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.config.TimeOfDayDiscountConfig;
+import com.cinema.pricing.domain.DiscountType;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.service.PricingStrategy;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountEngine;
+import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.SeniorDiscountStrategy;
+import com.cinema.pricing.service.impl.ConfigBasedTicketPriceProvider;
+import com.cinema.pricing.service.impl.StandardPricingStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QuoteCacheTest {
+
+    @Mock
+    private PricingStrategy pricingStrategy;
+
+    private PricingSnapshotHolder snapshotHolder;
+
+    private QuoteCache quoteCache;
+
+    @BeforeEach
+    void setUp() {
+        when(pricingStrategy.calculateCost(any(), any(), anyInt()))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(2) * 100L);
+
+        snapshotHolder = new PricingSnapshotHolder(new PricingConfiguration(), event -> {
+        });
+        PricingCacheProperties properties = new PricingCacheProperties();
+        properties.getQuotes().setWarmUpMaxTickets(4);
+        quoteCache = new QuoteCache(pricingStrategy, new PricingMetrics(new SimpleMeterRegistry()), snapshotHolder,
+                Clock.systemUTC(), properties);
+        quoteCache.warmUp();
+        clearInvocations(pricingStrategy);
+    }
+
+    @Test
+    void testWarmUp_PrecomputesEveryShapeUpToMaxTickets() {
+        //THEN
+        // count vectors of 4 ticket types with 1 to 4 tickets in total: C(8,4) - 1
+        assertEquals(69, quoteCache.size());
+    }
+
+    @Test
+    void testQuote_ServesPrecomputedShapeWithoutPricing() {
+        //GIVEN
+        int[] ticketCounts = counts(Map.of(TicketType.ADULT, 2, TicketType.CHILDREN, 2));
+
+        //WHEN
+        QuoteTemplate first = quoteCache.quote(snapshotHolder.current(), ticketCounts);
+        QuoteTemplate second = quoteCache.quote(snapshotHolder.current(), ticketCounts);
+
+        //THEN
+        assertSame(first, second);
+        assertEquals(400, first.totalCostCents());
+        assertEquals("Adult", first.ticketCalculations().get(0).getTicketTypeName());
+        verify(pricingStrategy, never()).calculateCost(any(), any(), anyInt());
+    }
+
+    @Test
+    void testQuote_RecordsDiscountsOfPrecomputedQuotesWhenServed() {
+        //GIVEN
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PricingMetrics pricingMetrics = new PricingMetrics(meterRegistry);
+        DiscountEngine discountEngine = new DiscountEngine(List.of(new BulkDiscountStrategy(),
+                new SeniorDiscountStrategy()), pricingMetrics);
+        discountEngine.init();
+        PricingCacheProperties properties = new PricingCacheProperties();
+        properties.getQuotes().setWarmUpMaxTickets(4);
+        QuoteCache discountingCache = new QuoteCache(new StandardPricingStrategy(new ConfigBasedTicketPriceProvider(),
+                discountEngine), pricingMetrics, snapshotHolder, Clock.systemUTC(), properties);
+        discountingCache.warmUp();
+        Counter seniorDiscounts = meterRegistry.get("pricing.discount.applied")
+                .tag("discount.type", "SENIOR_DISCOUNT").counter();
+        double precomputed = seniorDiscounts.count();
+
+        //WHEN
+        QuoteTemplate quote = discountingCache.quote(snapshotHolder.current(), counts(Map.of(TicketType.SENIOR, 1)));
+
+        //THEN
+        assertEquals(0, precomputed);
+        assertEquals(1, seniorDiscounts.count());
+        assertTrue(quote.discountsCents()[DiscountType.SENIOR.ordinal()] > 0);
+        assertEquals(0, quote.discountsCents()[DiscountType.BULK.ordinal()]);
+        assertEquals(0, meterRegistry.get("pricing.discount.evaluation").timers().stream()
+                .mapToLong(Timer::count).sum());
+    }
+
+    @Test
+    void testQuote_PricesShapesLargerThanWarmUp() {
+        //WHEN
+        QuoteTemplate quote = quoteCache.quote(snapshotHolder.current(), counts(Map.of(TicketType.TEEN, 5)));
+
+        //THEN
+        assertEquals(500, quote.totalCostCents());
+        verify(pricingStrategy).calculateCost(any(), any(), anyInt());
+    }
+
+    @Test
+    void testQuote_IsRebuiltForNewSnapshot() {
+        //GIVEN
+        PricingSnapshot snapshot = snapshotHolder.publish(new PricingConfiguration(), "test");
+        int[] ticketCounts = counts(Map.of(TicketType.SENIOR, 1));
+
+        //WHEN
+        QuoteTemplate stale = quoteCache.quote(snapshot, ticketCounts);
+        quoteCache.onPricingConfigurationChanged(new PricingConfigurationChangedEvent(this, snapshot));
+        clearInvocations(pricingStrategy);
+        QuoteTemplate rebuilt = quoteCache.quote(snapshot, ticketCounts);
+
+        //THEN
+        assertEquals(stale.totalCostCents(), rebuilt.totalCostCents());
+        verify(pricingStrategy, never()).calculateCost(any(), any(), anyInt());
+    }
+
+    @Test
+    void testQuote_ServesQuoteOfTimeOfDayDiscountInEffect() {
+        //GIVEN
+        when(pricingStrategy.calculateCost(any(), any(), anyInt())).thenAnswer(invocation -> {
+            DiscountContext context = invocation.getArgument(0);
+            return invocation.<Integer>getArgument(2) * (10_000L - context.getTimeOfDayBasisPoints()) / 100;
+        });
+        PricingConfiguration config = new PricingConfiguration();
+        TimeOfDayDiscountConfig matinee = new TimeOfDayDiscountConfig();
+        matinee.setName("matinee");
+        matinee.setStart("10:00");
+        matinee.setEnd("16:00");
+        matinee.setDiscountRate(0.20);
+        config.setTimeOfDayDiscounts(List.of(matinee));
+        PricingSnapshotHolder matineeHolder = new PricingSnapshotHolder(config, event -> {
+        });
+        PricingCacheProperties properties = new PricingCacheProperties();
+        properties.getQuotes().setWarmUpMaxTickets(4);
+        QuoteCache matineeCache = quoteCacheAt(matineeHolder, properties, LocalDateTime.of(2026, 10, 14, 12, 0));
+        QuoteCache eveningCache = quoteCacheAt(matineeHolder, properties, LocalDateTime.of(2026, 10, 14, 19, 0));
+        clearInvocations(pricingStrategy);
+        int[] ticketCounts = counts(Map.of(TicketType.ADULT, 2));
+
+        //WHEN
+        QuoteTemplate matineeQuote = matineeCache.quote(matineeHolder.current(), ticketCounts);
+        QuoteTemplate eveningQuote = eveningCache.quote(matineeHolder.current(), ticketCounts);
+
+        //THEN
+        assertEquals(2 * 69, matineeCache.size());
+        assertEquals(160, matineeQuote.totalCostCents());
+        assertEquals(200, eveningQuote.totalCostCents());
+        verify(pricingStrategy, never()).calculateCost(any(), any(), anyInt());
+    }
+
+    @Test
+    void testKey_PacksCountsByTicketTypeOrdinal() {
+        //THEN
+        assertEquals(2L | 3L << 48, QuoteCache.key(counts(Map.of(TicketType.ADULT, 2, TicketType.CHILDREN, 3))));
+        assertEquals(QuoteCache.NO_KEY, QuoteCache.key(counts(Map.of(TicketType.ADULT, 70_000))));
+    }
+
+    private QuoteCache quoteCacheAt(PricingSnapshotHolder holder, PricingCacheProperties properties,
+                                     LocalDateTime time) {
+        QuoteCache cache = new QuoteCache(pricingStrategy, new PricingMetrics(new SimpleMeterRegistry()), holder,
+                Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), properties);
+        cache.warmUp();
+        return cache;
+    }
+
+    private static int[] counts(Map<TicketType, Integer> ticketCounts) {
+        int[] counts = new int[TicketType.values().length];
+        ticketCounts.forEach((ticketType, count) -> counts[ticketType.ordinal()] = count);
+        return counts;
+    }
+}
@@ -0,0 +1,198 @@
+package com.cinema.pricing.cache;
+
+import com.cinema.pricing.audit.PricingAuditJournal;
+import com.cinema.pricing.config.PricingAuditProperties;
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingReloadProperties;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.config.TimeOfDayDiscountConfig;
+import com.cinema.pricing.config.VenuePricingProperties;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.venue.VenuePricingRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteResponseCacheTest {
+
+    private static final Clock MONDAY_NOON = clockAt("2026-10-12T12:00");
+
+    private PricingSnapshotHolder snapshotHolder;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new PricingSnapshotHolder(new PricingConfiguration(), event -> {
+        });
+    }
+
+    @Test
+    void testKey_IgnoresCustomerOrderAndNames() {
+        //GIVEN
+        QuoteResponseCache cache = cache(MONDAY_NOON);
+        TransactionRequest request = request(1L, customer("Alex K", 25, "B3"), customer("Jane Doe", 70, null));
+        TransactionRequest reordered = request(1L, customer("Jane", 70, null), customer("Alex", 25, "B3"));
+
+        //WHEN
+        QuoteResponseCache.Key key = cache.key(request);
+
+        //THEN
+        assertNotNull(key);
+        assertEquals(key, cache.key(reordered));
+        assertEquals(key.hashCode(), cache.key(reordered).hashCode());
+        assertEquals(key.etag(), cache.key(reordered).etag());
+    }
+
+    @Test
+    void testKey_DiffersByTransactionAgeAndSeat() {
+        //GIVEN
+        QuoteResponseCache cache = cache(MONDAY_NOON);
+        QuoteResponseCache.Key key = cache.key(request(1L, customer("Alex K", 25, "B3")));
+
+        //WHEN & THEN
+        assertNotEquals(key, cache.key(request(2L, customer("Alex K", 25, "B3"))));
+        assertNotEquals(key, cache.key(request(1L, customer("Alex K", 26, "B3"))));
+        assertNotEquals(key, cache.key(request(1L, customer("Alex K", 25, "B4"))));
+        assertNotEquals(key, cache.key(request(1L, customer("Alex K", 25, "B3"), customer("Alex K", 25, "B3"))));
+        assertNotEquals(key.etag(), cache.key(request(1L, customer("Alex K", 25, "B4"))).etag());
+    }
+
+    @Test
+    void testKey_ChangesWithSnapshotVersionAndTimeOfDayRate() {
+        //GIVEN
+        TimeOfDayDiscountConfig matinee = new TimeOfDayDiscountConfig();
+        matinee.setName("matinee");
+        matinee.setStart("10:00");
+        matinee.setEnd("16:00");
+        matinee.setDiscountRate(0.20);
+        PricingConfiguration config = new PricingConfiguration();
+        config.setTimeOfDayDiscounts(List.of(matinee));
+        TransactionRequest request = request(1L, customer("Alex K", 25, null));
+        QuoteResponseCache.Key before = cache(MONDAY_NOON).key(request);
+
+        //WHEN
+        snapshotHolder.publish(config, "test");
+
+        //THEN
+        QuoteResponseCache.Key matineeKey = cache(MONDAY_NOON).key(request);
+        assertNotEquals(before, matineeKey);
+        assertEquals(matineeKey, cache(clockAt("2026-10-12T15:59")).key(request));
+        assertNotEquals(matineeKey, cache(clockAt("2026-10-12T16:00")).key(request));
+    }
+
+    @Test
+    void testKey_NotBuiltForPromoCodesAndShowings() {
+        //GIVEN
+        QuoteResponseCache cache = cache(MONDAY_NOON);
+        TransactionRequest promo = request(1L, customer("Alex K", 25, null));
+        promo.setPromoCode("SUMMER25");
+        TransactionRequest showing = request(1L, customer("Alex K", 25, null));
+        showing.setShowingId("screen-1-2026-10-12T19:30");
+
+        //WHEN & THEN
+        assertNull(cache.key(promo));
+        assertNull(cache.key(showing));
+    }
+
+    @Test
+    void testMatches_ParsesIfNoneMatchList() {
+        //GIVEN
+        String etag = "\"2a\"";
+
+        //WHEN & THEN
+        assertTrue(QuoteResponseCache.matches("\"1f\", W/\"2a\"", etag));
+        assertTrue(QuoteResponseCache.matches("*", etag));
+        assertFalse(QuoteResponseCache.matches("\"2a0\"", etag));
+        assertFalse(QuoteResponseCache.matches(null, etag));
+    }
+
+    @Test
+    void testGet_ReturnsPutBytesOfEqualRequestUntilConfigurationChanges() {
+        //GIVEN
+        QuoteResponseCache cache = cache(MONDAY_NOON);
+        byte[] response = "{\"transactionId\":1}".getBytes();
+        cache.put(cache.key(request(1L, customer("Alex K", 25, "B3"))), calculation(1L), response);
+
+        //WHEN & THEN
+        assertSame(response, cache.get(cache.key(request(1L, customer("Jane", 25, "B3")))));
+        assertNull(cache.get(cache.key(request(2L, customer("Alex K", 25, "B3")))));
+        cache.onPricingConfigurationChanged(null);
+        assertNull(cache.get(cache.key(request(1L, customer("Alex K", 25, "B3")))));
+    }
+
+    @Test
+    void testGet_JournalsEveryHit(@TempDir Path directory) throws Exception {
+        //GIVEN
+        PricingAuditProperties properties = new PricingAuditProperties();
+        properties.setDirectory(directory.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PricingAuditJournal auditJournal = new PricingAuditJournal(properties, MONDAY_NOON, meterRegistry);
+        auditJournal.start();
+        QuoteResponseCache cache = cache(MONDAY_NOON, auditJournal);
+        QuoteResponseCache.Key key = cache.key(request(1L, customer("Alex K", 25, null)));
+        cache.put(key, calculation(1L), "{\"transactionId\":1}".getBytes());
+
+        //WHEN
+        try {
+            cache.get(key);
+            cache.get(key);
+            cache.get(cache.key(request(2L, customer("Alex K", 25, null))));
+        } finally {
+            auditJournal.stop();
+        }
+
+        //THEN
+        assertEquals(2, meterRegistry.counter("pricing.audit.recorded").count());
+    }
+
+    private QuoteResponseCache cache(Clock clock) {
+        return cache(clock, new PricingAuditJournal(new PricingAuditProperties(), clock, new SimpleMeterRegistry()));
+    }
+
+    private QuoteResponseCache cache(Clock clock, PricingAuditJournal auditJournal) {
+        VenuePricingRegistry venuePricingRegistry = new VenuePricingRegistry(new VenuePricingProperties(),
+                new PricingConfigurationLoader(new StandardEnvironment(), new PricingReloadProperties()),
+                new SimpleMeterRegistry());
+        return new QuoteResponseCache(snapshotHolder, venuePricingRegistry, clock, auditJournal,
+                new PricingCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    private static TransactionCalculation calculation(long transactionId) {
+        return TransactionCalculation.builder()
+                .transactionId(transactionId)
+                .ticketCalculations(List.of(TicketCalculation.builder()
+                        .ticketType(TicketType.ADULT).quantity(1).totalCostCents(2500).build()))
+                .totalCostCents(2500)
+                .build();
+    }
+
+    private static TransactionRequest request(long transactionId, Customer... customers) {
+        return TransactionRequest.builder()
+                .transactionId(transactionId)
+                .customers(List.of(customers))
+                .build();
+    }
+
+    private static Customer customer(String name, int age, String seat) {
+        return Customer.builder().name(name).age(age).seat(seat).build();
+    }
+
+    private static Clock clockAt(String time) {
+        return Clock.fixed(LocalDateTime.parse(time).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,73 @@
+package com.cinema.pricing.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OccupancyBandsTest {
+
+    @Test
+    void testCompile_NoBandsKeepsBasePrice() {
+        //WHEN
+        OccupancyBands bands = OccupancyBands.compile(200, List.of());
+
+        //THEN
+        assertTrue(bands.isEmpty());
+        assertEquals(OccupancyBands.BASE_PRICE, bands.priceFactorBasisPoints(200));
+        assertArrayEquals(new int[]{OccupancyBands.BASE_PRICE}, bands.distinctPriceFactors());
+    }
+
+    @Test
+    void testPriceFactorBasisPoints_FullestReachedBandApplies() {
+        //GIVEN
+        OccupancyBands bands = OccupancyBands.compile(200, List.of(band(0.9, 1.25), band(0.7, 1.10)));
+
+        //THEN
+        assertEquals(OccupancyBands.BASE_PRICE, bands.priceFactorBasisPoints(0));
+        assertEquals(OccupancyBands.BASE_PRICE, bands.priceFactorBasisPoints(139));
+        assertEquals(11_000, bands.priceFactorBasisPoints(140));
+        assertEquals(11_000, bands.priceFactorBasisPoints(179));
+        assertEquals(12_500, bands.priceFactorBasisPoints(180));
+        // walk-ins beyond the configured seats stay in the top band
+        assertEquals(12_500, bands.priceFactorBasisPoints(250));
+        assertArrayEquals(new int[]{10_000, 11_000, 12_500}, bands.distinctPriceFactors());
+    }
+
+    @Test
+    void testPriceFactorBasisPoints_LowOccupancyBandCanDiscount() {
+        //GIVEN
+        OccupancyBands bands = OccupancyBands.compile(100, List.of(band(0, 0.8), band(0.5, 1.0)));
+
+        //THEN
+        assertEquals(8_000, bands.priceFactorBasisPoints(0));
+        assertEquals(OccupancyBands.BASE_PRICE, bands.priceFactorBasisPoints(50));
+        assertArrayEquals(new int[]{8_000, 10_000}, bands.distinctPriceFactors());
+    }
+
+    @Test
+    void testCompile_RejectsInvalidBands() {
+        assertThrows(IllegalStateException.class,
+                () -> OccupancyBands.compile(200, List.of(band(1.5, 1.1))));
+        assertThrows(IllegalStateException.class,
+                () -> OccupancyBands.compile(200, List.of(band(0.5, 0))));
+        assertThrows(IllegalStateException.class,
+                () -> OccupancyBands.compile(200, List.of(band(0.5, 7))));
+        assertThrows(IllegalStateException.class,
+                () -> OccupancyBands.compile(0, List.of(band(0.5, 1.1))));
+        // both start at seat 2 of 3
+        assertThrows(IllegalStateException.class,
+                () -> OccupancyBands.compile(3, List.of(band(0.5, 1.1), band(0.6, 1.2))));
+    }
+
+    private OccupancyBandConfig band(double fromOccupancy, double priceFactor) {
+        OccupancyBandConfig band = new OccupancyBandConfig();
+        band.setFromOccupancy(fromOccupancy);
+        band.setPriceFactor(priceFactor);
+        return band;
+    }
+}
@@ -0,0 +1,100 @@
+package com.cinema.pricing.config;
+
+import com.cinema.pricing.domain.TicketType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PricingSnapshotHolderTest {
+
+    private final List<Object> publishedEvents = new ArrayList<>();
+
+    private PricingSnapshotHolder snapshotHolder;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new PricingSnapshotHolder(new PricingConfiguration(), publishedEvents::add);
+    }
+
+    @Test
+    void testPublish_SwapsSnapshotAndPublishesEvent() {
+        //GIVEN
+        PricingConfiguration config = new PricingConfiguration();
+        config.setAdultBasePrice(30.00);
+
+        //WHEN
+        PricingSnapshot snapshot = snapshotHolder.publish(config, "test");
+
+        //THEN
+        assertSame(snapshot, snapshotHolder.current());
+        assertEquals(2, snapshot.getVersion());
+        assertEquals(3000, snapshot.getBasePriceCents(TicketType.ADULT));
+        assertEquals(1, publishedEvents.size());
+        assertSame(snapshot, ((PricingConfigurationChangedEvent) publishedEvents.get(0)).getSnapshot());
+    }
+
+    @Test
+    void testPublishIfChanged_KeepsSnapshotAndCaches_WhenRulesAreUnchanged() {
+        //GIVEN
+        PricingSnapshot current = snapshotHolder.current();
+        PricingConfiguration changed = new PricingConfiguration();
+        changed.setAdultBasePrice(30.00);
+
+        //WHEN
+        PricingSnapshot unchanged = snapshotHolder.publishIfChanged(new PricingConfiguration(), "application");
+        PricingSnapshot published = snapshotHolder.publishIfChanged(changed, "application");
+
+        //THEN
+        assertSame(current, unchanged);
+        assertEquals(2, published.getVersion());
+        assertSame(published, snapshotHolder.current());
+        assertEquals(1, publishedEvents.size());
+    }
+
+    @Test
+    void testPublish_KeepsCurrentSnapshot_WhenConfigurationIsInvalid() {
+        //GIVEN
+        PricingSnapshot current = snapshotHolder.current();
+        PricingConfiguration config = new PricingConfiguration();
+        config.setSeniorDiscountRate(1.5);
+
+        //WHEN & THEN
+        assertThrows(IllegalStateException.class, () -> snapshotHolder.publish(config, "test"));
+        assertSame(current, snapshotHolder.current());
+        assertTrue(publishedEvents.isEmpty());
+    }
+
+    @Test
+    void testLoadFromFile_BindsPricingProperties(@TempDir Path directory) throws Exception {
+        //GIVEN
+        Path file = directory.resolve("pricing.yaml");
+        Files.writeString(file, """
+                pricing:
+                  adult-base-price: 27.50
+                  bulk-discounts:
+                    - ticket-type: teen
+                      quantity: 4
+                      discountRate: 0.10
+                """);
+        PricingConfigurationLoader loader = new PricingConfigurationLoader(new MockEnvironment(), new PricingReloadProperties());
+
+        //WHEN
+        PricingSnapshot snapshot = snapshotHolder.publish(loader.loadFromFile(file), file.toString());
+
+        //THEN
+        assertEquals(2750, snapshot.getBasePriceCents(TicketType.ADULT));
+        assertEquals(0.10, snapshot.getBulkDiscountRules().rateFor(TicketType.TEEN, 4));
+        assertEquals(BulkDiscountRules.NO_RATE, snapshot.getBulkDiscountRules().rateFor(TicketType.CHILDREN, 3));
+    }
+}
@@ -0,0 +1,93 @@
+package com.cinema.pricing.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeatMapsTest {
+
+    private static final List<SeatCategoryConfig> CATEGORIES = List.of(
+            category("standard", "S", 0),
+            category("premium", "P", 3.00),
+            category("recliner", "R", 6.50));
+
+    @Test
+    void testCompile_NoAuditoriumsHasNoSeatMaps() {
+        //WHEN
+        SeatMaps seatMaps = SeatMaps.compile(CATEGORIES, Map.of());
+
+        //THEN
+        assertTrue(seatMaps.isEmpty());
+        assertNull(seatMaps.auditorium("screen-1"));
+    }
+
+    @Test
+    void testCategory_ResolvesSeatsByRowAndNumber() {
+        //GIVEN
+        SeatMaps seatMaps = SeatMaps.compile(CATEGORIES, Map.of("screen-1", auditorium(
+                "SSSS",
+                "SPP.PPS",
+                "RR")));
+        SeatMaps.SeatMap seatMap = seatMaps.auditorium("screen-1");
+
+        //THEN
+        assertEquals(0, seatMap.category(SeatMaps.seatPosition("A1")));
+        assertEquals(1, seatMap.category(SeatMaps.seatPosition("B2")));
+        assertEquals(SeatMaps.NO_SEAT, seatMap.category(SeatMaps.seatPosition("B4")));
+        assertEquals(1, seatMap.category(SeatMaps.seatPosition("B5")));
+        assertEquals(2, seatMap.category(SeatMaps.seatPosition("C2")));
+        // shorter rows and seats beyond the map
+        assertEquals(SeatMaps.NO_SEAT, seatMap.category(SeatMaps.seatPosition("A7")));
+        assertEquals(SeatMaps.NO_SEAT, seatMap.category(SeatMaps.seatPosition("C3")));
+        assertEquals(SeatMaps.NO_SEAT, seatMap.category(SeatMaps.seatPosition("D1")));
+        assertEquals(SeatMaps.NO_SEAT, seatMap.category(SeatMaps.seatPosition("B8")));
+        assertEquals(650, seatMaps.surchargeCents(2));
+    }
+
+    @Test
+    void testSeatPosition_ParsesRowLettersAndNumber() {
+        assertEquals(12, SeatMaps.seatPosition("A12"));
+        assertEquals(2 << 16 | 7, SeatMaps.seatPosition("C7"));
+        assertEquals(26 << 16 | 1, SeatMaps.seatPosition("AA1"));
+        assertEquals(SeatMaps.INVALID_SEAT, SeatMaps.seatPosition("A0"));
+        assertEquals(SeatMaps.INVALID_SEAT, SeatMaps.seatPosition("12"));
+        assertEquals(SeatMaps.INVALID_SEAT, SeatMaps.seatPosition("c12"));
+        assertEquals(SeatMaps.INVALID_SEAT, SeatMaps.seatPosition("AAA1"));
+        assertEquals(SeatMaps.INVALID_SEAT, SeatMaps.seatPosition("A1000"));
+        assertEquals(SeatMaps.INVALID_SEAT, SeatMaps.seatPosition(""));
+    }
+
+    @Test
+    void testCompile_RejectsInvalidSeatMaps() {
+        assertThrows(IllegalStateException.class,
+                () -> SeatMaps.compile(CATEGORIES, Map.of("screen-1", auditorium("SSX"))));
+        assertThrows(IllegalStateException.class,
+                () -> SeatMaps.compile(CATEGORIES, Map.of("screen-1", auditorium())));
+        assertThrows(IllegalStateException.class, () -> SeatMaps.compile(
+                List.of(category("standard", "S", 0), category("sofa", "S", 2)), Map.of("screen-1", auditorium("S"))));
+        assertThrows(IllegalStateException.class, () -> SeatMaps.compile(
+                List.of(category("standard", "SS", 0)), Map.of("screen-1", auditorium("S"))));
+        assertThrows(IllegalStateException.class, () -> SeatMaps.compile(
+                List.of(category("standard", "S", -1)), Map.of("screen-1", auditorium("S"))));
+    }
+
+    private static SeatCategoryConfig category(String name, String code, double surcharge) {
+        SeatCategoryConfig category = new SeatCategoryConfig();
+        category.setName(name);
+        category.setCode(code);
+        category.setSurcharge(surcharge);
+        return category;
+    }
+
+    private static AuditoriumConfig auditorium(String... rows) {
+        AuditoriumConfig auditorium = new AuditoriumConfig();
+        auditorium.setRows(List.of(rows));
+        return auditorium;
+    }
+}
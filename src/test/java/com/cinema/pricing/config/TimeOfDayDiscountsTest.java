@@ -0,0 +1,106 @@
+package com.cinema.pricing.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeOfDayDiscountsTest {
+
+    // 2026-10-14 is a Wednesday, 2026-10-16 a Friday and 2026-12-25 a Friday
+    private static final LocalDateTime WEDNESDAY_NOON = LocalDateTime.of(2026, 10, 14, 12, 0);
+
+    @Test
+    void testCompile_NoSchedulesHasNoDiscount() {
+        //WHEN
+        TimeOfDayDiscounts discounts = TimeOfDayDiscounts.compile(List.of(), List.of());
+
+        //THEN
+        assertTrue(discounts.isEmpty());
+        assertEquals(TimeOfDayDiscounts.NO_DISCOUNT, discounts.basisPointsAt(WEDNESDAY_NOON));
+        assertArrayEquals(new int[]{0}, discounts.distinctBasisPoints());
+    }
+
+    @Test
+    void testBasisPointsAt_ScheduleStartIsInclusiveAndEndExclusive() {
+        //GIVEN
+        TimeOfDayDiscounts discounts = TimeOfDayDiscounts.compile(
+                List.of(schedule("matinee", List.of("wednesday"), "10:00", "16:00", 0.20)), List.of());
+
+        //THEN
+        assertEquals(0, discounts.basisPointsAt(WEDNESDAY_NOON.withHour(9).withMinute(59)));
+        assertEquals(2000, discounts.basisPointsAt(WEDNESDAY_NOON.withHour(10)));
+        assertEquals(2000, discounts.basisPointsAt(WEDNESDAY_NOON.withHour(15).withMinute(59)));
+        assertEquals(0, discounts.basisPointsAt(WEDNESDAY_NOON.withHour(16)));
+        assertEquals(0, discounts.basisPointsAt(WEDNESDAY_NOON.plusDays(1)));
+        assertArrayEquals(new int[]{0, 2000}, discounts.distinctBasisPoints());
+    }
+
+    @Test
+    void testBasisPointsAt_OverlapTakesLargerDiscountAndLateScheduleRunsIntoNextDay() {
+        //GIVEN
+        TimeOfDayDiscounts discounts = TimeOfDayDiscounts.compile(List.of(
+                schedule("off-peak", List.of(), "21:00", "02:00", 0.10),
+                schedule("late-show", List.of("SUNDAY"), "22:00", "23:00", 0.15)), List.of());
+        // 2026-10-18 is a Sunday
+        LocalDateTime sundayNight = LocalDateTime.of(2026, 10, 18, 22, 30);
+
+        //THEN
+        assertEquals(1500, discounts.basisPointsAt(sundayNight));
+        assertEquals(1000, discounts.basisPointsAt(sundayNight.withHour(21)));
+        assertEquals(1000, discounts.basisPointsAt(sundayNight.plusDays(1).withHour(1).withMinute(59)));
+        assertEquals(0, discounts.basisPointsAt(sundayNight.plusDays(1).withHour(2)));
+    }
+
+    @Test
+    void testBasisPointsAt_HolidayUsesOverride() {
+        //GIVEN
+        HolidayConfig christmas = holiday("2026-12-25", "SUNDAY");
+        HolidayConfig fridayWithoutDiscount = holiday("2026-10-16", "NONE");
+        TimeOfDayDiscounts discounts = TimeOfDayDiscounts.compile(List.of(
+                schedule("sunday-matinee", List.of("SUNDAY"), "10:00", "16:00", 0.25),
+                schedule("off-peak", List.of("FRIDAY"), "10:00", "16:00", 0.10)), List.of(christmas, fridayWithoutDiscount));
+
+        //THEN
+        assertEquals(2500, discounts.basisPointsAt(LocalDateTime.of(2026, 12, 25, 12, 0)));
+        assertEquals(1000, discounts.basisPointsAt(LocalDateTime.of(2026, 12, 18, 12, 0)));
+        assertEquals(0, discounts.basisPointsAt(LocalDateTime.of(2026, 10, 16, 12, 0)));
+    }
+
+    @Test
+    void testCompile_InvalidScheduleFails() {
+        //THEN
+        assertThrows(IllegalStateException.class, () -> TimeOfDayDiscounts.compile(
+                List.of(schedule("matinee", List.of(), "10am", "16:00", 0.20)), List.of()));
+        assertThrows(IllegalStateException.class, () -> TimeOfDayDiscounts.compile(
+                List.of(schedule("matinee", List.of("FUNDAY"), "10:00", "16:00", 0.20)), List.of()));
+        assertThrows(IllegalStateException.class, () -> TimeOfDayDiscounts.compile(
+                List.of(schedule("matinee", List.of(), "10:00", "16:00", 1.5)), List.of()));
+        assertThrows(IllegalStateException.class, () -> TimeOfDayDiscounts.compile(
+                List.of(schedule("matinee", List.of(), "10:00", "16:00", 0.20)),
+                List.of(holiday("2026-12-25", "SUNDAY"), holiday("2026-12-25", "NONE"))));
+    }
+
+    private static TimeOfDayDiscountConfig schedule(String name, List<String> days, String start, String end,
+                                                    double discountRate) {
+        TimeOfDayDiscountConfig schedule = new TimeOfDayDiscountConfig();
+        schedule.setName(name);
+        schedule.setDays(days);
+        schedule.setStart(start);
+        schedule.setEnd(end);
+        schedule.setDiscountRate(discountRate);
+        return schedule;
+    }
+
+    private static HolidayConfig holiday(String date, String pricedAs) {
+        HolidayConfig holiday = new HolidayConfig();
+        holiday.setDate(date);
+        holiday.setPricedAs(pricedAs);
+        return holiday;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cinema.pricing.decision;
+
+import com.cinema.pricing.config.OccupancyBands;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingDecisionProperties;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PricingDecisionRecorderTest {
+
+    private final PricingSnapshot snapshot = PricingSnapshot.compile(new PricingConfiguration(), 1, "test");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PricingDecisionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PricingDecisionProperties();
+        properties.setSampleRate(0);
+        properties.setBufferSize(2);
+    }
+
+    @Test
+    void testStartTrace_OnlyTracedTransactions_WhenSamplingIsOff() {
+        //GIVEN
+        PricingDecisionRecorder recorder = new PricingDecisionRecorder(properties, meterRegistry);
+
+        //THEN
+        assertNull(recorder.startTrace(snapshot, 1L, false));
+        assertNotNull(recorder.startTrace(snapshot, 1L, true));
+    }
+
+    @Test
+    void testStartTrace_EveryTransaction_WhenSampleRateIsOne() {
+        //GIVEN
+        properties.setSampleRate(1.0);
+        PricingDecisionRecorder recorder = new PricingDecisionRecorder(properties, meterRegistry);
+
+        //THEN
+        assertNotNull(recorder.startTrace(snapshot, 1L, false));
+    }
+
+    @Test
+    void testStartTrace_Nothing_WhenDisabled() {
+        //GIVEN
+        properties.setEnabled(false);
+        PricingDecisionRecorder recorder = new PricingDecisionRecorder(properties, meterRegistry);
+
+        //THEN
+        assertNull(recorder.startTrace(snapshot, 1L, true));
+    }
+
+    @Test
+    void testRecord_DropsEvents_WhenBufferIsFull() {
+        //GIVEN
+        PricingDecisionRecorder recorder = new PricingDecisionRecorder(properties, meterRegistry);
+        DecisionTrace trace = recorder.startTrace(snapshot, 7L, true);
+
+        //WHEN
+        trace.transactionPriced(100);
+        trace.transactionPriced(200);
+        trace.transactionPriced(300);
+
+        //THEN
+        assertEquals(2, meterRegistry.get("pricing.decisions.recorded").counter().count());
+        assertEquals(1, meterRegistry.get("pricing.decisions.dropped").counter().count());
+        assertTrue(recorder.drain());
+        assertFalse(recorder.drain());
+
+        trace.transactionPriced(400);
+        assertEquals(3, meterRegistry.get("pricing.decisions.recorded").counter().count());
+    }
+
+    @Test
+    void testDiscountEvaluated_RecordsEvent() {
+        //GIVEN
+        PricingDecisionRecorder recorder = new PricingDecisionRecorder(properties, meterRegistry);
+        DecisionTrace trace = recorder.startTrace(snapshot, 7L, true);
+        int[] ticketCounts = new int[TicketType.values().length];
+        ticketCounts[TicketType.CHILDREN.ordinal()] = 3;
+        DiscountContext context = DiscountContext.forTransaction(snapshot, ticketCounts, LocalDateTime.now(),
+                        OccupancyBands.BASE_PRICE, null, trace)
+                .select(TicketType.CHILDREN, 3, 500, 1500);
+
+        //WHEN
+        trace.discountEvaluated(context, new BulkDiscountStrategy(), 375);
+
+        //THEN
+        assertEquals(1, meterRegistry.get("pricing.decisions.recorded").counter().count());
+        assertTrue(recorder.drain());
+    }
+
+    @Test
+    void testFormat_WritesDiscountDecisionAsJson() {
+        //GIVEN
+        PricingDecisionRecorder recorder = new PricingDecisionRecorder(properties, meterRegistry);
+        DecisionEvent event = new DecisionEvent();
+        event.kind = DecisionEvent.Kind.DISCOUNT;
+        event.transactionId = 7L;
+        event.snapshotVersion = 1;
+        event.traced = true;
+        event.ticketType = TicketType.CHILDREN;
+        event.quantity = 3;
+        event.baseTotalCostCents = 1500;
+        event.discountType = "BULK DISCOUNT";
+        event.applied = true;
+        event.discountCents = 375;
+
+        //WHEN
+        String line = recorder.format(event);
+
+        //THEN
+        assertTrue(line.contains("\"event\":\"discount\",\"transactionId\":7,\"snapshotVersion\":1,\"trigger\":\"traced\""), line);
+        assertTrue(line.contains("\"ticketType\":\"CHILDREN\",\"quantity\":3,\"baseTotalCost\":15.00"), line);
+        assertTrue(line.endsWith("\"discountType\":\"BULK DISCOUNT\",\"applied\":true,\"discount\":3.75}"), line);
+    }
+}
@@ -0,0 +1,57 @@
+package com.cinema.pricing.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "25.00, 2500",
+            "17.5, 1750",
+            "0.285, 29",
+            "1.005, 101",
+            "0, 0"
+    })
+    void testOfMajor_RoundsHalfUpToCents(double amount, long expectedCents) {
+        assertEquals(expectedCents, Money.ofMajor(amount));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1500, 0.25, 375",
+            "2500, 0.30, 750",
+            "5, 0.30, 2",
+            "15, 0.50, 8",
+            "1000, 0, 0"
+    })
+    void testDiscount_IsExactAndRoundsHalfUp(long cents, double rate, long expectedDiscount) {
+        assertEquals(expectedDiscount, Money.discount(cents, rate));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2750, 27.50",
+            "5, 0.05",
+            "0, 0.00",
+            "-1234, -12.34",
+            "9223372036854775807, 92233720368547758.07"
+    })
+    void testToString_WritesTwoFractionDigits(long cents, String expected) {
+        assertEquals(expected, Money.toString(cents));
+    }
+
+    @Test
+    void testBasisPointsOf_ThrowsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.basisPointsOf(Long.MAX_VALUE / 100, 11_000));
+    }
+
+    @Test
+    void testToMajor() {
+        assertEquals(11.25, Money.toMajor(1125));
+    }
+}
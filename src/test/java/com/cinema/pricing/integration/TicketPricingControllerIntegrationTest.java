@@ -1,5 +1,6 @@
 package com.cinema.pricing.integration;
 
+import com.cinema.pricing.model.BatchTransactionRequest;
 import com.cinema.pricing.model.Customer;
 import com.cinema.pricing.model.TransactionRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,7 +15,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -137,6 +141,70 @@ public class TicketPricingControllerIntegrationTest {
 
     }
 
+    @Test
+    void testCalculateTicketPricesBatch_shouldPriceEachTransaction() throws Exception {
+        //GIVEN
+        BatchTransactionRequest request = BatchTransactionRequest.builder()
+                .transactions(List.of(
+                        TransactionRequest.builder()
+                                .transactionId(1L)
+                                .customers(List.of(createCustomer("Adult 1", 36)))
+                                .build(),
+                        TransactionRequest.builder()
+                                .transactionId(2L)
+                                .customers(List.of(
+                                        createCustomer("Child 1", 3),
+                                        createCustomer("Child 2", 8),
+                                        createCustomer("Child 3", 9)))
+                                .build()))
+                .build();
 
-}
+        //WHEN & THEN
+        mockMvc.perform(post("/api/v1/tickets/calculate-pricing/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].transactionId").value(1))
+                .andExpect(jsonPath("$[0].transaction.totalCost").value(25.00))
+                .andExpect(jsonPath("$[1].transactionId").value(2))
+                .andExpect(jsonPath("$[1].transaction.tickets[0].ticketType").value("Children"))
+                .andExpect(jsonPath("$[1].transaction.totalCost").value(11.25));
+    }
 
+    @Test
+    void testCalculateTicketPricesStream_shouldWriteOneLinePerTransaction() throws Exception {
+        //GIVEN
+        String body = objectMapper.writeValueAsString(TransactionRequest.builder()
+                .transactionId(1L)
+                .customers(List.of(createCustomer("Adult 1", 36)))
+                .build())
+                + "\n"
+                + objectMapper.writeValueAsString(TransactionRequest.builder()
+                .transactionId(2L)
+                .customers(List.of())
+                .build())
+                + "\n";
+
+        //WHEN
+        String response = mockMvc.perform(post("/api/v1/tickets/calculate-pricing/stream")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        //THEN
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1, objectMapper.readTree(lines[0]).get("transactionId").asInt());
+        assertEquals(25.00, objectMapper.readTree(lines[0]).get("transaction").get("totalCost").asDouble());
+        assertEquals(2, objectMapper.readTree(lines[1]).get("transactionId").asInt());
+        assertTrue(objectMapper.readTree(lines[1]).get("error").get("message").asText().startsWith("customers"));
+    }
+
+
+}
@@ -0,0 +1,118 @@
+package com.cinema.pricing.jfr;
+
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingRecordingProperties;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.service.discount.DiscountContext;
+import com.cinema.pricing.service.discount.DiscountEngine;
+import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.SeniorDiscountStrategy;
+import com.cinema.pricing.service.impl.ConfigBasedTicketPriceProvider;
+import com.cinema.pricing.service.impl.StandardPricingStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingRecordingEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private final PricingRecordingEndpoint endpoint = new PricingRecordingEndpoint(new PricingRecordingProperties());
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void testDump_ReturnsNotFound_WhenNoRecordingWasStarted() throws Exception {
+        //WHEN
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        //THEN
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, response.getStatus());
+    }
+
+    @Test
+    void testDump_ContainsPricingEvents_WhileRecording() throws Exception {
+        //GIVEN
+        Map<String, Object> started = endpoint.start(Duration.ofMinutes(1));
+        PricingSnapshotHolder snapshotHolder = new PricingSnapshotHolder(new PricingConfiguration(), event -> {
+        });
+        snapshotHolder.publish(new PricingConfiguration(), "test");
+        DiscountEngine discountEngine = new DiscountEngine(List.of(new BulkDiscountStrategy(),
+                new SeniorDiscountStrategy()), new PricingMetrics(new SimpleMeterRegistry()));
+        discountEngine.init();
+        StandardPricingStrategy pricingStrategy = new StandardPricingStrategy(new ConfigBasedTicketPriceProvider(),
+                discountEngine);
+        int[] ticketCounts = new int[TicketType.values().length];
+        ticketCounts[TicketType.SENIOR.ordinal()] = 1;
+        pricingStrategy.calculateCost(DiscountContext.forTransaction(snapshotHolder.current(), ticketCounts,
+                LocalDateTime.parse("2026-10-12T19:00")), TicketType.SENIOR, 1);
+
+        //WHEN
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        //THEN
+        assertEquals("RUNNING", started.get("state"));
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        Path dumped = response.getBody().getFile().toPath();
+        Path recording = directory.resolve("pricing.jfr");
+        try (InputStream in = response.getBody().getInputStream()) {
+            Files.copy(in, recording);
+        }
+        assertFalse(Files.exists(dumped));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recording);
+        RecordedEvent published = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.cinema.pricing.SnapshotPublished"))
+                .findFirst().orElseThrow();
+        assertEquals(1, published.getLong("previousVersion"));
+        assertEquals(2, published.getLong("version"));
+        assertEquals("test", published.getString("source"));
+        RecordedEvent senior = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.cinema.pricing.DiscountEvaluated"))
+                .filter(event -> event.getString("discountType").equals("SENIOR_DISCOUNT"))
+                .findFirst().orElseThrow();
+        assertEquals("SENIOR", senior.getString("ticketType"));
+        assertEquals(1, senior.getInt("quantity"));
+        assertTrue(senior.getBoolean("applied"));
+        assertEquals(525, senior.getLong("discountCents"));
+        assertTrue(events.stream().noneMatch(event -> Set.of("jdk.InitialEnvironmentVariable",
+                "jdk.InitialSystemProperty", "jdk.JVMInformation").contains(event.getEventType().getName())));
+    }
+
+    @Test
+    void testStop_ClosesRecording() throws Exception {
+        //GIVEN
+        long id = (Long) endpoint.start(null).get("id");
+
+        //WHEN
+        Map<String, Object> stopped = endpoint.stop();
+
+        //THEN
+        assertEquals(id, stopped.get("id"));
+        assertEquals("STOPPED", stopped.get("state"));
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump().getStatus());
+        assertEquals(Map.of("state", "NONE"), endpoint.stop());
+    }
+}
@@ -0,0 +1,99 @@
+package com.cinema.pricing.mapper;
+
+import com.cinema.pricing.config.JacksonConfig;
+import com.cinema.pricing.domain.TicketCalculation;
+import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TransactionResponseWriterTest {
+
+    private ObjectMapper objectMapper;
+    private TransactionMapper transactionMapper;
+    private TransactionResponseWriter responseWriter;
+
+    @BeforeEach
+    void setUp() {
+        // as configured in application.yaml
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL));
+        transactionMapper = new TransactionMapper();
+        responseWriter = new TransactionResponseWriter(objectMapper);
+    }
+
+    @Test
+    void testToBytes_MatchesObjectMapperOutput() throws Exception {
+        //GIVEN
+        TransactionCalculation calculation = calculation(1234567890L,
+                ticket(TicketType.ADULT, 2, 5000),
+                ticket(TicketType.CHILDREN, 3, 1125),
+                ticket(TicketType.SENIOR, 1, 1750),
+                ticket(TicketType.TEEN, 1, 1200));
+
+        //WHEN
+        byte[] bytes = responseWriter.toBytes(calculation);
+
+        //THEN
+        assertEquals("{\"transactionId\":1234567890,\"tickets\":["
+                        + "{\"ticketType\":\"Adult\",\"quantity\":2,\"totalCost\":50.00},"
+                        + "{\"ticketType\":\"Children\",\"quantity\":3,\"totalCost\":11.25},"
+                        + "{\"ticketType\":\"Senior\",\"quantity\":1,\"totalCost\":17.50},"
+                        + "{\"ticketType\":\"Teen\",\"quantity\":1,\"totalCost\":12.00}],\"totalCost\":91.75}",
+                new String(bytes, StandardCharsets.UTF_8));
+        assertMatchesObjectMapper(calculation);
+    }
+
+    @Test
+    void testToBytes_MatchesObjectMapperForEdgeAmounts() throws Exception {
+        assertMatchesObjectMapper(calculation(0L, ticket(TicketType.ADULT, 1, 0)));
+        assertMatchesObjectMapper(calculation(-7L, ticket(TicketType.ADULT, 1, 5)));
+        assertMatchesObjectMapper(calculation(Long.MAX_VALUE, ticket(TicketType.TEEN, 50, 123_456_789_01L)));
+        assertMatchesObjectMapper(calculation(Long.MIN_VALUE, ticket(TicketType.SENIOR, 1, -1_05)));
+    }
+
+    @Test
+    void testToBytes_LeavesOutMissingTransactionIdAndWritesEmptyTickets() throws Exception {
+        assertMatchesObjectMapper(calculation(null, ticket(TicketType.CHILDREN, 1, 500)));
+        assertMatchesObjectMapper(calculation(1L));
+    }
+
+    @Test
+    void testToBytes_ReusesPooledBufferWithoutLeakingPreviousResponse() throws Exception {
+        //GIVEN
+        responseWriter.toBytes(calculation(1L, ticket(TicketType.ADULT, 10, 25000),
+                ticket(TicketType.CHILDREN, 10, 5000)));
+
+        //WHEN & THEN
+        assertMatchesObjectMapper(calculation(2L, ticket(TicketType.TEEN, 1, 1200)));
+    }
+
+    private void assertMatchesObjectMapper(TransactionCalculation calculation) throws Exception {
+        assertEquals(objectMapper.writeValueAsString(transactionMapper.toResponse(calculation)),
+                new String(responseWriter.toBytes(calculation), StandardCharsets.UTF_8));
+    }
+
+    private static TransactionCalculation calculation(Long transactionId, TicketCalculation... tickets) {
+        return TransactionCalculation.builder()
+                .transactionId(transactionId)
+                .ticketCalculations(List.of(tickets))
+                .totalCostCents(List.of(tickets).stream().mapToLong(TicketCalculation::getTotalCostCents).sum())
+                .build();
+    }
+
+    private static TicketCalculation ticket(TicketType ticketType, int quantity, long totalCostCents) {
+        return TicketCalculation.builder()
+                .ticketType(ticketType)
+                .quantity(quantity)
+                .totalCostCents(totalCostCents)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.cinema.pricing.occupancy;
+
+import com.cinema.pricing.config.ShowingOccupancyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShowingOccupancyTrackerTest {
+
+    @Test
+    void testSell_ReturnsSeatsSoldBeforeTransaction() {
+        //GIVEN
+        ShowingOccupancyTracker tracker = new ShowingOccupancyTracker(new ShowingOccupancyProperties(),
+                new SimpleMeterRegistry());
+
+        //WHEN
+        long first = tracker.sell("screen-1", 3);
+        long second = tracker.sell("screen-1", 2);
+        long otherShowing = tracker.sell("screen-2", 4);
+
+        //THEN
+        assertEquals(0, first);
+        assertEquals(3, second);
+        assertEquals(0, otherShowing);
+        assertEquals(5, tracker.seatsSold("screen-1"));
+        assertEquals(0, tracker.seatsSold("screen-3"));
+    }
+
+    @Test
+    void testSell_RetriedTransactionIsSoldOnce() {
+        //GIVEN
+        ShowingOccupancyTracker tracker = new ShowingOccupancyTracker(new ShowingOccupancyProperties(),
+                new SimpleMeterRegistry());
+        tracker.sell(1L, "screen-1", 3);
+        tracker.sell(2L, "screen-1", 2);
+
+        //WHEN
+        long retried = tracker.sell(1L, "screen-1", 3);
+
+        //THEN
+        assertEquals(0, retried);
+        assertEquals(5, tracker.seatsSold("screen-1"));
+    }
+
+    @Test
+    void testSell_ConcurrentSalesAreAllCounted() throws Exception {
+        //GIVEN
+        ShowingOccupancyTracker tracker = new ShowingOccupancyTracker(new ShowingOccupancyProperties(),
+                new SimpleMeterRegistry());
+        int threads = 8;
+        int salesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //WHEN
+        List<Future<?>> sales = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            sales.add(executor.submit(() -> {
+                for (int sale = 0; sale < salesPerThread; sale++) {
+                    tracker.sell("premiere", 2);
+                }
+            }));
+        }
+        for (Future<?> sale : sales) {
+            sale.get();
+        }
+        executor.shutdown();
+
+        //THEN
+        assertEquals(2L * threads * salesPerThread, tracker.seatsSold("premiere"));
+    }
+
+    @Test
+    void testSell_TrackedShowingsAreBounded() {
+        //GIVEN
+        ShowingOccupancyProperties properties = new ShowingOccupancyProperties();
+        properties.setMaximumShowings(10);
+        ShowingOccupancyTracker tracker = new ShowingOccupancyTracker(properties, new SimpleMeterRegistry());
+
+        //WHEN
+        for (int i = 0; i < 1_000; i++) {
+            tracker.sell("showing-" + i, 1);
+        }
+
+        //THEN
+        assertTrue(tracker.trackedShowings() <= 10);
+    }
+}
@@ -0,0 +1,188 @@
+package com.cinema.pricing.promo;
+
+import com.cinema.pricing.config.PromoCodeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PromoCodeCatalogueTest {
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRedeem_KnownCode() throws IOException {
+        //GIVEN
+        PromoCodeCatalogue catalogue = catalogue("""
+                # code,discount-rate,max-redemptions
+                SUMMER25,0.25,0
+                HALF-OFF,0.5,1\r
+                """);
+
+        //WHEN
+        PromoCode promoCode = catalogue.redeem("SUMMER25");
+
+        //THEN
+        assertEquals(2, catalogue.size());
+        assertEquals("SUMMER25", promoCode.code());
+        assertEquals(0.25, promoCode.discountRate());
+        assertEquals(0.5, catalogue.redeem("HALF-OFF").discountRate());
+        assertEquals(2, meterRegistry.get("pricing.promo.redemptions").tag("result", "redeemed").counter().count());
+    }
+
+    @Test
+    void testRedeem_UnknownCodeIsRejected() throws IOException {
+        //GIVEN
+        PromoCodeCatalogue catalogue = catalogue("SUMMER25,0.25,0\n");
+
+        //WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> catalogue.redeem("summer25"));
+        assertThrows(IllegalArgumentException.class, () -> catalogue.redeem("SUMMER2"));
+        assertThrows(IllegalArgumentException.class, () -> catalogue.redeem("SUMMER25X"));
+        assertEquals(3, meterRegistry.get("pricing.promo.redemptions").tag("result", "unknown").counter().count());
+    }
+
+    @Test
+    void testRedeem_SingleUseCodeIsRedeemedOnce() throws IOException {
+        //GIVEN
+        PromoCodeCatalogue catalogue = catalogue("ONCE,0.1,1\n");
+        catalogue.redeem("ONCE");
+
+        //WHEN
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> catalogue.redeem("ONCE"));
+
+        //THEN
+        assertEquals("Promo code ONCE has no redemptions left", ex.getMessage());
+        assertEquals(1, meterRegistry.get("pricing.promo.redemptions").tag("result", "exhausted").counter().count());
+    }
+
+    @Test
+    void testRedeem_RetriedTransactionRedeemsOnce() throws IOException {
+        //GIVEN
+        PromoCodeCatalogue catalogue = catalogue("ONCE,0.1,1\n");
+        PromoCode redeemed = catalogue.redeem(42L, "ONCE");
+
+        //WHEN
+        PromoCode retried = catalogue.redeem(42L, "ONCE");
+
+        //THEN
+        assertSame(redeemed, retried);
+        assertEquals(1, meterRegistry.get("pricing.promo.redemptions").tag("result", "redeemed").counter().count());
+        assertThrows(IllegalArgumentException.class, () -> catalogue.redeem(43L, "ONCE"));
+    }
+
+    @Test
+    void testRedeem_ConcurrentRedemptionsStopAtTheLimit() throws Exception {
+        //GIVEN
+        PromoCodeCatalogue catalogue = catalogue("TEAM,0.2,100\n");
+        Callable<Integer> redeemer = () -> {
+            int redeemed = 0;
+            for (int i = 0; i < 50; i++) {
+                try {
+                    catalogue.redeem("TEAM");
+                    redeemed++;
+                } catch (IllegalArgumentException ex) {
+                    // no redemptions left
+                }
+            }
+            return redeemed;
+        };
+
+        //WHEN
+        int redeemed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(redeemer));
+            }
+            for (Future<Integer> result : results) {
+                redeemed += result.get();
+            }
+        }
+
+        //THEN
+        assertEquals(100, redeemed);
+        assertEquals(300, meterRegistry.get("pricing.promo.redemptions").tag("result", "exhausted").counter().count());
+    }
+
+    @Test
+    void testFind_ManyCodes() {
+        //GIVEN
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            lines.append("CODE").append(i).append(",0.15,1\n");
+        }
+        PromoCodeIndex index = PromoCodeIndex.of(ByteBuffer.wrap(lines.toString().getBytes()), 10);
+
+        //WHEN
+        int wrongMatches = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(i, index.find("CODE" + i));
+            if (index.find("OTHER" + i) != PromoCodeIndex.NOT_FOUND) {
+                wrongMatches++;
+            }
+        }
+
+        //THEN
+        assertEquals(100_000, index.size());
+        assertEquals(0, wrongMatches);
+    }
+
+    @Test
+    void testLoad_InvalidCatalogueFails() throws IOException {
+        //GIVEN
+        Path duplicate = write("SAME,0.1,1\nSAME,0.2,1\n");
+        Path badRate = write("RATE,1.5,1\n");
+        Path badCode = write("BAD CODE,0.1,1\n");
+
+        //WHEN & THEN
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> PromoCodeIndex.load(duplicate, 10));
+        assertEquals("Invalid promo code catalogue line 2: duplicate code", ex.getMessage());
+        assertThrows(IllegalStateException.class, () -> PromoCodeIndex.load(badRate, 10));
+        assertThrows(IllegalStateException.class, () -> PromoCodeIndex.load(badCode, 10));
+    }
+
+    @Test
+    void testRedeem_NoCatalogueRejectsEveryCode() throws IOException {
+        //GIVEN
+        PromoCodeCatalogue catalogue = new PromoCodeCatalogue(new PromoCodeProperties(), meterRegistry);
+        catalogue.load();
+
+        //WHEN & THEN
+        assertEquals(0, catalogue.size());
+        assertThrows(IllegalArgumentException.class, () -> catalogue.redeem("SUMMER25"));
+    }
+
+    private PromoCodeCatalogue catalogue(String lines) throws IOException {
+        PromoCodeProperties properties = new PromoCodeProperties();
+        properties.setFile(write(lines).toString());
+        PromoCodeCatalogue catalogue = new PromoCodeCatalogue(properties, meterRegistry);
+        catalogue.load();
+        return catalogue;
+    }
+
+    private Path write(String lines) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "promo-codes", ".csv"), lines);
+    }
+}
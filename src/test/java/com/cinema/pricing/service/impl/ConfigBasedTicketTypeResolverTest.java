@@ -1,22 +1,28 @@
 package com.cinema.pricing.service.impl;
 
+import com.cinema.pricing.config.AgeRange;
 import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingSnapshot;
 import com.cinema.pricing.domain.TicketType;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ConfigBasedTicketTypeResolverTest {
 
     private ConfigBasedTicketTypeResolver resolver;
 
+    private PricingSnapshot snapshot;
+
     @BeforeEach
     void setUp() {
         PricingConfiguration config = new PricingConfiguration();
-        resolver = new ConfigBasedTicketTypeResolver(config);
-        resolver.init();
+        snapshot = PricingSnapshot.compile(config, 1, "test");
+        resolver = new ConfigBasedTicketTypeResolver();
     }
 
 
@@ -33,11 +39,53 @@ public class ConfigBasedTicketTypeResolverTest {
             "64, ADULT",
             "65, SENIOR",
             "70, SENIOR",
-            "100, SENIOR"
+            "100, SENIOR",
+            "200, SENIOR"
     })
     void testResolveTicketType_ValidAges(int age, TicketType expectedType) {
-        TicketType result = resolver.resolveTicketType(age);
+        TicketType result = resolver.resolveTicketType(snapshot, age);
         assertEquals(expectedType, result);
     }
 
+    @Test
+    void testResolveTicketType_NegativeAge() {
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolveTicketType(snapshot, -1));
+    }
+
+    @Test
+    void testResolveTicketType_AgeAboveConfiguredRanges() {
+        PricingSnapshot boundedSnapshot = PricingSnapshot.compile(configWith(0, 17, 18, 100), 1, "test");
+
+        assertEquals(TicketType.ADULT, resolver.resolveTicketType(boundedSnapshot, 100));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolveTicketType(boundedSnapshot, 101));
+    }
+
+    @Test
+    void testCompile_FailsOnOverlappingRanges() {
+        PricingConfiguration config = configWith(0, 18, 18, 100);
+
+        assertThrows(IllegalStateException.class, () -> PricingSnapshot.compile(config, 1, "test"));
+    }
+
+    @Test
+    void testCompile_FailsOnMissingRange() {
+        PricingConfiguration config = configWith(0, 16, 18, 100);
+
+        assertThrows(IllegalStateException.class, () -> PricingSnapshot.compile(config, 1, "test"));
+    }
+
+    private PricingConfiguration configWith(int childMin, int childMax, int adultMin, int adultMax) {
+        PricingConfiguration config = new PricingConfiguration();
+        config.getAgeRanges().put("children", createAgeRange(childMin, childMax));
+        config.getAgeRanges().put("adult", createAgeRange(adultMin, adultMax));
+        return config;
+    }
+
+    private AgeRange createAgeRange(int min, int max) {
+        AgeRange range = new AgeRange();
+        range.setMin(min);
+        range.setMax(max);
+        return range;
+    }
+
 }
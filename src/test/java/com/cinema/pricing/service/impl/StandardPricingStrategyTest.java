@@ -1,13 +1,24 @@
 package com.cinema.pricing.service.impl;
 
+import com.cinema.pricing.config.BulkDiscountConfig;
+import com.cinema.pricing.config.OccupancyBands;
 import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.TimeOfDayDiscountConfig;
 import com.cinema.pricing.domain.TicketType;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.promo.PromoCode;
+import com.cinema.pricing.service.discount.DiscountContext;
 import com.cinema.pricing.service.discount.DiscountEngine;
 import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.PromoCodeDiscountStrategy;
 import com.cinema.pricing.service.discount.impl.SeniorDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.TimeOfDayDiscountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +29,8 @@ public class StandardPricingStrategyTest {
 
     private StandardPricingStrategy pricingStrategy;
 
+    private PricingSnapshot snapshot;
+
     @BeforeEach
     void setUp() {
         PricingConfiguration config = new PricingConfiguration();
@@ -27,15 +40,18 @@ public class StandardPricingStrategyTest {
         config.setChildrenBasePrice(5.00);
         config.setSeniorDiscountRate(0.30);
 
-        ConfigBasedTicketPriceProvider priceProvider = new ConfigBasedTicketPriceProvider(config);
-        BulkDiscountStrategy bulkDiscountStrategy = new BulkDiscountStrategy(config);
-        SeniorDiscountStrategy seniorDiscountStrategy = new SeniorDiscountStrategy(config);
+        snapshot = PricingSnapshot.compile(config, 1, "test");
+
+        ConfigBasedTicketPriceProvider priceProvider = new ConfigBasedTicketPriceProvider();
+        BulkDiscountStrategy bulkDiscountStrategy = new BulkDiscountStrategy();
+        SeniorDiscountStrategy seniorDiscountStrategy = new SeniorDiscountStrategy();
 
-        DiscountEngine discountEngine = new DiscountEngine(List.of(bulkDiscountStrategy, seniorDiscountStrategy));
+        DiscountEngine discountEngine = new DiscountEngine(List.of(bulkDiscountStrategy, seniorDiscountStrategy,
+                new TimeOfDayDiscountStrategy(), new PromoCodeDiscountStrategy()),
+                new PricingMetrics(new SimpleMeterRegistry()));
         discountEngine.init();
 
-        pricingStrategy = new StandardPricingStrategy(config, priceProvider, discountEngine);
-        pricingStrategy.init();
+        pricingStrategy = new StandardPricingStrategy(priceProvider, discountEngine);
     }
 
 
@@ -46,10 +62,10 @@ public class StandardPricingStrategyTest {
         ticketCounts.put(TicketType.ADULT, 1);
 
         //WHEN
-        double cost = pricingStrategy.calculateCost(TicketType.ADULT, 1, ticketCounts);
+        long cost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.ADULT, 1);
 
         //THEN
-        assertEquals(25.00, cost);
+        assertEquals(2500, cost);
     }
 
     @Test
@@ -59,10 +75,10 @@ public class StandardPricingStrategyTest {
         ticketCounts.put(TicketType.SENIOR, 1);
 
         //WHEN
-        double cost = pricingStrategy.calculateCost(TicketType.SENIOR, 1, ticketCounts);
+        long cost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.SENIOR, 1);
 
         //THEN
-        assertEquals(17.50, cost);
+        assertEquals(1750, cost);
     }
 
     @Test
@@ -72,10 +88,10 @@ public class StandardPricingStrategyTest {
         ticketCounts.put(TicketType.TEEN, 1);
 
         //WHEN
-        double cost = pricingStrategy.calculateCost(TicketType.TEEN, 1, ticketCounts);
+        long cost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.TEEN, 1);
 
         //THEN
-        assertEquals(12.00, cost);
+        assertEquals(1200, cost);
     }
 
     @Test
@@ -83,9 +99,9 @@ public class StandardPricingStrategyTest {
         Map<TicketType, Integer> ticketCounts = new HashMap<>();
         ticketCounts.put(TicketType.CHILDREN, 2);
 
-        double cost = pricingStrategy.calculateCost(TicketType.CHILDREN, 2, ticketCounts);
-        assertEquals(10.00, cost);
-        assertFalse(pricingStrategy.isDiscountApplied(TicketType.CHILDREN, 2, ticketCounts));
+        long cost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.CHILDREN, 2);
+        assertEquals(1000, cost);
+        assertFalse(pricingStrategy.isDiscountApplied(context(snapshot, ticketCounts), TicketType.CHILDREN, 2));
     }
 
 
@@ -96,11 +112,11 @@ public class StandardPricingStrategyTest {
         ticketCounts.put(TicketType.CHILDREN, 3);
 
         //WHEN
-        double cost = pricingStrategy.calculateCost(TicketType.CHILDREN, 3, ticketCounts);
-        assertEquals(11.25, cost);
+        long cost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.CHILDREN, 3);
+        assertEquals(1125, cost);
 
         //THEN
-        assertTrue(pricingStrategy.isDiscountApplied(TicketType.CHILDREN, 3, ticketCounts));
+        assertTrue(pricingStrategy.isDiscountApplied(context(snapshot, ticketCounts), TicketType.CHILDREN, 3));
     }
 
 
@@ -112,12 +128,124 @@ public class StandardPricingStrategyTest {
         ticketCounts.put(TicketType.CHILDREN, 3);
 
         //WHEN
-        double adultCost = pricingStrategy.calculateCost(TicketType.ADULT, 1, ticketCounts);
-        double childrenCost = pricingStrategy.calculateCost(TicketType.CHILDREN, 3, ticketCounts);
+        long adultCost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.ADULT, 1);
+        long childrenCost = pricingStrategy.calculateCost(context(snapshot, ticketCounts), TicketType.CHILDREN, 3);
+
+        //THEN
+        assertEquals(2500, adultCost);
+        assertEquals(1125, childrenCost);
+    }
+
+    @Test
+    void testCalculateCost_ChildrenTicket_HighestReachedTierWins() {
+        //GIVEN
+        PricingConfiguration config = new PricingConfiguration();
+        config.setChildrenBasePrice(5.00);
+        config.getBulkDiscounts().add(createBulkDiscount("children", 3, 0.25));
+        config.getBulkDiscounts().add(createBulkDiscount("children", 5, 0.50));
+        PricingSnapshot tieredSnapshot = PricingSnapshot.compile(config, 2, "test");
+
+        //WHEN
+        long threeChildrenCost = pricingStrategy.calculateCost(context(tieredSnapshot, Map.of(TicketType.CHILDREN, 3)), TicketType.CHILDREN, 3);
+        long fiveChildrenCost = pricingStrategy.calculateCost(context(tieredSnapshot, Map.of(TicketType.CHILDREN, 5)), TicketType.CHILDREN, 5);
+
+        //THEN
+        assertEquals(1125, threeChildrenCost);
+        assertEquals(1250, fiveChildrenCost);
+    }
+
+    @Test
+    void testCalculateCost_PromoCodeStacksWithSeniorDiscount() {
+        //GIVEN
+        int[] counts = new int[TicketType.values().length];
+        counts[TicketType.SENIOR.ordinal()] = 2;
+        DiscountContext context = DiscountContext.forTransaction(snapshot, counts, LocalDateTime.now(),
+                OccupancyBands.BASE_PRICE, new PromoCode("SUMMER10", 0, 0.10), null);
+
+        //WHEN
+        long cost = pricingStrategy.calculateCost(context, TicketType.SENIOR, 2);
+
+        //THEN
+        // 5000 base, 1500 senior and 500 promo discount
+        assertEquals(3000, cost);
+    }
+
+    @Test
+    void testCalculateCost_DiscountsApplyToDemandAdjustedBasePrice() {
+        //GIVEN
+        int[] counts = new int[TicketType.values().length];
+        counts[TicketType.SENIOR.ordinal()] = 2;
+        DiscountContext context = DiscountContext.forTransaction(snapshot, counts, LocalDateTime.now(),
+                12_000, null, null);
+
+        //WHEN
+        long cost = pricingStrategy.calculateCost(context, TicketType.SENIOR, 2);
 
         //THEN
-        assertEquals(25.00, adultCost);
-        assertEquals(11.25, childrenCost);
+        // 6000 at 1.2 times the base price, less 1800 senior discount
+        assertEquals(4200, cost);
+    }
+
+    @Test
+    void testCalculateCost_DiscountsApplyToSeatSurcharges() {
+        //GIVEN
+        int[] counts = new int[TicketType.values().length];
+        counts[TicketType.SENIOR.ordinal()] = 2;
+        long[] seatSurcharges = new long[TicketType.values().length];
+        seatSurcharges[TicketType.SENIOR.ordinal()] = 600;
+        DiscountContext context = DiscountContext.forTransaction(snapshot, counts, seatSurcharges, LocalDateTime.now(),
+                OccupancyBands.BASE_PRICE, null, null);
+
+        //WHEN
+        long cost = pricingStrategy.calculateCost(context, TicketType.SENIOR, 2);
+        long adultCost = pricingStrategy.calculateCost(context, TicketType.ADULT, 1);
+
+        //THEN
+        // 5000 base and 600 surcharge, less 1680 senior discount
+        assertEquals(3920, cost);
+        assertEquals(2500, adultCost);
+    }
+
+    @Test
+    void testCalculateCost_MatineeDiscountAppliesDuringSchedule() {
+        //GIVEN
+        PricingConfiguration config = new PricingConfiguration();
+        config.setAdultBasePrice(25.00);
+        TimeOfDayDiscountConfig matinee = new TimeOfDayDiscountConfig();
+        matinee.setName("matinee");
+        matinee.setDays(List.of("SATURDAY", "SUNDAY"));
+        matinee.setStart("10:00");
+        matinee.setEnd("16:00");
+        matinee.setDiscountRate(0.20);
+        config.getTimeOfDayDiscounts().add(matinee);
+        PricingSnapshot matineeSnapshot = PricingSnapshot.compile(config, 2, "test");
+        int[] counts = new int[TicketType.values().length];
+        counts[TicketType.ADULT.ordinal()] = 2;
+
+        //WHEN
+        // 2026-10-17 is a Saturday
+        long matineeCost = pricingStrategy.calculateCost(DiscountContext.forTransaction(matineeSnapshot, counts,
+                LocalDateTime.of(2026, 10, 17, 10, 0)), TicketType.ADULT, 2);
+        long eveningCost = pricingStrategy.calculateCost(DiscountContext.forTransaction(matineeSnapshot, counts,
+                LocalDateTime.of(2026, 10, 17, 16, 0)), TicketType.ADULT, 2);
+
+        //THEN
+        assertEquals(4000, matineeCost);
+        assertEquals(5000, eveningCost);
+    }
+
+    private BulkDiscountConfig createBulkDiscount(String ticketType, int quantity, double discountRate) {
+        BulkDiscountConfig rule = new BulkDiscountConfig();
+        rule.setTicketType(ticketType);
+        rule.setQuantity(quantity);
+        rule.setDiscountRate(discountRate);
+        return rule;
+    }
+
+    private DiscountContext context(PricingSnapshot snapshot, Map<TicketType, Integer> ticketCounts) {
+        int[] counts = new int[TicketType.values().length];
+        ticketCounts.forEach((ticketType, count) -> counts[ticketType.ordinal()] = count);
+        return DiscountContext.forTransaction(snapshot, counts, LocalDateTime.now());
     }
 
 }
@@ -0,0 +1,161 @@
+package com.cinema.pricing.service.impl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.cinema.pricing.audit.PricingAuditJournal;
+import com.cinema.pricing.cache.QuoteCache;
+import com.cinema.pricing.cache.TransactionResultCache;
+import com.cinema.pricing.config.PricingAuditProperties;
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingDecisionProperties;
+import com.cinema.pricing.config.PricingReloadProperties;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.config.PromoCodeProperties;
+import com.cinema.pricing.config.ShowingOccupancyProperties;
+import com.cinema.pricing.config.VenuePricingProperties;
+import com.cinema.pricing.decision.PricingDecisionRecorder;
+import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.metrics.PricingMetrics;
+import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.occupancy.ShowingOccupancyTracker;
+import com.cinema.pricing.promo.PromoCodeCatalogue;
+import com.cinema.pricing.service.discount.DiscountEngine;
+import com.cinema.pricing.service.discount.impl.BulkDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.PromoCodeDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.SeniorDiscountStrategy;
+import com.cinema.pricing.service.discount.impl.TimeOfDayDiscountStrategy;
+import com.cinema.pricing.venue.VenuePricingRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the bytes allocated per priced transaction with the thread allocation counter.
+ * The limits leave room for the interpreter, which does not eliminate short-lived objects,
+ * but are far below the kilobytes the stream and map based path allocated.
+ */
+public class TicketPricingAllocationTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Logger pricingLogger = (Logger) LoggerFactory.getLogger("com.cinema.pricing");
+
+    private Level previousLevel;
+
+    private TicketPricingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        // debug logging would dominate the measurement
+        previousLevel = pricingLogger.getLevel();
+        pricingLogger.setLevel(Level.WARN);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PricingMetrics pricingMetrics = new PricingMetrics(meterRegistry);
+        PricingSnapshotHolder snapshotHolder = new PricingSnapshotHolder(new PricingConfiguration(), event -> {
+        });
+        DiscountEngine discountEngine = new DiscountEngine(
+                List.of(new BulkDiscountStrategy(), new SeniorDiscountStrategy(), new TimeOfDayDiscountStrategy(),
+                        new PromoCodeDiscountStrategy()), pricingMetrics);
+        discountEngine.init();
+        StandardPricingStrategy pricingStrategy = new StandardPricingStrategy(new ConfigBasedTicketPriceProvider(),
+                discountEngine);
+
+        // transactions are repeated on purpose, so only the pricing path is measured
+        PricingCacheProperties cacheProperties = new PricingCacheProperties();
+        cacheProperties.getTransactions().setEnabled(false);
+        cacheProperties.getQuotes().setWarmUpMaxTickets(4);
+        QuoteCache quoteCache = new QuoteCache(pricingStrategy, pricingMetrics, snapshotHolder, Clock.systemUTC(),
+                cacheProperties);
+        quoteCache.warmUp();
+
+        // sampled transactions are priced in full and recorded, which is measured separately from this
+        PricingDecisionProperties decisionProperties = new PricingDecisionProperties();
+        decisionProperties.setSampleRate(0);
+
+        service = new TicketPricingServiceImpl(new ConfigBasedTicketTypeResolver(), pricingMetrics, snapshotHolder,
+                new TransactionResultCache(cacheProperties, meterRegistry), quoteCache,
+                new PricingDecisionRecorder(decisionProperties, meterRegistry),
+                new PromoCodeCatalogue(new PromoCodeProperties(), meterRegistry),
+                new ShowingOccupancyTracker(new ShowingOccupancyProperties(), meterRegistry),
+                new VenuePricingRegistry(new VenuePricingProperties(),
+                        new PricingConfigurationLoader(new StandardEnvironment(), new PricingReloadProperties()),
+                        meterRegistry),
+                new PricingAuditJournal(new PricingAuditProperties(), Clock.systemUTC(), meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pricingLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    void testCalculatePrice_PrecomputedQuoteAllocatesAlmostNothing() {
+        //GIVEN
+        List<Customer> customers = customers(36, 5, 70, 15);
+
+        //WHEN
+        long bytesPerTransaction = bytesPerTransaction(customers);
+
+        //THEN
+        assertTrue(bytesPerTransaction < 256, "allocated " + bytesPerTransaction + " bytes per transaction");
+    }
+
+    @Test
+    void testCalculatePrice_FullPricingPathAllocatesOnlyTheCalculation() {
+        //GIVEN
+        List<Customer> customers = customers(36, 5, 70, 15, 8, 42, 9, 67, 12, 29);
+
+        //WHEN
+        long bytesPerTransaction = bytesPerTransaction(customers);
+
+        //THEN
+        assertTrue(bytesPerTransaction < 1024, "allocated " + bytesPerTransaction + " bytes per transaction");
+    }
+
+    private long bytesPerTransaction(List<Customer> customers) {
+        TransactionCalculation expected = service.calculatePrice(1L, customers);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            service.calculatePrice(1L, customers);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        long totalCostCents = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            totalCostCents += service.calculatePrice(1L, customers).getTotalCostCents();
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(expected.getTotalCostCents() * MEASURED_ITERATIONS, totalCostCents);
+        return allocated / MEASURED_ITERATIONS;
+    }
+
+    private static List<Customer> customers(int... ages) {
+        List<Customer> customers = new ArrayList<>(ages.length);
+        for (int age : ages) {
+            customers.add(Customer.builder().name("Customer " + age).age(age).build());
+        }
+        return customers;
+    }
+}
@@ -1,23 +1,50 @@
 package com.cinema.pricing.service.impl;
 
+import com.cinema.pricing.audit.PricingAuditJournal;
+import com.cinema.pricing.cache.QuoteCache;
+import com.cinema.pricing.cache.TransactionResultCache;
+import com.cinema.pricing.config.AuditoriumConfig;
+import com.cinema.pricing.config.PricingAuditProperties;
+import com.cinema.pricing.config.PricingCacheProperties;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingDecisionProperties;
+import com.cinema.pricing.config.PricingReloadProperties;
+import com.cinema.pricing.config.PricingSnapshotHolder;
+import com.cinema.pricing.config.PromoCodeProperties;
+import com.cinema.pricing.config.SeatCategoryConfig;
+import com.cinema.pricing.config.ShowingOccupancyProperties;
+import com.cinema.pricing.config.VenuePricingProperties;
+import com.cinema.pricing.decision.PricingDecisionRecorder;
 import com.cinema.pricing.domain.TicketType;
 import com.cinema.pricing.domain.TransactionCalculation;
+import com.cinema.pricing.metrics.PricingMetrics;
 import com.cinema.pricing.model.Customer;
+import com.cinema.pricing.model.TransactionRequest;
+import com.cinema.pricing.occupancy.ShowingOccupancyTracker;
+import com.cinema.pricing.promo.PromoCodeCatalogue;
 import com.cinema.pricing.service.PricingStrategy;
 import com.cinema.pricing.service.TicketTypeResolver;
+import com.cinema.pricing.venue.VenuePricingRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.StandardEnvironment;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +56,37 @@ public class TicketPricingServiceImplTest {
     @Mock
     private TicketTypeResolver ticketTypeResolver;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private TicketPricingServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new TicketPricingServiceImpl(pricingStrategy, ticketTypeResolver);
+        meterRegistry = new SimpleMeterRegistry();
+        PricingMetrics pricingMetrics = new PricingMetrics(meterRegistry);
+        PricingConfiguration config = new PricingConfiguration();
+        SeatCategoryConfig standard = new SeatCategoryConfig();
+        standard.setName("standard");
+        standard.setCode("S");
+        config.setSeatCategories(List.of(standard));
+        AuditoriumConfig auditorium = new AuditoriumConfig();
+        auditorium.setRows(List.of("SSSS", "SSSS"));
+        config.setAuditoriums(Map.of("screen-1", auditorium));
+        PricingSnapshotHolder snapshotHolder = new PricingSnapshotHolder(config, event -> {
+        });
+        // quotes are not precomputed, so every transaction reaches the mocked strategy
+        PricingCacheProperties cacheProperties = new PricingCacheProperties();
+        cacheProperties.getQuotes().setEnabled(false);
+        service = new TicketPricingServiceImpl(ticketTypeResolver, pricingMetrics, snapshotHolder,
+                new TransactionResultCache(cacheProperties, meterRegistry),
+                new QuoteCache(pricingStrategy, pricingMetrics, snapshotHolder, Clock.systemUTC(), cacheProperties),
+                new PricingDecisionRecorder(new PricingDecisionProperties(), meterRegistry),
+                new PromoCodeCatalogue(new PromoCodeProperties(), meterRegistry),
+                new ShowingOccupancyTracker(new ShowingOccupancyProperties(), meterRegistry),
+                new VenuePricingRegistry(new VenuePricingProperties(),
+                        new PricingConfigurationLoader(new StandardEnvironment(), new PricingReloadProperties()),
+                        meterRegistry),
+                new PricingAuditJournal(new PricingAuditProperties(), Clock.systemUTC(), meterRegistry));
     }
 
     @Test
@@ -44,14 +97,14 @@ public class TicketPricingServiceImplTest {
         customers.add(createCustomer("Jane Doe", 5));
         customers.add(createCustomer("Bob Doe", 6));
 
-        when(ticketTypeResolver.resolveTicketType(70)).thenReturn(TicketType.SENIOR);
-        when(ticketTypeResolver.resolveTicketType(5)).thenReturn(TicketType.CHILDREN);
-        when(ticketTypeResolver.resolveTicketType(6)).thenReturn(TicketType.CHILDREN);
+        when(ticketTypeResolver.resolveTicketType(any(), eq(70))).thenReturn(TicketType.SENIOR);
+        when(ticketTypeResolver.resolveTicketType(any(), eq(5))).thenReturn(TicketType.CHILDREN);
+        when(ticketTypeResolver.resolveTicketType(any(), eq(6))).thenReturn(TicketType.CHILDREN);
 
-        when(pricingStrategy.calculateCost(eq(TicketType.SENIOR), eq(1), any(Map.class)))
-                .thenReturn(17.50);
-        when(pricingStrategy.calculateCost(eq(TicketType.CHILDREN), eq(2), any(Map.class)))
-                .thenReturn(10.00);
+        when(pricingStrategy.calculateCost(any(), eq(TicketType.SENIOR), eq(1)))
+                .thenReturn(1750L);
+        when(pricingStrategy.calculateCost(any(), eq(TicketType.CHILDREN), eq(2)))
+                .thenReturn(1000L);
 
 
         // WHEN
@@ -60,8 +113,69 @@ public class TicketPricingServiceImplTest {
         // THEN
         assertEquals(1L, result.getTransactionId());
         assertEquals(2, result.getTicketCalculations().size());
-        assertEquals(27.50, result.getTotalCost());
+        assertEquals(2750, result.getTotalCostCents());
+        assertEquals(1, meterRegistry.get("pricing.transaction").timer().count());
+        assertEquals(1, meterRegistry.get("pricing.cost.calculation").tag("ticket.type", "SENIOR").timer().count());
+
+    }
+
+    @Test
+    void testCalculateTicketPrices_RetriedTransactionIsServedFromCache() {
+        // GIVEN
+        when(ticketTypeResolver.resolveTicketType(any(), eq(30))).thenReturn(TicketType.ADULT);
+        when(ticketTypeResolver.resolveTicketType(any(), eq(8))).thenReturn(TicketType.CHILDREN);
+        when(pricingStrategy.calculateCost(any(), eq(TicketType.ADULT), eq(1))).thenReturn(2500L);
+        when(pricingStrategy.calculateCost(any(), eq(TicketType.CHILDREN), eq(1))).thenReturn(500L);
+
+        // WHEN
+        TransactionCalculation first = service.calculatePrice(7L,
+                List.of(createCustomer("Ann", 30), createCustomer("Tom", 8)));
+        TransactionCalculation retried = service.calculatePrice(7L,
+                List.of(createCustomer("Tom", 8), createCustomer("Ann", 30)));
+        service.calculatePrice(8L, List.of(createCustomer("Ann", 30), createCustomer("Tom", 8)));
+
+        // THEN
+        assertEquals(first, retried);
+        verify(pricingStrategy, times(2)).calculateCost(any(), eq(TicketType.ADULT), eq(1));
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "pricing.transactions")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testCalculateTicketPrices_SeatWithoutAuditoriumIsRejected() {
+        // GIVEN
+        when(ticketTypeResolver.resolveTicketType(any(), eq(30))).thenReturn(TicketType.ADULT);
+        Customer customer = createCustomer("Ann", 30);
+        customer.setSeat("C12");
+        TransactionRequest transaction = TransactionRequest.builder()
+                .transactionId(9L)
+                .customers(List.of(customer))
+                .build();
+
+        // WHEN & THEN
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.calculatePrice(transaction, false));
+        assertEquals("Seat C12 needs an auditoriumId", ex.getMessage());
+    }
+
+    @Test
+    void testCalculateTicketPrices_SeatTakenTwiceIsRejected() {
+        // GIVEN
+        when(ticketTypeResolver.resolveTicketType(any(), eq(30))).thenReturn(TicketType.ADULT);
+        Customer first = createCustomer("Ann", 30);
+        first.setSeat("B2");
+        Customer second = createCustomer("Tom", 30);
+        second.setSeat("B2");
+        TransactionRequest transaction = TransactionRequest.builder()
+                .transactionId(10L)
+                .auditoriumId("screen-1")
+                .customers(List.of(first, second))
+                .build();
 
+        // WHEN & THEN
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.calculatePrice(transaction, false));
+        assertEquals("Seat B2 is taken more than once in the transaction", ex.getMessage());
     }
 
     private Customer createCustomer(String name, int age) {
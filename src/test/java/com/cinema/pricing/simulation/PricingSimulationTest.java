@@ -0,0 +1,168 @@
+package com.cinema.pricing.simulation;
+
+import com.cinema.pricing.config.AuditoriumConfig;
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.SeatCategoryConfig;
+import com.cinema.pricing.config.TimeOfDayDiscountConfig;
+import com.cinema.pricing.domain.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PricingSimulationTest {
+
+    private static final LocalDateTime TRANSACTION_TIME = LocalDateTime.parse("2026-10-12T19:00");
+
+    @Test
+    void testRun_ReportsDeltasPerTicketTypeAndDiscountType() throws Exception {
+        //GIVEN
+        PricingConfiguration candidateConfig = new PricingConfiguration();
+        candidateConfig.setAdultBasePrice(27.00);
+        candidateConfig.setSeniorDiscountRate(0.40);
+        int transactions = PricingSimulation.CHUNK_LINES * 2 + 100;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < transactions; i++) {
+            input.append("{\"transactionId\":").append(i)
+                    .append(",\"customers\":[{\"name\":\"Alex K\",\"age\":36},{\"name\":\"Jane Doe\",\"age\":70}]}\n");
+        }
+
+        //WHEN
+        SimulationResult result;
+        try (PricingSimulation simulation = new PricingSimulation(new PricingConfiguration(), candidateConfig,
+                TRANSACTION_TIME, 4)) {
+            result = simulation.run(new BufferedReader(new StringReader(input.toString())));
+        }
+
+        //THEN
+        assertEquals(transactions, result.current.transactions);
+        assertEquals(transactions, result.candidate.transactions);
+        assertEquals(transactions, result.current.tickets[TicketType.ADULT.ordinal()]);
+        assertEquals(2500L * transactions, result.current.revenueCents[TicketType.ADULT.ordinal()]);
+        assertEquals(2700L * transactions, result.candidate.revenueCents[TicketType.ADULT.ordinal()]);
+        assertEquals(1225L * transactions, result.current.revenueCents[TicketType.SENIOR.ordinal()]);
+        assertEquals(1050L * transactions, result.candidate.revenueCents[TicketType.SENIOR.ordinal()]);
+
+        int senior = Arrays.asList(result.discountTypes).indexOf("SENIOR_DISCOUNT");
+        assertEquals(525L * transactions, result.current.discountCents[senior]);
+        assertEquals(700L * transactions, result.candidate.discountCents[senior]);
+    }
+
+    @Test
+    void testRun_CountsMalformedAndRejectedTransactions() throws Exception {
+        //GIVEN
+        String input = """
+                {"transactionId":1,"customers":[{"name":"Alex K","age":36}]}
+                {not json
+                {"transactionId":2,"customers":[{"name":"Negative","age":-1}]}
+
+                {"transactionId":3,"customers":[]}
+                {"transactionId":4,"customers":[{"name":"No age"}]}
+                """;
+
+        //WHEN
+        SimulationResult result;
+        try (PricingSimulation simulation = new PricingSimulation(new PricingConfiguration(),
+                new PricingConfiguration(), TRANSACTION_TIME, 2)) {
+            result = simulation.run(new BufferedReader(new StringReader(input)));
+        }
+
+        //THEN
+        assertEquals(1, result.current.transactions);
+        assertEquals(3, result.current.rejected);
+        assertEquals(3, result.candidate.rejected);
+        assertEquals(1, result.malformed);
+    }
+
+    @Test
+    void testRun_ReportsDiscountsBeyondTheBaseCostAsNotGiven() throws Exception {
+        //GIVEN
+        TimeOfDayDiscountConfig evening = new TimeOfDayDiscountConfig();
+        evening.setName("evening");
+        evening.setStart("18:00");
+        evening.setEnd("23:00");
+        evening.setDiscountRate(0.50);
+        PricingConfiguration candidateConfig = new PricingConfiguration();
+        candidateConfig.setSeniorDiscountRate(0.80);
+        candidateConfig.setTimeOfDayDiscounts(List.of(evening));
+
+        //WHEN
+        SimulationResult result;
+        try (PricingSimulation simulation = new PricingSimulation(new PricingConfiguration(), candidateConfig,
+                TRANSACTION_TIME, 1)) {
+            result = simulation.run(new BufferedReader(new StringReader(
+                    "{\"transactionId\":1,\"customers\":[{\"name\":\"Jane Doe\",\"age\":70}]}\n")));
+        }
+
+        //THEN
+        int senior = Arrays.asList(result.discountTypes).indexOf("SENIOR_DISCOUNT");
+        int timeOfDay = Arrays.asList(result.discountTypes).indexOf("TIME_OF_DAY_DISCOUNT");
+        assertEquals(0, result.current.clampedDiscountCents);
+        assertEquals(0, result.candidate.revenueCents[TicketType.SENIOR.ordinal()]);
+        assertEquals(1400, result.candidate.discountCents[senior]);
+        assertEquals(875, result.candidate.discountCents[timeOfDay]);
+        assertEquals(525, result.candidate.clampedDiscountCents);
+    }
+
+    @Test
+    void testRun_RejectsSeatsAsThePricingServiceDoes() throws Exception {
+        //GIVEN
+        SeatCategoryConfig premium = new SeatCategoryConfig();
+        premium.setName("premium");
+        premium.setCode("P");
+        premium.setSurcharge(3.00);
+        AuditoriumConfig auditorium = new AuditoriumConfig();
+        auditorium.setRows(List.of("PPPP"));
+        PricingConfiguration config = new PricingConfiguration();
+        config.setSeatCategories(List.of(premium));
+        config.setAuditoriums(Map.of("screen-1", auditorium));
+        String input = """
+                {"transactionId":1,"auditoriumId":"screen-1","customers":[{"name":"Alex K","age":36,"seat":"A1"}]}
+                {"transactionId":2,"customers":[{"name":"Alex K","age":36,"seat":"A1"}]}
+                {"transactionId":3,"auditoriumId":"screen-1","customers":[{"name":"Alex K","age":36,"seat":"A2"},{"name":"Jane Doe","age":36,"seat":"A2"}]}
+                """;
+
+        //WHEN
+        SimulationResult result;
+        try (PricingSimulation simulation = new PricingSimulation(config, config, TRANSACTION_TIME, 1)) {
+            result = simulation.run(new BufferedReader(new StringReader(input)));
+        }
+
+        //THEN
+        assertEquals(1, result.current.transactions);
+        assertEquals(2, result.current.rejected);
+        assertEquals(2800L, result.current.revenueCents[TicketType.ADULT.ordinal()]);
+    }
+
+    @Test
+    void testPrint_ShowsRevenueDelta() throws Exception {
+        //GIVEN
+        PricingConfiguration candidateConfig = new PricingConfiguration();
+        candidateConfig.setAdultBasePrice(30.00);
+        SimulationResult result;
+        try (PricingSimulation simulation = new PricingSimulation(new PricingConfiguration(), candidateConfig,
+                TRANSACTION_TIME, 1)) {
+            result = simulation.run(new BufferedReader(new StringReader(
+                    "{\"transactionId\":1,\"customers\":[{\"name\":\"Alex K\",\"age\":36}]}\n")));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //WHEN
+        result.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        //THEN
+        String report = out.toString(StandardCharsets.UTF_8);
+        assertTrue(report.lines().anyMatch(line -> line.startsWith("Adult")
+                && line.contains("25.00") && line.contains("30.00") && line.contains("5.00") && line.contains("+20.00%")),
+                report);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cinema.pricing.venue;
+
+import com.cinema.pricing.config.PricingConfiguration;
+import com.cinema.pricing.config.PricingConfigurationChangedEvent;
+import com.cinema.pricing.config.PricingConfigurationLoader;
+import com.cinema.pricing.config.PricingReloadProperties;
+import com.cinema.pricing.config.PricingSnapshot;
+import com.cinema.pricing.config.VenuePricingProperties;
+import com.cinema.pricing.domain.TicketType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VenuePricingRegistryTest {
+
+    @TempDir
+    private Path directory;
+
+    private VenuePricingRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        VenuePricingProperties properties = new VenuePricingProperties();
+        properties.setDirectory(directory.toString());
+        registry = new VenuePricingRegistry(properties,
+                new PricingConfigurationLoader(new StandardEnvironment(), new PricingReloadProperties()),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testSnapshot_LoadsVenueFileOnce() throws IOException {
+        //GIVEN
+        Files.writeString(directory.resolve("odeon-leeds.yaml"), """
+                pricing:
+                  adult-base-price: 20.00
+                  senior-discount-rate: 0.50
+                """);
+
+        //WHEN
+        PricingSnapshot snapshot = registry.snapshot("odeon-leeds");
+
+        //THEN
+        assertEquals(2000, snapshot.getBasePriceCents(TicketType.ADULT));
+        assertEquals(0.50, snapshot.getSeniorDiscountRate());
+        assertTrue(snapshot.getVersion() < -1);
+        assertSame(snapshot, registry.snapshot("odeon-leeds"));
+        assertEquals(1, registry.loadedVenues());
+    }
+
+    @Test
+    void testSnapshot_VenuesShareEqualRules() throws IOException {
+        //GIVEN
+        Files.writeString(directory.resolve("venue-1.yaml"), "pricing.adult-base-price: 20.00\n");
+        Files.writeString(directory.resolve("venue-2.properties"), "pricing.adult-base-price=22.00\n");
+
+        //WHEN
+        PricingSnapshot first = registry.snapshot("venue-1");
+        PricingSnapshot second = registry.snapshot("venue-2");
+
+        //THEN
+        assertNotEquals(first.getVersion(), second.getVersion());
+        assertEquals(2200, second.getBasePriceCents(TicketType.ADULT));
+        assertSame(first.getAgeTable(), second.getAgeTable());
+        assertSame(first.getBulkDiscountRules(), second.getBulkDiscountRules());
+        assertSame(first.getTimeOfDayDiscounts(), second.getTimeOfDayDiscounts());
+    }
+
+    @Test
+    void testSnapshot_UnknownOrInvalidVenueIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> registry.snapshot("missing"));
+        assertThrows(IllegalArgumentException.class, () -> registry.snapshot("../secrets"));
+        assertEquals(0, registry.loadedVenues());
+    }
+
+    @Test
+    void testSnapshot_RemembersUnknownVenueUntilReload() throws IOException {
+        //GIVEN
+        assertThrows(IllegalArgumentException.class, () -> registry.snapshot("cineworld-york"));
+        Files.writeString(directory.resolve("cineworld-york.yaml"), "pricing.adult-base-price: 20.00\n");
+
+        //WHEN
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> registry.snapshot("cineworld-york"));
+        registry.onPricingConfigurationChanged(new PricingConfigurationChangedEvent(this,
+                PricingSnapshot.compile(new PricingConfiguration(), 1, "test")));
+
+        //THEN
+        assertEquals("Unknown venue: cineworld-york", ex.getMessage());
+        assertEquals(2000, registry.snapshot("cineworld-york").getBasePriceCents(TicketType.ADULT));
+    }
+
+    @Test
+    void testSnapshot_InvalidVenueRulesFail() throws IOException {
+        //GIVEN
+        Files.writeString(directory.resolve("broken.yaml"), "pricing.senior-discount-rate: 2\n");
+
+        //WHEN
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> registry.snapshot("broken"));
+
+        //THEN
+        assertEquals("Venue broken cannot be priced", ex.getMessage());
+        assertEquals(0, registry.loadedVenues());
+    }
+}